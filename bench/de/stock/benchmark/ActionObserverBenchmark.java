@@ -0,0 +1,76 @@
+package de.stock.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.stock.action.ActionObserver;
+import de.stock.game.GameContext;
+
+/**
+ * Benchmarks {@link de.stock.action.ActionObserver#iterateActiveEvents()} and
+ * {@link de.stock.action.ActionObserver#iterateMainEvents()} on a
+ * {@link de.stock.benchmark.Market Market}<br>
+ * <br>
+ * {@code iterateMainEvents} runs on a second market without active events, so
+ * every main event gets updated
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionObserverBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int          tradeables;
+    @Param({ "10", "100" })
+    public int          environments;
+    @Param({ "0", "3" })
+    public int          linkDepth;
+    @Param({ "10", "100" })
+    public int          events;
+
+    private Market      active;
+    private Market      idle;
+    private GameContext previous;
+
+    @Setup
+    public void setUp() {
+        active = new Market(tradeables, environments, linkDepth, events);
+        idle = new Market(tradeables, environments, linkDepth, events);
+        idle.getContext().getActionObserver().getActiveEvents().clear();
+        previous = GameContext.getCurrent();
+    }
+
+    @TearDown
+    public void tearDown() {
+        GameContext.setCurrent(previous);
+    }
+
+    @Benchmark
+    public void iterateActiveEvents() {
+        GameContext.setCurrent(active.getContext());
+        ActionObserver.getInstance().iterateActiveEvents();
+    }
+
+    @Benchmark
+    public void iterateMainEvents() {
+        GameContext.setCurrent(idle.getContext());
+        ActionObserver.getInstance().iterateMainEvents();
+    }
+}
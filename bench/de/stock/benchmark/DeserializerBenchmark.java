@@ -0,0 +1,145 @@
+package de.stock.benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.stock.deserializer.Deserializer;
+import de.stock.environment.types.Location;
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.tradeable.Stock;
+
+/**
+ * Benchmarks {@link de.stock.deserializer.Deserializer#deserialize(Integer)}
+ * <br>
+ * <br>
+ * Writes {@code files} serialized objects of {@code type} into a temporary
+ * directory and points the matching path of
+ * {@link de.stock.settings.Settings_Deserializer Settings_Deserializer} to it.
+ * Every invocation deserializes into a new
+ * {@link de.stock.game.GameContext GameContext}
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeserializerBenchmark {
+
+    private static void delete(final File file) {
+        final File[] files = file.listFiles();
+        if (files != null) {
+            for (final File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        final FileWriter out = new FileWriter(file);
+        try {
+            out.write(content);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    @Param({ "tradeable", "event", "environment" })
+    public String  type;
+    @Param({ "10", "100", "1000" })
+    public int     files;
+
+    private Integer deserializerType;
+    private File    directory;
+    private String  tradeablesPath;
+    private String  eventsPath;
+    private String  environmentsPath;
+
+    @Benchmark
+    public Integer deserialize() {
+        final GameContext previous = GameContext.enter(new GameContext(Market.SEED));
+        try {
+            return Deserializer.deserialize(deserializerType);
+        }
+        finally {
+            GameContext.setCurrent(previous);
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        tradeablesPath = Settings_Deserializer.PATH_TRADEABLES;
+        eventsPath = Settings_Deserializer.PATH_EVENTS;
+        environmentsPath = Settings_Deserializer.PATH_ENVIRONMENTS;
+
+        directory = File.createTempFile("stock", "bench");
+        directory.delete();
+        directory.mkdirs();
+
+        final String path = directory.getPath() + File.separator;
+        for (int i = 0; i < files; i++) {
+            if ("tradeable".equals(type)) {
+                final Stock stock = new Stock();
+                stock.setName("Stock " + i);
+                stock.setInitBottomBound(10.0);
+                stock.setInitTopBound(100.0);
+                stock.setInfluenceBottomBound(0.1);
+                stock.setInfluenceTopBound(1.0);
+                write(new File(directory, i + Settings_Deserializer.EXTENSION_TRADEABLES),
+                        Deserializer.serialize(stock));
+            } else if ("event".equals(type)) {
+                final MainEvent event = new MainEvent();
+                event.setName("Event " + i);
+                event.setIndexInitBottomBound(0);
+                event.setIndexInitTopBound(10);
+                write(new File(directory, i + Settings_Deserializer.EXTENSION_EVENTS),
+                        Deserializer.serialize(event));
+            } else {
+                final Location location = new Location();
+                location.setName("Location " + i);
+                write(new File(directory, i + Settings_Deserializer.EXTENSION_ENVIRONMENTS),
+                        Deserializer.serialize(location));
+            }
+        }
+
+        if ("tradeable".equals(type)) {
+            deserializerType = Settings_Deserializer.TYPE_TRADEABLE;
+            Settings_Deserializer.PATH_TRADEABLES = path;
+        } else if ("event".equals(type)) {
+            deserializerType = Settings_Deserializer.TYPE_EVENT;
+            Settings_Deserializer.PATH_EVENTS = path;
+        } else {
+            deserializerType = Settings_Deserializer.TYPE_ENVIRONMENT;
+            Settings_Deserializer.PATH_ENVIRONMENTS = path;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Settings_Deserializer.PATH_TRADEABLES = tradeablesPath;
+        Settings_Deserializer.PATH_EVENTS = eventsPath;
+        Settings_Deserializer.PATH_ENVIRONMENTS = environmentsPath;
+        delete(directory);
+    }
+}
@@ -0,0 +1,77 @@
+package de.stock.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.stock.environment.EnvironmentHandler;
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+
+/**
+ * Benchmarks the influence of environment groups on tradeables<br>
+ * <br>
+ * - {@code influenceEnvironments} compiles the groups of all events on every
+ * call (See
+ * {@link de.stock.environment.EnvironmentHandler#influenceEnvironments(java.util.ArrayList)})
+ * <br>
+ * - {@code influenceEvents} uses the cached
+ * {@link de.stock.environment.InfluencePlan influence plans} of the events
+ * (See {@link de.stock.event.Event#influenceEnvironments()})
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnvironmentHandlerBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int          tradeables;
+    @Param({ "10", "100" })
+    public int          environments;
+    @Param({ "0", "3" })
+    public int          linkDepth;
+    @Param({ "10", "100" })
+    public int          events;
+
+    private Market      market;
+    private GameContext previous;
+
+    @Setup
+    public void setUp() {
+        market = new Market(tradeables, environments, linkDepth, events);
+        previous = GameContext.enter(market.getContext());
+    }
+
+    @TearDown
+    public void tearDown() {
+        GameContext.setCurrent(previous);
+    }
+
+    @Benchmark
+    public void influenceEnvironments() {
+        EnvironmentHandler.getInstance().influenceEnvironments(market.getEnvironmentGroups());
+    }
+
+    @Benchmark
+    public void influenceEvents() {
+        for (final MainEvent event : market.getEvents()) {
+            event.influenceEnvironments();
+        }
+    }
+}
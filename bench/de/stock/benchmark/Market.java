@@ -0,0 +1,165 @@
+package de.stock.benchmark;
+
+import java.util.ArrayList;
+
+import de.stock.action.ActionObserver;
+import de.stock.environment.EnvironmentGroup;
+import de.stock.environment.EnvironmentHandler;
+import de.stock.environment.types.Location;
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.MarketStore;
+import de.stock.tradeable.Stock;
+import de.stock.tradeable.TradeableHandler;
+import de.stock.utils.Priority;
+
+/**
+ * Synthetic market used by the benchmarks<br>
+ * <br>
+ * The market lives in its own {@link de.stock.game.GameContext GameContext}
+ * with a fixed seed and consists of<br>
+ * - {@code tradeables} active {@link de.stock.tradeable.Stock stocks} (or
+ * {@link de.stock.tradeable.TradeableView views} of a
+ * {@link de.stock.tradeable.MarketStore MarketStore} if the market is
+ * columnar)<br>
+ * - {@code environments} {@link de.stock.environment.types.Location
+ * locations}, every tradeable is registered at one of them<br>
+ * - chains of {@code linkDepth} + 1 linked locations (location i links
+ * location i + 1 inside a chain)<br>
+ * - {@code events} active {@link de.stock.event.types.MainEvent main events}
+ * with one single environment group and one group of two environments
+ * each<br>
+ * <br>
+ * Active events never end and main events never execute, so the benchmarks
+ * measure a steady state
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class Market {
+
+    public static final long                  SEED = 42L;
+
+    private final GameContext                 context;
+    private final ArrayList<Location>         locations;
+    private final ArrayList<ITradeable>       tradeables;
+    private final MarketStore                 store;
+    private final ArrayList<MainEvent>        events;
+    private final ArrayList<EnvironmentGroup> environmentGroups;
+
+    public Market(final int tradeables, final int environments, final int linkDepth,
+            final int events) {
+        this(tradeables, environments, linkDepth, events, false);
+    }
+
+    public Market(final int tradeables, final int environments, final int linkDepth,
+            final int events, final boolean columnar) {
+        context = new GameContext(SEED);
+        locations = new ArrayList<Location>();
+        this.tradeables = new ArrayList<ITradeable>();
+        store = columnar ? new MarketStore(tradeables) : null;
+        this.events = new ArrayList<MainEvent>();
+        environmentGroups = new ArrayList<EnvironmentGroup>();
+
+        final GameContext previous = GameContext.enter(context);
+        try {
+            build(tradeables, environments, linkDepth, events);
+        }
+        finally {
+            GameContext.setCurrent(previous);
+        }
+    }
+
+    private void build(final int tradeables, final int environments, final int linkDepth,
+            final int eventCount) {
+
+        for (int i = 0; i < environments; i++) {
+            final Location location = new Location();
+            location.setName("Location " + i);
+            locations.add(location);
+            EnvironmentHandler.getInstance().register(location);
+        }
+
+        // Chains of linked locations
+        for (int i = 0; i + 1 < environments; i++) {
+            if (i % (linkDepth + 1) != linkDepth) {
+                locations.get(i).linkEnvironment(locations.get(i + 1));
+            }
+        }
+
+        for (int i = 0; i < tradeables; i++) {
+            final Stock stock = new Stock();
+            stock.setName("Stock " + i);
+            stock.setInitBottomBound(10.0);
+            stock.setInitTopBound(100.0);
+            stock.setInfluenceBottomBound(0.1);
+            stock.setInfluenceTopBound(1.0);
+
+            final ITradeable tradeable = (store == null) ? stock : store.add(stock);
+            locations.get(i % environments).registerTradeable(tradeable);
+            this.tradeables.add(tradeable);
+            TradeableHandler.getInstance().addTradeable(tradeable);
+            TradeableHandler.getInstance().register(tradeable);
+        }
+
+        for (int i = 0; i < eventCount; i++) {
+            final MainEvent event = new MainEvent();
+            event.setName("Event " + i);
+            event.setPriority(Priority.values()[i % Priority.values().length]);
+            event.setRoundsBottomBound(Integer.MAX_VALUE);
+            event.setRoundsTopBound(Integer.MAX_VALUE);
+            event.setIndexInitBottomBound(0);
+            event.setIndexInitTopBound(10);
+            event.setIndexMaximum(10);
+            event.setInfluenceBottomBound(1);
+            event.setInfluenceTopBound(3);
+            // Never executes
+            event.setExecutionBound(Integer.MAX_VALUE);
+
+            event.registerEnvironment(locations.get(i % environments), i % 2 == 0, 0.1, 1.0);
+
+            final EnvironmentGroup group = new EnvironmentGroup();
+            group.registerEnvironment(locations.get(i % environments));
+            group.registerEnvironment(locations.get((i + 1) % environments));
+            group.setInfluenceLimit(0.1, 1.0);
+            group.setSign(i % 2 == 1);
+            event.registerEnvironmentGroup(group);
+
+            environmentGroups.addAll(event.getEnvironmentGroups());
+
+            ActionObserver.getInstance().registerEvent(event);
+            ActionObserver.getInstance().getActiveEvents().put(event, Integer.MAX_VALUE);
+            this.events.add(event);
+        }
+    }
+
+    public GameContext getContext() {
+        return context;
+    }
+
+    /**
+     * Returns the environment groups of all events
+     */
+    public ArrayList<EnvironmentGroup> getEnvironmentGroups() {
+        return environmentGroups;
+    }
+
+    public ArrayList<MainEvent> getEvents() {
+        return events;
+    }
+
+    public ArrayList<Location> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Returns the market store of a columnar market or null
+     */
+    public MarketStore getStore() {
+        return store;
+    }
+
+    public ArrayList<ITradeable> getTradeables() {
+        return tradeables;
+    }
+}
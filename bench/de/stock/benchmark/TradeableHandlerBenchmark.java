@@ -0,0 +1,65 @@
+package de.stock.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.stock.game.GameContext;
+import de.stock.tradeable.TradeableHandler;
+
+/**
+ * Benchmarks the per round update of tradeables which weren't influenced by
+ * events ({@link de.stock.tradeable.TradeableHandler#saveCurrentState()}
+ * followed by
+ * {@link de.stock.tradeable.TradeableHandler#updateUnchangedTradeables()})
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TradeableHandlerBenchmark {
+
+    @Param({ "100", "1000", "10000", "100000" })
+    public int          tradeables;
+    /**
+     * Tradeables are views of a {@link de.stock.tradeable.MarketStore
+     * MarketStore}
+     */
+    @Param({ "false", "true" })
+    public boolean      columnar;
+
+    private Market      market;
+    private GameContext previous;
+
+    @Setup
+    public void setUp() {
+        market = new Market(tradeables, 1, 0, 0, columnar);
+        previous = GameContext.enter(market.getContext());
+    }
+
+    @TearDown
+    public void tearDown() {
+        GameContext.setCurrent(previous);
+    }
+
+    @Benchmark
+    public void updateUnchangedTradeables() {
+        TradeableHandler.getInstance().saveCurrentState();
+        TradeableHandler.getInstance().updateUnchangedTradeables();
+    }
+}
@@ -0,0 +1,298 @@
+package de.stock.action;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import de.stock.event.Event;
+import de.stock.event.types.MainEvent;
+import de.stock.utils.Priority;
+import de.stock.utils.Utils;
+
+/**
+ * Chooses the main events the {@link de.stock.action.ActionObserver
+ * ActionObserver} checks for execution every round<br>
+ * <br>
+ * The idle main events are kept in one bucket per
+ * {@link de.stock.utils.Priority Priority} (and one for events without
+ * priority). Running main events are parked outside of the buckets by
+ * {@link #started(Event)} and {@link #stopped(Event)}, so a round doesn't look
+ * up every event in the running events.<br>
+ * <br>
+ * {@link #begin(EventList, EventTimers)} walks the index of the idle events
+ * of the priority classes whose limit isn't reached yet (See
+ * {@link ActionObserver#isEventLimitReached(Priority)}) in one sequential pass
+ * and keeps the events which passed their execution bound as candidates.
+ * Every call of {@link #next()} draws a random candidate out of the buckets
+ * which are still open, so only the events which may fire are visited in
+ * random order and the events of a blocked priority class aren't touched at
+ * all.<br>
+ * <br>
+ * The buckets are rebuilt lazily if the list of main events or the running
+ * events got modified by someone else since the last round
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+final class EventScheduler {
+
+    /**
+     * List of main events which counts its modifications
+     */
+    static final class EventList extends ArrayList<MainEvent> {
+
+        private static final long serialVersionUID = 1L;
+
+        EventList() {
+            super();
+        }
+
+        EventList(final Collection<MainEvent> events) {
+            super(events);
+        }
+
+        /**
+         * Returns the number of modifications of this list
+         */
+        int getModifications() {
+            return modCount;
+        }
+
+        @Override
+        public MainEvent set(final int index, final MainEvent element) {
+            modCount++;
+            return super.set(index, element);
+        }
+    }
+
+    /**
+     * Priorities by bucket ({@link Priority#values()} copies the array on
+     * every call)
+     */
+    private static final Priority[]               PRIORITIES  = Priority.values();
+    /**
+     * Bucket of the events without priority
+     */
+    private static final int                      NO_PRIORITY = PRIORITIES.length;
+
+    /**
+     * Returns the bucket of {@code priority}
+     */
+    private static int bucketOf(final Priority priority) {
+        return (priority == null) ? NO_PRIORITY : priority.ordinal();
+    }
+
+    private final ActionObserver                  observer;
+    /**
+     * Main events by bucket
+     */
+    private final ArrayList<ArrayList<MainEvent>> buckets;
+    /**
+     * Number of candidates of every bucket which aren't drawn this round yet<br>
+     * (The first {@code remaining[i]} events of bucket i)
+     */
+    private final int[]                           remaining;
+    /**
+     * Running main events
+     */
+    private final ArrayList<MainEvent>            parked;
+    /**
+     * Scheduled list and its number of modifications
+     */
+    private EventList                             events;
+    private int                                   modifications;
+    /**
+     * Running events and their version the buckets are in sync with
+     */
+    private EventTimers                           timers;
+    private int                                   timersVersion;
+    /**
+     * Last drawn event and its bucket (it stays at {@code remaining[bucket]}
+     * until the next round)
+     */
+    private MainEvent                             drawn;
+    private int                                   drawnBucket;
+    /**
+     * Rebuild the buckets at the next {@link #begin(EventList)}
+     */
+    private boolean                               stale;
+
+    EventScheduler(final ActionObserver observer) {
+        this.observer = observer;
+        buckets = new ArrayList<ArrayList<MainEvent>>();
+        for (int i = 0; i <= NO_PRIORITY; i++) {
+            buckets.add(new ArrayList<MainEvent>());
+        }
+        remaining = new int[NO_PRIORITY + 1];
+        parked = new ArrayList<MainEvent>();
+        stale = true;
+    }
+
+    /**
+     * Starts a round over the idle events of {@code events}<br>
+     * <br>
+     * Rebuilds the buckets if {@code events} or {@code timers} got modified
+     * since the last round. Walks the index of every idle event of an open
+     * priority class (See {@link MainEvent#updateIndex()}) and keeps the
+     * events which passed their execution bound as candidates of this round
+     * 
+     * @param events
+     *            main events
+     * @param timers
+     *            running events
+     */
+    void begin(final EventList events, final EventTimers timers) {
+        if (stale || this.events != events || modifications != events.getModifications()
+                || this.timers != timers || timersVersion != timers.getVersion()) {
+            for (final ArrayList<MainEvent> bucket : buckets) {
+                bucket.clear();
+            }
+            parked.clear();
+            for (int i = 0; i < events.size(); i++) {
+                final MainEvent event = events.get(i);
+                if (timers.containsKey(event)) {
+                    parked.add(event);
+                } else {
+                    buckets.get(bucketOf(event.getPriority())).add(event);
+                }
+            }
+            this.events = events;
+            modifications = events.getModifications();
+            this.timers = timers;
+            timersVersion = timers.getVersion();
+            stale = false;
+        }
+        drawn = null;
+
+        for (int i = 0; i <= NO_PRIORITY; i++) {
+            if (isOpen(i) == false) {
+                remaining[i] = 0;
+                continue;
+            }
+
+            // Move the candidates in front of the bucket
+            final ArrayList<MainEvent> bucket = buckets.get(i);
+            int candidates = 0;
+            for (int j = 0; j < bucket.size(); j++) {
+                final MainEvent event = bucket.get(j);
+                event.updateIndex();
+                if (event.hasExecBoundPassed()) {
+                    bucket.set(j, bucket.get(candidates));
+                    bucket.set(candidates++, event);
+                }
+            }
+            remaining[i] = candidates;
+        }
+    }
+
+    /**
+     * Returns whether the events of {@code bucket} may be executed
+     */
+    private boolean isOpen(final int bucket) {
+        return bucket == NO_PRIORITY
+                || observer.isEventLimitReached(PRIORITIES[bucket]) == false;
+    }
+
+    /**
+     * Draws the next candidate of this round (partial Fisher-Yates over the
+     * open buckets)
+     * 
+     * @return random not yet drawn candidate of a priority whose limit isn't
+     *         reached or null if there is none left
+     */
+    MainEvent next() {
+        for (;;) {
+            int open = 0;
+            for (int i = 0; i <= NO_PRIORITY; i++) {
+                if (remaining[i] > 0 && isOpen(i)) {
+                    open += remaining[i];
+                }
+            }
+            if (open == 0) {
+                return null;
+            }
+
+            int draw = Utils.getRandom().nextInt(0, open - 1);
+            for (int i = 0; i <= NO_PRIORITY; i++) {
+                if (remaining[i] == 0 || isOpen(i) == false) {
+                    continue;
+                }
+                if (draw >= remaining[i]) {
+                    draw -= remaining[i];
+                    continue;
+                }
+
+                // Move drawn event behind the not yet drawn events
+                final ArrayList<MainEvent> bucket = buckets.get(i);
+                final int last = --remaining[i];
+                final MainEvent event = bucket.get(draw);
+                bucket.set(draw, bucket.get(last));
+                bucket.set(last, event);
+                drawn = event;
+                drawnBucket = i;
+
+                final int actual = bucketOf(event.getPriority());
+                if (actual != i) {
+                    // Priority changed (i.e. reloaded), sort in next round
+                    stale = true;
+                    if (isOpen(actual) == false) {
+                        break;
+                    }
+                }
+                return event;
+            }
+        }
+    }
+
+    /**
+     * Parks {@code event} which was just put into the running events
+     */
+    void started(final Event event) {
+        if (sync() == false) {
+            return;
+        }
+
+        if (event == drawn) {
+            // Swap the drawn event with the last one of its bucket, both are
+            // behind the candidates which aren't drawn yet
+            final ArrayList<MainEvent> bucket = buckets.get(drawnBucket);
+            final int last = bucket.size() - 1;
+            bucket.set(remaining[drawnBucket], bucket.get(last));
+            bucket.remove(last);
+            parked.add(drawn);
+            drawn = null;
+        } else if (event instanceof MainEvent) {
+            // Successor which may be a main event, too
+            stale = true;
+        }
+    }
+
+    /**
+     * Moves {@code event} which was just removed from the running events back
+     * into its bucket
+     */
+    void stopped(final Event event) {
+        if (sync() == false) {
+            return;
+        }
+
+        if (parked.remove(event)) {
+            final MainEvent mainEvent = (MainEvent) event;
+            buckets.get(bucketOf(mainEvent.getPriority())).add(mainEvent);
+        }
+    }
+
+    /**
+     * Takes over one modification of the running events
+     * 
+     * @return {@code true} if the buckets were in sync with the running events
+     *         before the modification otherwise the buckets get rebuilt in the
+     *         next round
+     */
+    private boolean sync() {
+        if (stale || timers == null || timers.getVersion() != timersVersion + 1) {
+            stale = true;
+            return false;
+        }
+        timersVersion++;
+        return true;
+    }
+}
@@ -0,0 +1,395 @@
+package de.stock.action;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import de.stock.event.Event;
+
+/**
+ * The event timers hold all running {@link de.stock.event.Event events} with
+ * their remaining rounds (See
+ * {@link de.stock.action.ActionObserver#getActiveEvents()})<br>
+ * <br>
+ * Every running event gets a timer with the round it expires in. The timers
+ * live in a compact array, so the persistent influence of all running events
+ * can be applied with {@link #getEvent(int)} without iterating a map, and in a
+ * min-heap by expiry round, so {@link #poll()} touches only the events which
+ * expire now. Nothing gets copied when a round passes ({@link #advance()}), the
+ * remaining rounds of an event are computed from its expiry round.<br>
+ * <br>
+ * Remaining rounds below 1 are stored as 1, that is the event expires with the
+ * next round like before<br>
+ * Events which expire in the same round are polled in the order they were put
+ * into the timers.<br>
+ * Iteration order is the order of the compact array (removing an event moves
+ * the last event to its position)
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class EventTimers extends AbstractMap<Event, Integer> {
+
+    /**
+     * Timer of one running event
+     */
+    private class Timer implements Map.Entry<Event, Integer> {
+
+        private final Event event;
+        /**
+         * Order of the timers expiring in the same round
+         */
+        private final long  sequence;
+        private long        expiry;
+        /**
+         * Positions in the compact array and in the heap
+         */
+        private int         index;
+        private int         heapIndex;
+
+        Timer(final Event event, final long sequence) {
+            this.event = event;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (object instanceof Map.Entry == false) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+            return event.equals(entry.getKey()) && getValue().equals(entry.getValue());
+        }
+
+        @Override
+        public Event getKey() {
+            return event;
+        }
+
+        @Override
+        public Integer getValue() {
+            return (int) Math.min(expiry - round, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int hashCode() {
+            return event.hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public Integer setValue(final Integer value) {
+            final Integer old = getValue();
+            schedule(this, value);
+            return old;
+        }
+
+        @Override
+        public String toString() {
+            return event + "=" + getValue();
+        }
+    }
+
+    /**
+     * Iterates over the compact array
+     */
+    private class TimerIterator implements Iterator<Map.Entry<Event, Integer>> {
+
+        private int next;
+        private int last;
+        private int expectedVersion;
+
+        TimerIterator() {
+            next = 0;
+            last = -1;
+            expectedVersion = version;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<Event, Integer> next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            if (expectedVersion != version) {
+                throw new ConcurrentModificationException();
+            }
+            last = next++;
+            return timers[last];
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeTimer(timers[last]);
+            // The last timer moved to the removed position
+            next = last;
+            last = -1;
+            expectedVersion = version;
+        }
+    }
+
+    private final HashMap<Event, Timer>    slots;
+    /**
+     * Compact array of the timers
+     */
+    private Timer[]                        timers;
+    /**
+     * Timers ordered by expiry round (binary min-heap)
+     */
+    private Timer[]                        heap;
+    private int                            size;
+    /**
+     * Number of passed rounds
+     */
+    private long                           round;
+    private long                           sequence;
+    /**
+     * Incremented by every structural modification
+     */
+    private int                            version;
+
+    private Set<Map.Entry<Event, Integer>> entrySet;
+
+    public EventTimers() {
+        this(16);
+    }
+
+    public EventTimers(final int capacity) {
+        final int initialCapacity = Math.max(capacity, 1);
+        slots = new HashMap<Event, Timer>();
+        timers = new Timer[initialCapacity];
+        heap = new Timer[initialCapacity];
+        size = 0;
+        round = 0;
+        sequence = 0;
+        version = 0;
+    }
+
+    /**
+     * Creates event timers with all entries of {@code map}
+     */
+    public EventTimers(final Map<? extends Event, ? extends Integer> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    /**
+     * Passes one round<br>
+     * <br>
+     * Expired events are returned by {@link #poll()} afterwards
+     */
+    public void advance() {
+        round++;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(timers, 0, size, null);
+        Arrays.fill(heap, 0, size, null);
+        slots.clear();
+        size = 0;
+        version++;
+    }
+
+    /**
+     * Returns whether {@code a} expires before {@code b}
+     */
+    private boolean before(final Timer a, final Timer b) {
+        return a.expiry < b.expiry || (a.expiry == b.expiry && a.sequence < b.sequence);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return slots.containsKey(key);
+    }
+
+    @Override
+    public Set<Map.Entry<Event, Integer>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<Event, Integer>>() {
+
+                @Override
+                public void clear() {
+                    EventTimers.this.clear();
+                }
+
+                @Override
+                public Iterator<Map.Entry<Event, Integer>> iterator() {
+                    return new TimerIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Integer get(final Object key) {
+        final Timer timer = slots.get(key);
+        return timer == null ? null : timer.getValue();
+    }
+
+    /**
+     * Returns the running event at {@code index} of the compact array (See
+     * {@link #size()})
+     */
+    public Event getEvent(final int index) {
+        return timers[index].event;
+    }
+
+    /**
+     * Returns the number of structural modifications (put of a new event,
+     * remove, clear) of the timers
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Removes and returns the next event whose rounds are over
+     * 
+     * @return expired event or null if no event expired
+     */
+    public Event poll() {
+        if (size == 0 || heap[0].expiry > round) {
+            return null;
+        }
+        final Timer timer = heap[0];
+        removeTimer(timer);
+        return timer.event;
+    }
+
+    @Override
+    public Integer put(final Event event, final Integer rounds) {
+        Timer timer = slots.get(event);
+        if (timer != null) {
+            return timer.setValue(rounds);
+        }
+
+        if (size == timers.length) {
+            timers = Arrays.copyOf(timers, size * 2);
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        timer = new Timer(event, sequence++);
+        timer.expiry = Long.MAX_VALUE;
+        timer.index = size;
+        timer.heapIndex = size;
+        timers[size] = timer;
+        heap[size] = timer;
+        size++;
+        slots.put(event, timer);
+        version++;
+
+        schedule(timer, rounds);
+        return null;
+    }
+
+    @Override
+    public Integer remove(final Object key) {
+        final Timer timer = slots.get(key);
+        if (timer == null) {
+            return null;
+        }
+        final Integer rounds = timer.getValue();
+        removeTimer(timer);
+        return rounds;
+    }
+
+    /**
+     * Removes {@code timer} from the compact array and the heap
+     */
+    private void removeTimer(final Timer timer) {
+        size--;
+
+        final Timer last = timers[size];
+        timers[timer.index] = last;
+        last.index = timer.index;
+        timers[size] = null;
+
+        final Timer lastInHeap = heap[size];
+        heap[size] = null;
+        if (lastInHeap != timer) {
+            heap[timer.heapIndex] = lastInHeap;
+            lastInHeap.heapIndex = timer.heapIndex;
+            siftDown(lastInHeap);
+            siftUp(lastInHeap);
+        }
+
+        slots.remove(timer.event);
+        version++;
+    }
+
+    /**
+     * Lets {@code timer} expire after {@code rounds} (at least one) rounds
+     */
+    private void schedule(final Timer timer, final Integer rounds) {
+        final long expiry = round + Math.max(rounds.longValue(), 1L);
+        final boolean earlier = expiry < timer.expiry;
+        timer.expiry = expiry;
+        if (earlier) {
+            siftUp(timer);
+        } else {
+            siftDown(timer);
+        }
+    }
+
+    private void siftDown(final Timer timer) {
+        int index = timer.heapIndex;
+        for (;;) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (before(heap[child], timer) == false) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+        heap[index] = timer;
+        timer.heapIndex = index;
+    }
+
+    private void siftUp(final Timer timer) {
+        int index = timer.heapIndex;
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (before(timer, heap[parent]) == false) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].heapIndex = index;
+            index = parent;
+        }
+        heap[index] = timer;
+        timer.heapIndex = index;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,31 @@
+package de.stock.action;
+
+import de.stock.event.Event;
+import de.stock.level.ILevel;
+
+/**
+ * Gets notified by the {@link de.stock.action.ActionObserver ActionObserver}
+ * if events start and levels start or get passed<br>
+ * <br>
+ * Listeners are called on the thread which plays the game. The round can be
+ * fetched from the current {@link de.stock.game.GameContext GameContext}
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public interface IActionListener {
+
+    /**
+     * Called if {@code event} was started (main events and successors)
+     */
+    public abstract void eventStarted(final Event event);
+
+    /**
+     * Called if the goal of {@code level} was reached
+     */
+    public abstract void levelPassed(final ILevel level);
+
+    /**
+     * Called if {@code level} became active
+     */
+    public abstract void levelStarted(final ILevel level);
+}
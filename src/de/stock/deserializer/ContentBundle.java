@@ -0,0 +1,687 @@
+package de.stock.deserializer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map.Entry;
+
+import de.stock.action.ActionObserver;
+import de.stock.action.IAction;
+import de.stock.environment.Environment;
+import de.stock.environment.EnvironmentGraph;
+import de.stock.environment.EnvironmentGroup;
+import de.stock.environment.EnvironmentHandler;
+import de.stock.environment.IEnvironment;
+import de.stock.event.Event;
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.settings.Settings_Output;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.TradeableHandler;
+import de.stock.utils.Printer;
+import de.stock.utils.Priority;
+
+/**
+ * Precompiled binary form of the content of the resource directories<br>
+ * <br>
+ * {@link #compile(File)} deserializes all events, environments and tradeables
+ * (See {@link de.stock.deserializer.Deserializer Deserializer}) and writes
+ * them into a single file. {@link #load(File)} maps this file into memory and
+ * registers its content at the handlers of the current
+ * {@link de.stock.game.GameContext GameContext} without any json parsing.<br>
+ * <br>
+ * Layout (big endian):<br>
+ * - magic number and version<br>
+ * - stamp of the resource directories (See {@link #stamp()})<br>
+ * - string table (all names, descriptions and class names)<br>
+ * - tradeable records (fields and environments they are part of)<br>
+ * - environment records (fields, tradeables and linked environments)<br>
+ * - event records (fields, environment groups, influenced objects and
+ * successors)<br>
+ * - indices of the events, environments and tradeables to register<br>
+ * <br>
+ * Objects are referenced by their index, so shared objects stay shared.<br>
+ * Only the fields of {@link de.stock.tradeable.Tradeable Tradeable},
+ * {@link de.stock.environment.Environment Environment},
+ * {@link de.stock.event.Event Event} and
+ * {@link de.stock.event.types.MainEvent MainEvent} are stored, fields of
+ * other subclasses keep their default value.<br>
+ * <br>
+ * A bundle is stale as soon as a file of the resource directories was added,
+ * removed or modified after it was compiled. {@link #load(File)} refuses stale
+ * bundles, so the content gets parsed again instead
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class ContentBundle {
+
+    /**
+     * Collects all objects reachable from the registered content and assigns
+     * the indices
+     */
+    private static class Index {
+
+        private final ArrayList<String>                 strings;
+        private final HashMap<String, Integer>          stringIndices;
+        private final ArrayList<ITradeable>             tradeables;
+        private final IdentityHashMap<Object, Integer>  tradeableIndices;
+        private final ArrayList<IEnvironment>           environments;
+        private final IdentityHashMap<Object, Integer>  environmentIndices;
+        private final ArrayList<Event>                  events;
+        private final IdentityHashMap<Object, Integer>  eventIndices;
+
+        Index() {
+            strings = new ArrayList<String>();
+            stringIndices = new HashMap<String, Integer>();
+            tradeables = new ArrayList<ITradeable>();
+            tradeableIndices = new IdentityHashMap<Object, Integer>();
+            environments = new ArrayList<IEnvironment>();
+            environmentIndices = new IdentityHashMap<Object, Integer>();
+            events = new ArrayList<Event>();
+            eventIndices = new IdentityHashMap<Object, Integer>();
+        }
+
+        void add(final Event event) {
+            if (eventIndices.containsKey(event)) {
+                return;
+            }
+            eventIndices.put(event, events.size());
+            events.add(event);
+            string(event.getClass().getName());
+            string(event.getName());
+            string(event.getDescription());
+
+            if (event.getEnvironmentGroups() != null) {
+                for (final EnvironmentGroup environmentGroup : event.getEnvironmentGroups()) {
+                    string(environmentGroup.getName());
+                    if (environmentGroup.getEnvironments() != null) {
+                        for (final Environment environment : environmentGroup.getEnvironments()) {
+                            add(environment);
+                        }
+                    }
+                }
+            }
+
+            if (event.getSuccessors() != null) {
+                for (final IAction successor : event.getSuccessors()) {
+                    if (successor instanceof Event) {
+                        add((Event) successor);
+                    }
+                }
+            }
+        }
+
+        void add(final IEnvironment environment) {
+            if (environmentIndices.containsKey(environment)) {
+                return;
+            }
+            environmentIndices.put(environment, environments.size());
+            environments.add(environment);
+            string(environment.getClass().getName());
+            string(environment.getName());
+            string(environment.getDescription());
+
+            if (environment.getTradeables() != null) {
+                for (final ITradeable tradeable : environment.getTradeables()) {
+                    add(tradeable);
+                }
+            }
+            if (environment.getLinkedEnvironments() != null) {
+                for (final IEnvironment linked : environment.getLinkedEnvironments()) {
+                    add(linked);
+                }
+            }
+        }
+
+        void add(final ITradeable tradeable) {
+            if (tradeableIndices.containsKey(tradeable)) {
+                return;
+            }
+            tradeableIndices.put(tradeable, tradeables.size());
+            tradeables.add(tradeable);
+            string(tradeable.getClass().getName());
+            string(tradeable.getName());
+            string(tradeable.getDescription());
+
+            if (tradeable.getPartOf() != null) {
+                for (final IEnvironment environment : tradeable.getPartOf()) {
+                    add(environment);
+                }
+            }
+        }
+
+        int environment(final Object environment) {
+            return environmentIndices.get(environment);
+        }
+
+        int event(final Object event) {
+            return eventIndices.get(event);
+        }
+
+        int string(final String string) {
+            if (string == null) {
+                return NULL;
+            }
+            Integer index = stringIndices.get(string);
+            if (index == null) {
+                index = strings.size();
+                stringIndices.put(string, index);
+                strings.add(string);
+            }
+            return index;
+        }
+
+        int tradeable(final Object tradeable) {
+            return tradeableIndices.get(tradeable);
+        }
+    }
+
+    /**
+     * "STKB"
+     */
+    private static final int     MAGIC   = 0x53544B42;
+    private static final int     VERSION = 2;
+    /**
+     * Stands for {@code null} values of {@code Integer} fields and indices
+     */
+    private static final int     NULL    = Integer.MIN_VALUE;
+    private static final Charset CHARSET = Charset.forName(Settings_Deserializer.CHARSET);
+
+    /**
+     * Deserializes all events, environments and tradeables of the resource
+     * directories (See {@link de.stock.settings.Settings_Deserializer
+     * Settings_Deserializer}) and writes them as bundle to {@code file}
+     * 
+     * @param file
+     *            bundle file to write
+     * 
+     * @return number of written events, environments and tradeables
+     * @throws IOException
+     *             if the bundle can't be written
+     */
+    public static Integer[] compile(final File file) throws IOException {
+        // Stamp before parsing, so files changed meanwhile make the bundle
+        // stale
+        final long stamp = stamp();
+        final GameContext context = new GameContext();
+        final GameContext previous = GameContext.enter(context);
+        try {
+            Deserializer.deserializeParallel(Settings_Deserializer.TYPE_EVENT,
+                    Settings_Deserializer.TYPE_ENVIRONMENT, Settings_Deserializer.TYPE_TRADEABLE);
+        }
+        finally {
+            GameContext.setCurrent(previous);
+        }
+
+        final ArrayList<Event> events = new ArrayList<Event>(context.getActionObserver()
+                .getMainEvents());
+        write(file, stamp, events, context.getEnvironmentHandler().getEnvironments(), context
+                .getTradeableHandler().getTradeables());
+
+        return new Integer[] { events.size(),
+                context.getEnvironmentHandler().getEnvironments().size(),
+                context.getTradeableHandler().getTradeables().size() };
+    }
+
+    private static Object instantiate(final String className) throws IOException {
+        try {
+            final Constructor<?> constructor = Class.forName(className).getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        }
+        catch (final Exception e) {
+            throw new IOException("Unable to instantiate " + className, e);
+        }
+    }
+
+    /**
+     * Loads the bundle {@code file} and registers its events, environments and
+     * tradeables at the handlers of the current
+     * {@link de.stock.game.GameContext GameContext} (like
+     * {@link de.stock.deserializer.Deserializer#deserialize(Integer)})<br>
+     * <br>
+     * The file is memory mapped and read without copying it first
+     * 
+     * @param file
+     *            bundle file to load
+     * 
+     * @return number of registered events, environments and tradeables upon
+     *         success otherwise null (also if the bundle is stale)
+     */
+    public static Integer[] load(final File file) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+            return read(buffer);
+        }
+        catch (final Exception e) {
+            Printer.print(Settings_Output.OUT_ERROR, "Bundle error", 0, "Bundle error",
+                    "Unable to load content bundle " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+        finally {
+            if (channel != null) {
+                try {
+                    channel.close();
+                }
+                catch (final IOException e) {
+                    // Nothing left to do
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles the resource directories into the bundle
+     * {@link de.stock.settings.Settings_Deserializer#PATH_BUNDLE} or the path
+     * passed as first argument
+     */
+    public static void main(final String[] args) throws IOException {
+        final File file = new File((args.length > 0) ? args[0] : Settings_Deserializer.PATH_BUNDLE);
+        final Integer[] written = compile(file);
+        System.out.println("Compiled " + written[0] + " events, " + written[1]
+                + " environments and " + written[2] + " tradeables into " + file.getPath());
+    }
+
+    private static Integer[] read(final MappedByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a content bundle of version " + VERSION);
+        }
+        if (buffer.getLong() != stamp()) {
+            throw new IOException("Resource directories changed since it was compiled");
+        }
+
+        // Strings
+        final String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            final byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, CHARSET);
+        }
+
+        // Tradeables
+        final ITradeable[] tradeables = new ITradeable[buffer.getInt()];
+        final int[][] partOf = new int[tradeables.length][];
+        for (int i = 0; i < tradeables.length; i++) {
+            final ITradeable tradeable = (ITradeable) instantiate(strings[buffer.getInt()]);
+            tradeable.setName(readString(buffer, strings));
+            tradeable.setDescription(readString(buffer, strings));
+            tradeable.setValue(readDouble(buffer));
+            tradeable.setInitBottomBound(readDouble(buffer));
+            tradeable.setInitTopBound(readDouble(buffer));
+            tradeable.setInfluenceBottomBound(readDouble(buffer));
+            tradeable.setInfluenceTopBound(readDouble(buffer));
+            tradeable.setMaxShares(readInteger(buffer));
+            tradeable.setMinShares(readInteger(buffer));
+            tradeable.setShares(readInteger(buffer));
+            partOf[i] = readIndices(buffer);
+            tradeables[i] = tradeable;
+        }
+
+        // Environments
+        final IEnvironment[] environments = new IEnvironment[buffer.getInt()];
+        final int[][] environmentTradeables = new int[environments.length][];
+        final int[][] linkedEnvironments = new int[environments.length][];
+        for (int i = 0; i < environments.length; i++) {
+            final IEnvironment environment = (IEnvironment) instantiate(strings[buffer.getInt()]);
+            environment.setName(readString(buffer, strings));
+            environment.setDescription(readString(buffer, strings));
+            environmentTradeables[i] = readIndices(buffer);
+            linkedEnvironments[i] = readIndices(buffer);
+            environments[i] = environment;
+        }
+
+        // Events
+        final Event[] events = new Event[buffer.getInt()];
+        final int[][] successors = new int[events.length][];
+        for (int i = 0; i < events.length; i++) {
+            final Event event = (Event) instantiate(strings[buffer.getInt()]);
+            event.setName(readString(buffer, strings));
+            event.setDescription(readString(buffer, strings));
+            event.hasOptions(buffer.get() != 0);
+            final int priority = buffer.getInt();
+            event.setPriority((priority == NULL) ? null : Priority.values()[priority]);
+            event.setRoundsBottomBound(readInteger(buffer));
+            event.setRoundsTopBound(readInteger(buffer));
+
+            if (buffer.get() != 0) {
+                final MainEvent mainEvent = (MainEvent) event;
+                mainEvent.setInfluenceBottomBound(readInteger(buffer));
+                mainEvent.setInfluenceTopBound(readInteger(buffer));
+                mainEvent.setIndexInitBottomBound(readInteger(buffer));
+                mainEvent.setIndexInitTopBound(readInteger(buffer));
+                mainEvent.setIndex(readInteger(buffer));
+                mainEvent.setIndexMaximum(readInteger(buffer));
+                mainEvent.setExecutionBound(readInteger(buffer));
+            }
+
+            final int groups = buffer.getInt();
+            for (int j = 0; j < groups; j++) {
+                final EnvironmentGroup environmentGroup = new EnvironmentGroup();
+                environmentGroup.setName(readString(buffer, strings));
+                final Double bottom = readDouble(buffer);
+                final Double top = readDouble(buffer);
+                if (top != null) {
+                    environmentGroup.setInfluenceTopLimit(top);
+                }
+                if (bottom != null) {
+                    environmentGroup.setInfluenceBottomLimit(bottom);
+                }
+                environmentGroup.setSign(buffer.get() != 0);
+                for (final int environment : readIndices(buffer)) {
+                    environmentGroup.registerEnvironment((Environment) environments[environment]);
+                }
+                event.registerEnvironmentGroup(environmentGroup);
+            }
+
+            final int influencedObjects = buffer.getInt();
+            for (int j = 0; j < influencedObjects; j++) {
+                final int key = buffer.getInt();
+                event.getInfluenceObjects().put(key, buffer.getLong());
+            }
+
+            successors[i] = readIndices(buffer);
+            events[i] = event;
+        }
+
+        // Links
+        for (int i = 0; i < tradeables.length; i++) {
+            for (final int environment : partOf[i]) {
+                tradeables[i].getPartOf().add(environments[environment]);
+            }
+        }
+        for (int i = 0; i < environments.length; i++) {
+            for (final int tradeable : environmentTradeables[i]) {
+                environments[i].getTradeables().add(tradeables[tradeable]);
+            }
+            for (final int linked : linkedEnvironments[i]) {
+                environments[i].getLinkedEnvironments().add(environments[linked]);
+            }
+        }
+        for (int i = 0; i < events.length; i++) {
+            for (final int successor : successors[i]) {
+                events[i].addSuccessor(events[successor]);
+            }
+        }
+        EnvironmentGraph.invalidate();
+
+        // Register
+        final int[] registeredEvents = readIndices(buffer);
+        final int[] registeredEnvironments = readIndices(buffer);
+        final int[] registeredTradeables = readIndices(buffer);
+
+        for (final int event : registeredEvents) {
+            ActionObserver.getInstance().registerEvent(events[event]);
+        }
+        for (final int environment : registeredEnvironments) {
+            EnvironmentHandler.getInstance().register(environments[environment]);
+        }
+        for (final int tradeable : registeredTradeables) {
+            TradeableHandler.getInstance().addTradeable(tradeables[tradeable]);
+        }
+
+        return new Integer[] { registeredEvents.length, registeredEnvironments.length,
+                registeredTradeables.length };
+    }
+
+    private static Double readDouble(final MappedByteBuffer buffer) {
+        final double value = buffer.getDouble();
+        return Double.isNaN(value) ? null : Double.valueOf(value);
+    }
+
+    private static int[] readIndices(final MappedByteBuffer buffer) {
+        final int[] indices = new int[buffer.getInt()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = buffer.getInt();
+        }
+        return indices;
+    }
+
+    private static Integer readInteger(final MappedByteBuffer buffer) {
+        final int value = buffer.getInt();
+        return (value == NULL) ? null : Integer.valueOf(value);
+    }
+
+    private static String readString(final MappedByteBuffer buffer, final String[] strings) {
+        final int index = buffer.getInt();
+        return (index == NULL) ? null : strings[index];
+    }
+
+    /**
+     * Returns the stamp of the resource directories (See
+     * {@link de.stock.settings.Settings_Deserializer Settings_Deserializer})<br>
+     * <br>
+     * Combines path, size and modification time of all files, so adding,
+     * removing or modifying a file changes the stamp. Only the file metadata
+     * is read
+     */
+    static long stamp() {
+        long stamp = 17;
+        for (final ContentType contentType : ContentType.values()) {
+            final ArrayList<File> files = Deserializer.getFilesOnly(Deserializer
+                    .getFilesFromDir(contentType.getPath()));
+            if (files == null) {
+                continue;
+            }
+            Collections.sort(files);
+            for (final File file : files) {
+                stamp = 31 * stamp + file.getPath().hashCode();
+                stamp = 31 * stamp + file.length();
+                stamp = 31 * stamp + file.lastModified();
+            }
+        }
+        return stamp;
+    }
+
+    /**
+     * Writes {@code events}, {@code environments} and {@code tradeables} and
+     * all objects reachable from them as bundle to {@code file}<br>
+     * <br>
+     * {@link #load(File)} registers {@code events}, {@code environments} and
+     * {@code tradeables} only. The bundle is stamped with the current state of
+     * the resource directories
+     * 
+     * @throws IOException
+     *             if the bundle can't be written
+     */
+    public static void write(final File file, final Collection<? extends Event> events,
+            final Collection<? extends IEnvironment> environments,
+            final Collection<? extends ITradeable> tradeables) throws IOException {
+        write(file, stamp(), events, environments, tradeables);
+    }
+
+    private static void write(final File file, final long stamp,
+            final Collection<? extends Event> events,
+            final Collection<? extends IEnvironment> environments,
+            final Collection<? extends ITradeable> tradeables) throws IOException {
+        final Index index = new Index();
+        for (final Event event : events) {
+            index.add(event);
+        }
+        for (final IEnvironment environment : environments) {
+            index.add(environment);
+        }
+        for (final ITradeable tradeable : tradeables) {
+            index.add(tradeable);
+        }
+
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(file), Settings_Deserializer.READ_BUFFER_SIZE));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(stamp);
+
+            // Strings
+            out.writeInt(index.strings.size());
+            for (final String string : index.strings) {
+                final byte[] bytes = string.getBytes(CHARSET);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            // Tradeables
+            out.writeInt(index.tradeables.size());
+            for (final ITradeable tradeable : index.tradeables) {
+                out.writeInt(index.string(tradeable.getClass().getName()));
+                out.writeInt(index.string(tradeable.getName()));
+                out.writeInt(index.string(tradeable.getDescription()));
+                writeDouble(out, tradeable.getValue());
+                writeDouble(out, tradeable.getInitBottomBound());
+                writeDouble(out, tradeable.getInitTopBound());
+                writeDouble(out, tradeable.getInfluenceBottomBound());
+                writeDouble(out, tradeable.getInfluenceTopBound());
+                writeInteger(out, tradeable.getMaxShares());
+                writeInteger(out, tradeable.getMinShares());
+                writeInteger(out, tradeable.getShares());
+                final ArrayList<Integer> partOf = new ArrayList<Integer>();
+                if (tradeable.getPartOf() != null) {
+                    for (final IEnvironment environment : tradeable.getPartOf()) {
+                        partOf.add(index.environment(environment));
+                    }
+                }
+                writeIndices(out, partOf);
+            }
+
+            // Environments
+            out.writeInt(index.environments.size());
+            for (final IEnvironment environment : index.environments) {
+                out.writeInt(index.string(environment.getClass().getName()));
+                out.writeInt(index.string(environment.getName()));
+                out.writeInt(index.string(environment.getDescription()));
+                final ArrayList<Integer> environmentTradeables = new ArrayList<Integer>();
+                if (environment.getTradeables() != null) {
+                    for (final ITradeable tradeable : environment.getTradeables()) {
+                        environmentTradeables.add(index.tradeable(tradeable));
+                    }
+                }
+                writeIndices(out, environmentTradeables);
+                final ArrayList<Integer> linked = new ArrayList<Integer>();
+                if (environment.getLinkedEnvironments() != null) {
+                    for (final IEnvironment linkedEnvironment : environment
+                            .getLinkedEnvironments()) {
+                        linked.add(index.environment(linkedEnvironment));
+                    }
+                }
+                writeIndices(out, linked);
+            }
+
+            // Events
+            out.writeInt(index.events.size());
+            for (final Event event : index.events) {
+                out.writeInt(index.string(event.getClass().getName()));
+                out.writeInt(index.string(event.getName()));
+                out.writeInt(index.string(event.getDescription()));
+                out.writeByte(event.hasOptions() ? 1 : 0);
+                out.writeInt((event.getPriority() == null) ? NULL : event.getPriority().ordinal());
+                writeInteger(out, event.getRoundsBottomBound());
+                writeInteger(out, event.getRoundsTopBound());
+
+                if (event instanceof MainEvent) {
+                    final MainEvent mainEvent = (MainEvent) event;
+                    out.writeByte(1);
+                    writeInteger(out, mainEvent.getInfluenceBottomBound());
+                    writeInteger(out, mainEvent.getInfluenceTopBound());
+                    writeInteger(out, mainEvent.getIndexInitBottomBound());
+                    writeInteger(out, mainEvent.getIndexInitTopBound());
+                    writeInteger(out, mainEvent.getIndex());
+                    writeInteger(out, mainEvent.getIndexMaximum());
+                    writeInteger(out, mainEvent.getExecutionBound());
+                } else {
+                    out.writeByte(0);
+                }
+
+                final ArrayList<EnvironmentGroup> groups = (event.getEnvironmentGroups() == null) ? new ArrayList<EnvironmentGroup>()
+                        : event.getEnvironmentGroups();
+                out.writeInt(groups.size());
+                for (final EnvironmentGroup environmentGroup : groups) {
+                    out.writeInt(index.string(environmentGroup.getName()));
+                    writeDouble(out, environmentGroup.getInfluenceBottomLimit());
+                    writeDouble(out, environmentGroup.getInfluenceTopLimit());
+                    out.writeByte(environmentGroup.influenceIsPositive() ? 1 : 0);
+                    final ArrayList<Integer> groupEnvironments = new ArrayList<Integer>();
+                    if (environmentGroup.getEnvironments() != null) {
+                        for (final Environment environment : environmentGroup.getEnvironments()) {
+                            groupEnvironments.add(index.environment(environment));
+                        }
+                    }
+                    writeIndices(out, groupEnvironments);
+                }
+
+                final HashMap<Integer, Long> influencedObjects = (event.getInfluenceObjects() == null) ? new HashMap<Integer, Long>()
+                        : event.getInfluenceObjects();
+                out.writeInt(influencedObjects.size());
+                for (final Entry<Integer, Long> entry : influencedObjects.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+
+                final ArrayList<Integer> eventSuccessors = new ArrayList<Integer>();
+                if (event.getSuccessors() != null) {
+                    for (final IAction successor : event.getSuccessors()) {
+                        if (successor instanceof Event) {
+                            eventSuccessors.add(index.event(successor));
+                        }
+                    }
+                }
+                writeIndices(out, eventSuccessors);
+            }
+
+            // Registered content
+            final ArrayList<Integer> registered = new ArrayList<Integer>();
+            for (final Event event : events) {
+                registered.add(index.event(event));
+            }
+            writeIndices(out, registered);
+            registered.clear();
+            for (final IEnvironment environment : environments) {
+                registered.add(index.environment(environment));
+            }
+            writeIndices(out, registered);
+            registered.clear();
+            for (final ITradeable tradeable : tradeables) {
+                registered.add(index.tradeable(tradeable));
+            }
+            writeIndices(out, registered);
+        }
+        finally {
+            out.close();
+        }
+    }
+
+    private static void writeDouble(final DataOutputStream out, final Double value)
+            throws IOException {
+        out.writeDouble((value == null) ? Double.NaN : value.doubleValue());
+    }
+
+    private static void writeIndices(final DataOutputStream out, final ArrayList<Integer> indices)
+            throws IOException {
+        out.writeInt(indices.size());
+        for (final Integer index : indices) {
+            out.writeInt(index);
+        }
+    }
+
+    private static void writeInteger(final DataOutputStream out, final Integer value)
+            throws IOException {
+        out.writeInt((value == null) ? NULL : value.intValue());
+    }
+
+    private ContentBundle() {
+    }
+}
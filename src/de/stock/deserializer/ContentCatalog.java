@@ -0,0 +1,526 @@
+package de.stock.deserializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+
+import de.stock.action.ActionObserver;
+import de.stock.environment.EnvironmentHandler;
+import de.stock.environment.IEnvironment;
+import de.stock.event.Event;
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+import de.stock.level.ILevel;
+import de.stock.level.ILevelPack;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.settings.Settings_Output;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.TradeableHandler;
+import de.stock.utils.Printer;
+
+/**
+ * Loads tradeables, events and environments on demand<br>
+ * <br>
+ * {@link #index(Integer...)} scans the resource directories once and only
+ * remembers the name and file of every object. An object is deserialized the
+ * first time it gets requested by name (See {@link #get(Integer, String)}) and
+ * registered at the appropriate handler of the current
+ * {@link de.stock.game.GameContext GameContext}.<br>
+ * <br>
+ * Levels and level packs reference catalog content by name (See
+ * {@link de.stock.level.ILevel#useTradeable(String)},
+ * {@link de.stock.level.ILevel#useEvent(String)}). The references are resolved
+ * when the level (pack) gets registered, so only the content which is in play
+ * gets deserialized:<br>
+ * <br>
+ * &nbsp;&nbsp;myLevel.useTradeable("Lemons");<br>
+ * &nbsp;&nbsp;myLevel.useEvent("Citrus fruit plague");<br>
+ * <br>
+ * The index and the deserialized objects belong to the catalog of one
+ * context. Forks of a context share its catalog.<br>
+ * Names which aren't indexed are looked up in the content already registered
+ * at the handlers, so references work with eagerly loaded content, too
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class ContentCatalog {
+
+    public static ContentCatalog getInstance() {
+        return GameContext.getCurrent().getContentCatalog();
+    }
+
+    /**
+     * Returns the name of the object serialized in {@code file}
+     * 
+     * @return name upon success otherwise null
+     */
+    static String readName(final File file) {
+        Reader reader = null;
+        try {
+            reader = Deserializer.openReader(file);
+            return readName(reader);
+        }
+        catch (final IOException e) {
+            return null;
+        }
+        finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                }
+                catch (final IOException e) {
+                    // Nothing left to do
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the top level "name" field of the json object
+     * {@code reader} delivers<br>
+     * <br>
+     * Stops reading as soon as the name is found. Fields of nested objects
+     * (i.e. the names of environments of a tradeable) are skipped
+     * 
+     * @return name upon success otherwise null
+     */
+    static String readName(final Reader reader) throws IOException {
+        int depth = 0;
+        String key = null;
+        boolean isValue = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            switch (c) {
+            case '{':
+            case '[':
+                depth++;
+                break;
+            case '}':
+            case ']':
+                depth--;
+                if (depth <= 0) {
+                    return null;
+                }
+                break;
+            case ':':
+                if (depth == 1) {
+                    isValue = true;
+                }
+                break;
+            case ',':
+                if (depth == 1) {
+                    key = null;
+                    isValue = false;
+                }
+                break;
+            case '"':
+                final String string = readString(reader);
+                if (depth == 1) {
+                    if (isValue == false) {
+                        key = string;
+                    } else if ("name".equals(key)) {
+                        return string;
+                    }
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads a json string whose opening quote was already read
+     */
+    private static String readString(final Reader reader) throws IOException {
+        final StringBuilder string = new StringBuilder();
+
+        int c;
+        while ((c = reader.read()) != -1 && c != '"') {
+            if (c != '\\') {
+                string.append((char) c);
+                continue;
+            }
+
+            c = reader.read();
+            switch (c) {
+            case 'b':
+                string.append('\b');
+                break;
+            case 'f':
+                string.append('\f');
+                break;
+            case 'n':
+                string.append('\n');
+                break;
+            case 'r':
+                string.append('\r');
+                break;
+            case 't':
+                string.append('\t');
+                break;
+            case 'u':
+                final char[] hex = new char[4];
+                for (int i = 0; i < hex.length; i++) {
+                    hex[i] = (char) reader.read();
+                }
+                try {
+                    string.append((char) Integer.parseInt(new String(hex), 16));
+                }
+                catch (final NumberFormatException e) {
+                    throw new IOException("Invalid escape sequence \\u" + new String(hex));
+                }
+                break;
+            case -1:
+                break;
+            default:
+                // \" \\ \/
+                string.append((char) c);
+                break;
+            }
+        }
+        return string.toString();
+    }
+
+    /**
+     * Name to file of each type (replaced as a whole by
+     * {@link #index(Integer...)})
+     */
+    private volatile EnumMap<ContentType, HashMap<String, File>> index;
+    /**
+     * Deserialized objects of this catalog by name
+     */
+    private final EnumMap<ContentType, HashMap<String, Object>>  loaded;
+
+    public ContentCatalog() {
+        index = new EnumMap<ContentType, HashMap<String, File>>(ContentType.class);
+        loaded = new EnumMap<ContentType, HashMap<String, Object>>(ContentType.class);
+        for (final ContentType contentType : ContentType.values()) {
+            loaded.put(contentType, new HashMap<String, Object>());
+        }
+    }
+
+    /**
+     * Returns the object of {@code type} named {@code name} if it was already
+     * deserialized or registered at a handler of the current context
+     * 
+     * @return object upon success otherwise null
+     */
+    Object find(final Integer type, final String name) {
+        final ContentType contentType = ContentType.of(type);
+        if (contentType == null || name == null) {
+            return null;
+        }
+
+        final Object object = loaded.get(contentType).get(name);
+        return (object == null) ? getRegistered(contentType, name) : object;
+    }
+
+    /**
+     * Returns the object of {@code type} named {@code name}<br>
+     * <br>
+     * The object gets deserialized and registered at the appropriate handler
+     * of the current context if it's requested for the first time:<br>
+     * - Tradeables are added to
+     * {@link de.stock.tradeable.TradeableHandler#getTradeables()
+     * TradeableHandler}<br>
+     * - Environments are registered at
+     * {@link de.stock.environment.EnvironmentHandler#getEnvironments()
+     * EnvironmentHandler}<br>
+     * - Events get initialized (they become main events of the
+     * {@link de.stock.action.ActionObserver ActionObserver} with the level
+     * which uses them)
+     * 
+     * @param type
+     *            The type of object (See
+     *            {@link de.stock.settings.Settings_Deserializer
+     *            Settings_Deserializer})
+     * @param name
+     *            name of the object
+     * 
+     * @return object upon success otherwise null
+     */
+    public Object get(final Integer type, final String name) {
+        final ContentType contentType = ContentType.of(type);
+        if (contentType == null || name == null) {
+            return null;
+        }
+
+        final HashMap<String, Object> objects = loaded.get(contentType);
+        Object object = objects.get(name);
+        if (object != null) {
+            return object;
+        }
+
+        final HashMap<String, File> names = index.get(contentType);
+        final File file = (names == null) ? null : names.get(name);
+
+        if (file == null) {
+            object = getRegistered(contentType, name);
+        } else {
+            object = Deserializer.deserialize(type, file);
+            register(object);
+        }
+
+        if (object != null) {
+            objects.put(name, object);
+        }
+        return object;
+    }
+
+    public IEnvironment getEnvironment(final String name) {
+        return (IEnvironment) get(Settings_Deserializer.TYPE_ENVIRONMENT, name);
+    }
+
+    public Event getEvent(final String name) {
+        return (Event) get(Settings_Deserializer.TYPE_EVENT, name);
+    }
+
+    /**
+     * Returns the number of objects of {@code type} which are deserialized or
+     * looked up through this catalog
+     */
+    public Integer getLoadedCount(final Integer type) {
+        final ContentType contentType = ContentType.of(type);
+
+        return (contentType == null) ? 0 : loaded.get(contentType).size();
+    }
+
+    /**
+     * Looks up the already registered object of {@code contentType} named
+     * {@code name}
+     * 
+     * @return object upon success otherwise null
+     */
+    private Object getRegistered(final ContentType contentType, final String name) {
+        switch (contentType) {
+        case TRADEABLE:
+            for (final ITradeable tradeable : TradeableHandler.getInstance().getTradeables()) {
+                if (name.equals(tradeable.getName())) {
+                    return tradeable;
+                }
+            }
+            break;
+        case EVENT:
+            for (final MainEvent event : ActionObserver.getInstance().getMainEvents()) {
+                if (name.equals(event.getName())) {
+                    return event;
+                }
+            }
+            // Running events of passed levels
+            for (final Event event : ActionObserver.getInstance().getActiveEvents().keySet()) {
+                if (name.equals(event.getName())) {
+                    return event;
+                }
+            }
+            break;
+        default:
+            for (final IEnvironment environment : EnvironmentHandler.getInstance()
+                    .getEnvironments()) {
+                if (name.equals(environment.getName())) {
+                    return environment;
+                }
+            }
+            break;
+        }
+        return null;
+    }
+
+    public ITradeable getTradeable(final String name) {
+        return (ITradeable) get(Settings_Deserializer.TYPE_TRADEABLE, name);
+    }
+
+    /**
+     * Indexes the files of all {@code types} by the name of the serialized
+     * object<br>
+     * <br>
+     * Only the beginning of each file is read until the name of the object is
+     * found. If multiple files contain an object with the same name the first
+     * file (sorted by path) wins<br>
+     * <br>
+     * The index belongs to this catalog, so indexing doesn't change the
+     * catalogs of other contexts
+     * 
+     * @param types
+     *            The types of objects (See
+     *            {@link de.stock.settings.Settings_Deserializer
+     *            Settings_Deserializer})
+     * 
+     * @return number of indexed objects per type (-1 if the type or its
+     *         directory is unknown)
+     */
+    public Integer[] index(final Integer... types) {
+        final Integer[] indexed = new Integer[types.length];
+        final EnumMap<ContentType, HashMap<String, File>> newIndex = new EnumMap<ContentType, HashMap<String, File>>(
+                index);
+
+        for (int i = 0; i < types.length; i++) {
+            final ContentType contentType = ContentType.of(types[i]);
+            final ArrayList<File> files = (contentType == null) ? null : Deserializer
+                    .getFilesOnly(Deserializer.getFilesFromDir(contentType.getPath()));
+
+            if (files == null) {
+                indexed[i] = -1;
+                continue;
+            }
+
+            Collections.sort(files);
+
+            final HashMap<String, File> names = new HashMap<String, File>();
+            for (final File file : files) {
+                if (file.getName().endsWith(contentType.getExtension()) == false
+                        || file.length() == 0) {
+                    continue;
+                }
+
+                final String name = readName(file);
+                if (name == null) {
+                    Printer.print(Settings_Output.OUT_ERROR, "Catalog error", 0, "Catalog error",
+                            "No name found in " + contentType.getName() + " file "
+                                    + file.getName());
+                } else if (names.containsKey(name) == false) {
+                    names.put(name, file);
+                }
+            }
+
+            newIndex.put(contentType, names);
+            indexed[i] = names.size();
+        }
+
+        index = newIndex;
+        return indexed;
+    }
+
+    /**
+     * Returns whether an object of {@code type} named {@code name} is indexed
+     */
+    public boolean isIndexed(final Integer type, final String name) {
+        final ContentType contentType = ContentType.of(type);
+        final HashMap<String, File> names = (contentType == null) ? null : index
+                .get(contentType);
+
+        return names != null && names.containsKey(name);
+    }
+
+    private void printUnresolved(final String typeName, final String name) {
+        Printer.print(Settings_Output.OUT_ERROR, "Catalog error", 0, "Catalog error", "Unknown "
+                + typeName + " " + name);
+    }
+
+    /**
+     * Registers {@code object} at the appropriate handler of the current
+     * context
+     */
+    private void register(final Object object) {
+        if (object instanceof MainEvent) {
+            ((MainEvent) object).initializeIndex();
+        } else if (object instanceof IEnvironment) {
+            EnvironmentHandler.getInstance().register((IEnvironment) object);
+        } else if (object instanceof ITradeable) {
+            TradeableHandler.getInstance().addTradeable((ITradeable) object);
+        }
+    }
+
+    /**
+     * Remembers the deserialized object of {@code type} named
+     * {@code previousName} by {@code name}
+     */
+    void rename(final Integer type, final String previousName, final String name) {
+        final ContentType contentType = ContentType.of(type);
+        if (contentType == null) {
+            return;
+        }
+
+        final HashMap<String, Object> objects = loaded.get(contentType);
+        if (objects.containsKey(previousName)) {
+            objects.put(name, objects.remove(previousName));
+        }
+    }
+
+    /**
+     * Loads the tradeables and events {@code level} references by name and
+     * adds them to the level<br>
+     * <br>
+     * The references are removed afterwards, so a level gets resolved only
+     * once
+     * 
+     * @param level
+     *            the level to resolve
+     */
+    public void resolve(final ILevel level) {
+        if (level == null) {
+            return;
+        }
+
+        if (level.getTradeableReferences() != null) {
+            for (final String name : level.getTradeableReferences()) {
+                final ITradeable tradeable = getTradeable(name);
+                if (tradeable == null) {
+                    printUnresolved("tradeable", name);
+                } else {
+                    level.registerTradeable(tradeable);
+                }
+            }
+            level.getTradeableReferences().clear();
+        }
+
+        if (level.getEventReferences() != null) {
+            for (final String name : level.getEventReferences()) {
+                final Event event = getEvent(name);
+                if (event instanceof MainEvent) {
+                    level.registerEvent(event);
+                } else {
+                    printUnresolved("main event", name);
+                }
+            }
+            level.getEventReferences().clear();
+        }
+    }
+
+    /**
+     * Loads the tradeables and events {@code levelPack} references by name and
+     * adds them to the level pack<br>
+     * <br>
+     * The references are removed afterwards, so a level pack gets resolved
+     * only once. The levels of the level pack are resolved when they get
+     * registered
+     * 
+     * @param levelPack
+     *            the level pack to resolve
+     */
+    public void resolve(final ILevelPack levelPack) {
+        if (levelPack == null) {
+            return;
+        }
+
+        if (levelPack.getTradeableReferences() != null) {
+            for (final String name : levelPack.getTradeableReferences()) {
+                final ITradeable tradeable = getTradeable(name);
+                if (tradeable == null) {
+                    printUnresolved("tradeable", name);
+                } else {
+                    levelPack.addTradeable(tradeable);
+                }
+            }
+            levelPack.getTradeableReferences().clear();
+        }
+
+        if (levelPack.getEventReferences() != null) {
+            for (final String name : levelPack.getEventReferences()) {
+                final Event event = getEvent(name);
+                if (event instanceof MainEvent) {
+                    levelPack.addEvent(event);
+                } else {
+                    printUnresolved("main event", name);
+                }
+            }
+            levelPack.getEventReferences().clear();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package de.stock.deserializer;
+
+import java.io.File;
+import java.io.Reader;
+
+import de.stock.environment.IEnvironment;
+import de.stock.event.Event;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.tradeable.ITradeable;
+import flexjson.JSONDeserializer;
+
+/**
+ * Metadata of the content types the {@link de.stock.deserializer.Deserializer
+ * Deserializer} handles<br>
+ * <br>
+ * Every type knows its {@link de.stock.settings.Settings_Deserializer
+ * Settings_Deserializer} id, file extension, directory and target class.<br>
+ * Every parse gets a new flexjson parser. flexjson builds its binder per
+ * call anyway, so a reused parser wouldn't save anything and parallel loaders
+ * never share one
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+enum ContentType {
+
+    TRADEABLE(Settings_Deserializer.TYPE_TRADEABLE, ITradeable.class,
+            Settings_Deserializer.EXTENSION_TRADEABLES, "tradeable"),
+    EVENT(Settings_Deserializer.TYPE_EVENT, Event.class, Settings_Deserializer.EXTENSION_EVENTS,
+            "event"),
+    ENVIRONMENT(Settings_Deserializer.TYPE_ENVIRONMENT, IEnvironment.class,
+            Settings_Deserializer.EXTENSION_ENVIRONMENTS, "environment");
+
+    /**
+     * Returns the content type of {@code type}
+     * 
+     * @param type
+     *            id of the type (See
+     *            {@link de.stock.settings.Settings_Deserializer
+     *            Settings_Deserializer})
+     * 
+     * @return content type upon success otherwise null
+     */
+    static ContentType of(final Integer type) {
+        if (type == null) {
+            return null;
+        }
+
+        for (final ContentType contentType : values()) {
+            if (contentType.type.equals(type)) {
+                return contentType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the content type whose extension {@code file} has
+     * 
+     * @return content type upon success otherwise null
+     */
+    static ContentType of(final File file) {
+        for (final ContentType contentType : values()) {
+            if (file.getName().endsWith(contentType.extension)) {
+                return contentType;
+            }
+        }
+        return null;
+    }
+
+    private final Integer  type;
+    private final Class<?> targetClass;
+    private final String   extension;
+    private final String   name;
+
+    private ContentType(final Integer type, final Class<?> targetClass, final String extension,
+            final String name) {
+        this.type = type;
+        this.targetClass = targetClass;
+        this.extension = extension;
+        this.name = name;
+    }
+
+    String getExtension() {
+        return extension;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the directory of the type (See
+     * {@link de.stock.settings.Settings_Deserializer Settings_Deserializer})
+     */
+    String getPath() {
+        switch (this) {
+        case TRADEABLE:
+            return Settings_Deserializer.PATH_TRADEABLES;
+        case EVENT:
+            return Settings_Deserializer.PATH_EVENTS;
+        default:
+            return Settings_Deserializer.PATH_ENVIRONMENTS;
+        }
+    }
+
+    Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    Integer getType() {
+        return type;
+    }
+
+    /**
+     * Deep deserializes the json-formatted content of {@code reader}
+     * 
+     * @return an instance of the target class
+     * @throws ClassCastException
+     *             if the content isn't an instance of the target class
+     */
+    Object parse(final Reader reader) {
+        final Object object = new JSONDeserializer<Object>().deserialize(reader);
+
+        if (targetClass.isInstance(object) == false) {
+            throw new ClassCastException((object == null ? "null" : object.getClass().getName())
+                    + " is no " + name);
+        }
+        return object;
+    }
+}
@@ -0,0 +1,388 @@
+package de.stock.deserializer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import de.stock.environment.IEnvironment;
+import de.stock.event.Event;
+import de.stock.event.types.MainEvent;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.settings.Settings_Output;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.TradeableHandler;
+import de.stock.utils.Printer;
+
+/**
+ * Watches the resource directories and reloads changed tradeables, events
+ * and environments while the game is running<br>
+ * <br>
+ * A background thread waits for changes of the directories and re-parses only
+ * the changed files. The parsed objects are queued and applied by
+ * {@link #apply()} at the next round boundary on the thread of the game, so a
+ * round never sees half updated content.<br>
+ * <br>
+ * An updated object is matched by the name of the object its file contained
+ * before. The definition (name, description, bounds, environment groups, ...)
+ * is copied into the registered object, so the
+ * {@link de.stock.tradeable.TradeableHandler TradeableHandler},
+ * {@link de.stock.environment.EnvironmentHandler EnvironmentHandler},
+ * {@link de.stock.action.ActionObserver ActionObserver}, the levels and the
+ * player keep referencing the same object and its state (value, shares,
+ * index, linked environments, ...) stays untouched.<br>
+ * Files of objects which aren't registered yet get registered like
+ * {@link de.stock.deserializer.Deserializer Deserializer} does (or indexed if
+ * the content is loaded lazily, see {@link de.stock.deserializer.ContentCatalog
+ * ContentCatalog}). Deleted files are ignored.<br>
+ * <br>
+ * Usage:<br>
+ * &nbsp;&nbsp;watcher = new ContentWatcher();<br>
+ * &nbsp;&nbsp;watcher.start();<br>
+ * &nbsp;&nbsp;GameContext.getCurrent().setContentWatcher(watcher);<br>
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class ContentWatcher implements Runnable {
+
+    /**
+     * Re-parsed content of a file
+     */
+    private static class Change {
+
+        private final File   file;
+        private final Object object;
+
+        private Change(final File file, final Object object) {
+            this.file = file;
+            this.object = object;
+        }
+    }
+
+    /**
+     * Copies the definition of {@code source} into {@code target}
+     */
+    private static void copy(final Event source, final Event target) {
+        target.setName(source.getName());
+        target.setDescription(source.getDescription());
+        target.setPriority(source.getPriority());
+        target.setRoundsBottomBound(source.getRoundsBottomBound());
+        target.setRoundsTopBound(source.getRoundsTopBound());
+        target.setEnvironmentGroups(source.getEnvironmentGroups());
+        target.setInfluenceObjects(source.getInfluenceObjects());
+        target.setSuccessors(source.getSuccessors());
+
+        if (source instanceof MainEvent && target instanceof MainEvent) {
+            final MainEvent mainSource = (MainEvent) source;
+            final MainEvent mainTarget = (MainEvent) target;
+
+            mainTarget.setInfluenceBottomBound(mainSource.getInfluenceBottomBound());
+            mainTarget.setInfluenceTopBound(mainSource.getInfluenceTopBound());
+            mainTarget.setIndexInitBottomBound(mainSource.getIndexInitBottomBound());
+            mainTarget.setIndexInitTopBound(mainSource.getIndexInitTopBound());
+            mainTarget.setIndexMaximum(mainSource.getIndexMaximum());
+            mainTarget.setExecutionBound(mainSource.getExecutionBound());
+        }
+    }
+
+    /**
+     * Copies the definition of {@code source} into {@code target}<br>
+     * <br>
+     * Linked environments and registered tradeables are part of the state of
+     * the environment graph and are kept
+     */
+    private static void copy(final IEnvironment source, final IEnvironment target) {
+        target.setName(source.getName());
+        target.setDescription(source.getDescription());
+    }
+
+    /**
+     * Copies the definition of {@code source} into {@code target}
+     */
+    private static void copy(final ITradeable source, final ITradeable target) {
+        target.setName(source.getName());
+        target.setDescription(source.getDescription());
+        target.setInitBottomBound(source.getInitBottomBound());
+        target.setInitTopBound(source.getInitTopBound());
+        target.setInfluenceBottomBound(source.getInfluenceBottomBound());
+        target.setInfluenceTopBound(source.getInfluenceTopBound());
+        target.setMinShares(source.getMinShares());
+        target.setMaxShares(source.getMaxShares());
+
+        TradeableHandler.getInstance().getActiveTradeables().refresh(target);
+    }
+
+    /**
+     * Returns the name of the event, environment or tradeable {@code object}
+     */
+    private static String getName(final Object object) {
+        if (object instanceof Event) {
+            return ((Event) object).getName();
+        } else if (object instanceof IEnvironment) {
+            return ((IEnvironment) object).getName();
+        } else if (object instanceof ITradeable) {
+            return ((ITradeable) object).getName();
+        }
+        return null;
+    }
+
+    private final WatchService                      watchService;
+    /**
+     * Watched directories
+     */
+    private final ConcurrentHashMap<WatchKey, Path> directories;
+    /**
+     * Re-parsed files which aren't applied yet
+     */
+    private final ConcurrentLinkedQueue<Change>     changes;
+    /**
+     * Name of the object each file contained when it was applied the last
+     * time (only used by the thread of the game)
+     */
+    private final HashMap<File, String>             names;
+    private Thread                                  thread;
+
+    /**
+     * Creates a watcher of the directories of tradeables, events and
+     * environments (See {@link de.stock.settings.Settings_Deserializer
+     * Settings_Deserializer})
+     * 
+     * @throws IOException
+     *             if the directories can't be watched
+     */
+    public ContentWatcher() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        directories = new ConcurrentHashMap<WatchKey, Path>();
+        changes = new ConcurrentLinkedQueue<Change>();
+        names = new HashMap<File, String>();
+
+        for (final ContentType contentType : ContentType.values()) {
+            final File directory = new File(contentType.getPath());
+            if (directory.isDirectory()) {
+                watch(directory);
+            }
+
+            // Remember the names of the current files
+            final ArrayList<File> files = Deserializer.getFilesOnly(Deserializer
+                    .getFilesFromDir(directory));
+            if (files == null) {
+                continue;
+            }
+            for (final File file : files) {
+                if (ContentType.of(file) == contentType) {
+                    final String name = ContentCatalog.readName(file);
+                    if (name != null) {
+                        names.put(file.getAbsoluteFile(), name);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies all re-parsed files to the handlers of the current
+     * {@link de.stock.game.GameContext GameContext}<br>
+     * <br>
+     * Call it at the round boundary. If a file changed several times only its
+     * latest content is applied
+     * 
+     * @return number of applied files
+     */
+    public Integer apply() {
+        final LinkedHashMap<File, Object> latest = new LinkedHashMap<File, Object>();
+
+        Change change;
+        while ((change = changes.poll()) != null) {
+            latest.remove(change.file);
+            latest.put(change.file, change.object);
+        }
+
+        Integer applied = 0;
+        final EnumSet<ContentType> added = EnumSet.noneOf(ContentType.class);
+
+        for (final Entry<File, Object> entry : latest.entrySet()) {
+            final Object object = entry.getValue();
+            final ContentType contentType = ContentType.of(entry.getKey());
+            final String name = getName(object);
+
+            if (contentType == null || name == null) {
+                continue;
+            }
+
+            final String previousName = names.containsKey(entry.getKey()) ? names.get(entry
+                    .getKey()) : name;
+            names.put(entry.getKey(), name);
+
+            final ContentCatalog catalog = ContentCatalog.getInstance();
+            final Object target = catalog.find(contentType.getType(), previousName);
+
+            if (target == null) {
+                // Not in play yet
+                if (Settings_Deserializer.LAZY_LOADING) {
+                    added.add(contentType);
+                } else {
+                    Deserializer.register(object);
+                }
+            } else if (target instanceof Event && object instanceof Event) {
+                copy((Event) object, (Event) target);
+            } else if (target instanceof IEnvironment && object instanceof IEnvironment) {
+                copy((IEnvironment) object, (IEnvironment) target);
+            } else if (target instanceof ITradeable && object instanceof ITradeable) {
+                copy((ITradeable) object, (ITradeable) target);
+            } else {
+                continue;
+            }
+
+            if (name.equals(previousName) == false) {
+                catalog.rename(contentType.getType(), previousName, name);
+                added.add(contentType);
+            }
+            applied++;
+        }
+
+        // New and renamed files of lazily loaded content
+        if (Settings_Deserializer.LAZY_LOADING) {
+            for (final ContentType contentType : added) {
+                ContentCatalog.getInstance().index(contentType.getType());
+            }
+        }
+
+        return applied;
+    }
+
+    /**
+     * Returns whether the watcher thread is running
+     */
+    public boolean isRunning() {
+        return thread != null && thread.isAlive();
+    }
+
+    /**
+     * Re-parses {@code file} and queues its content for {@link #apply()}
+     * 
+     * @return {@code true} if the file was parsed
+     */
+    boolean reload(final File file) {
+        final ContentType contentType = ContentType.of(file);
+        if (contentType == null || file.isFile() == false || file.length() == 0) {
+            return false;
+        }
+
+        final Object object = Deserializer.deserialize(contentType.getType(), file);
+        if (object == null) {
+            return false;
+        }
+
+        changes.add(new Change(file.getAbsoluteFile(), object));
+        return true;
+    }
+
+    /**
+     * Waits for changes of the watched directories until the watcher gets
+     * stopped
+     */
+    @Override
+    public void run() {
+        try {
+            for (;;) {
+                final WatchKey key = watchService.take();
+                final Path directory = directories.get(key);
+
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (directory == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        continue;
+                    }
+
+                    final File file = directory.resolve((Path) event.context()).toFile();
+                    if (file.isDirectory()) {
+                        // Watch new sub directories, too
+                        watch(file);
+                    } else {
+                        reload(file);
+                    }
+                }
+
+                if (key.reset() == false) {
+                    directories.remove(key);
+                }
+            }
+        }
+        catch (final InterruptedException e) {
+            // Stopped
+        }
+        catch (final ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Starts watching in a background thread
+     */
+    public void start() {
+        if (isRunning()) {
+            return;
+        }
+
+        thread = new Thread(this, "ContentWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching<br>
+     * <br>
+     * Already re-parsed files can still be applied
+     */
+    public void stop() {
+        try {
+            watchService.close();
+        }
+        catch (final IOException e) {
+            // Nothing left to do
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Watches {@code directory} and its sub directories
+     */
+    private void watch(final File directory) {
+        try {
+            final Path path = directory.toPath();
+            directories.put(path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY), path);
+        }
+        catch (final IOException e) {
+            Printer.print(Settings_Output.OUT_ERROR, "Watch error", 0, "Watch error",
+                    "Unable to watch directory " + directory.getPath());
+            return;
+        }
+        catch (final ClosedWatchServiceException e) {
+            return;
+        }
+
+        final File[] files = Deserializer.getFilesFromDir(directory);
+        if (files == null) {
+            return;
+        }
+        for (final File file : files) {
+            if (file.isDirectory()) {
+                watch(file);
+            }
+        }
+    }
+}
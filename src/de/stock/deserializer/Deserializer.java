@@ -1,312 +1,497 @@
-package de.stock.deserializer;
-
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.ArrayList;
-
-import de.stock.action.ActionObserver;
-import de.stock.environment.EnvironmentHandler;
-import de.stock.environment.IEnvironment;
-import de.stock.event.Event;
-import de.stock.settings.Settings_Deserializer;
-import de.stock.settings.Settings_Output;
-import de.stock.tradeable.ITradeable;
-import de.stock.tradeable.TradeableHandler;
-import de.stock.utils.Printer;
-import flexjson.JSONDeserializer;
-import flexjson.JSONSerializer;
-
-/**
- * The parser loads nearly all the content of the game.<br>
- * <br>
- * All environments, events, tradeables, ... are serialized in json-formatted
- * strings <br>
- * and saved in files, so content can be injected very fast and clean.<br>
- * You can find the file extensions in
- * {@link de.stock.settings.Settings_Deserializer
- * Settings_Deserializer}<br>
- * <br>
- * The game uses the <a href="http://flexjson.sourceforge.net">Flexjson</a>
- * library as this library is easy to use and provides deep serialization.<br>
- * <br> {@link de.stock.level.LevelPack LevelPacks} are loaded through
- * {@link de.stock.level.LevelPackLoader LevelPackLoader}
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public final class Deserializer {
-
-    private static JSONSerializer jsonserializer;
-
-    /**
-     * Deserializes all files regarding to {@code type}<br>
-     * <br>
-     * - Tradeables are saved in
-     * {@link de.stock.tradeable.TradeableHandler#getTradeables()
-     * TradeableHandler}<br>
-     * - Events are saved in
-     * {@link de.stock.action.ActionObserver#getMainEvents() ActionObserver}<br>
-     * - Environments are saved in
-     * {@link de.stock.environment.EnvironmentHandler#getEnvironments()
-     * EnvironmentHandler}<br>
-     * 
-     * @param type
-     *            The type of object (See
-     *            {@link de.stock.settings.Settings_Deserializer
-     *            Settings_Deserializer}).
-     *            Files of this type get deserialized
-     * 
-     * @return number of deserialized elements
-     */
-    public static Integer deserialize(final Integer type) {
-        ArrayList<File> files = null;
-        Integer ret = 0;
-
-        if (type == null) {
-            return 0;
-        } else if (type == Settings_Deserializer.TYPE_TRADEABLE) {
-            files = getFilesOnly(getFilesFromDir(Settings_Deserializer.PATH_TRADEABLES));
-        } else if (type == Settings_Deserializer.TYPE_EVENT) {
-            files = getFilesOnly(getFilesFromDir(Settings_Deserializer.PATH_EVENTS));
-        } else if (type == Settings_Deserializer.TYPE_ENVIRONMENT) {
-            files = getFilesOnly(getFilesFromDir(Settings_Deserializer.PATH_ENVIRONMENTS));
-        }
-
-        ret = deserializeFiles(type, files);
-        return ret;
-    }
-
-    /**
-     * Creates object(s) from passed String
-     * 
-     * String gets deep deserialized which means that objects of arrays in the
-     * object are created, too
-     * 
-     * @param string
-     *            The string to deserialize
-     * @param type
-     *            The type of object (See
-     *            {@link de.stock.settings.Settings_Deserializer
-     *            Settings_Deserializer})
-     * @return An instance of the class regarding to type from string on success
-     *         else null
-     */
-    public static Object deserialize(final Integer type, final String string) {
-        if (type == Settings_Deserializer.TYPE_TRADEABLE) {
-            final JSONDeserializer<ITradeable> jsondeserializer = new JSONDeserializer<ITradeable>();
-            ITradeable tradeable = null;
-            try {
-                tradeable = jsondeserializer.deserialize(string);
-                return tradeable;
-            }
-            catch (final Exception e) {
-                Printer.print(Settings_Output.OUT_ERROR, "Deserializer error", 0,
-                        "Deserializer error",
-                        "Unable to deserialize tradeable string starting with the following text:\n"
-                                + string.substring(0, 100) + "[...]");
-                return null;
-            }
-        } else if (type == Settings_Deserializer.TYPE_EVENT) {
-            final JSONDeserializer<Event> jsondeserializer = new JSONDeserializer<Event>();
-            Event event = null;
-            try {
-                event = jsondeserializer.deserialize(string);
-                return event;
-            }
-            catch (final Exception e) {
-                Printer.print(Settings_Output.OUT_ERROR, "Deserializer error", 0,
-                        "Deserializer error",
-                        "Unable to deserialize event string starting with the following text:\n"
-                                + string.substring(0, 100) + "[...]");
-                return null;
-            }
-        } else if (type == Settings_Deserializer.TYPE_ENVIRONMENT) {
-            final JSONDeserializer<IEnvironment> jsondeserializer = new JSONDeserializer<IEnvironment>();
-            IEnvironment environment = null;
-            try {
-                environment = jsondeserializer.deserialize(string);
-                return environment;
-            }
-            catch (final Exception e) {
-                Printer.print(Settings_Output.OUT_ERROR, "Deserializer error", 0,
-                        "Deserializer error",
-                        "Unable to deserialize environment string starting with the following text:\n"
-                                + string.substring(0, 100) + "[...]");
-                return null;
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * Deserialize all {@code files} from {@code type}
-     * 
-     * @param type
-     *            The type of objects
-     * @param files
-     *            The files to deserialize
-     * @return
-     *         Non-negative number of deserialized objects upon success
-     *         otherwise -1
-     */
-    private static Integer deserializeFiles(final Integer type, final ArrayList<File> files) {
-        if (type == null || files == null) {
-            return -1;
-        }
-
-        Integer deserializedObjects = 0;
-        String fileContent;
-        final String extension = (type == Settings_Deserializer.TYPE_EVENT) ? Settings_Deserializer.EXTENSION_EVENTS
-                : (type == Settings_Deserializer.TYPE_ENVIRONMENT) ? Settings_Deserializer.EXTENSION_ENVIRONMENTS
-                        : (type == Settings_Deserializer.TYPE_TRADEABLE) ? Settings_Deserializer.EXTENSION_TRADEABLES
-                                : null;
-        if (extension == null) {
-            return -1;
-        }
-
-        for (final File file : files) {
-            if (file.getName().endsWith(extension)) {
-                // Read file content
-                fileContent = readFile(file);
-                if (fileContent != null && fileContent.isEmpty() == false) {
-                    // Deserialize file content
-                    final Object object = deserialize(type, fileContent);
-                    if (object == null) {
-                        continue;
-                    }
-
-                    // Register object at appropriate handler
-                    if (object instanceof Event) {
-                        ActionObserver.getInstance().registerEvent((Event) object);
-                    } else if (object instanceof IEnvironment) {
-                        EnvironmentHandler.getInstance().register((IEnvironment) object);
-                    } else if (object instanceof ITradeable) {
-                        TradeableHandler.getInstance().addTradeable((ITradeable) object);
-                    } else {
-                        continue;
-                    }
-
-                    deserializedObjects++;
-                }
-            }
-        }
-        return deserializedObjects;
-    }
-
-    /**
-     * See {@link de.stock.deserializer.Deserializer#getFilesFromDir(String)}
-     * 
-     * @param dir
-     *            the directory
-     * 
-     * @return Files and folders from dir on success otherwise null
-     */
-    public static File[] getFilesFromDir(final File dir) {
-        return getFilesFromDir(dir.getPath());
-    }
-
-    /**
-     * Opens passed directory and returns array of File objects containing files
-     * an folders in directory
-     * 
-     * @param dir
-     *            Directory to read from
-     * @return Files and folders from dir on success otherwise null
-     */
-    public static File[] getFilesFromDir(final String dir) {
-
-        if (dir == null) {
-            return null;
-        }
-
-        final File file = new File(dir);
-        if (file.isDirectory() == false) {
-            return null;
-        }
-
-        final File files[] = file.listFiles();
-        return files;
-    }
-
-    /**
-     * Gets all files from passed File array, even those in folders and returns
-     * array of File objects
-     * 
-     * @return Array of all files on success otherwise null
-     */
-    public static ArrayList<File> getFilesOnly(final File[] files) {
-        if (files == null) {
-            return null;
-        }
-
-        final ArrayList<File> fileArray = new ArrayList<File>();
-
-        for (final File file : files) {
-            if (file.isDirectory()) {
-                // Add files in directories recursively
-                fileArray.addAll(getFilesOnly(getFilesFromDir(file.getAbsolutePath())));
-            } else {
-                // Add file
-                fileArray.add(file);
-            }
-        }
-
-        return fileArray;
-    }
-
-    /**
-     * Reads in passed file and returns String object
-     * 
-     * @param file
-     *            File to read from
-     * 
-     * @return A String containing the content of the file
-     */
-    public static String readFile(final File file) {
-        try {
-            final BufferedReader in = new BufferedReader(new FileReader(file));
-            String str;
-            String content = new String();
-            while ((str = in.readLine()) != null) {
-                content = content.concat(str);
-            }
-            in.close();
-            return content;
-        }
-        catch (final IOException e) {
-            Printer.print(Settings_Output.OUT_ERROR, 0, "Read error", "Error while reading file "
-                    + file.getName());
-            return null;
-        }
-
-    }
-
-    /**
-     * Wrapper for {@link de.stock.deserializer.Deserializer#readFile(File)}
-     * 
-     * @param path
-     *            Path to the file
-     * 
-     * @return A String containing the content of the file
-     */
-    public static String readFile(final String path) {
-        return readFile(new File(path));
-    }
-
-    /**
-     * (Deep) Serializes {@code object} and returns JSON-formatted string
-     * 
-     * @param object
-     *            The object to serialize
-     * @return
-     *         a JSON-formatted string
-     */
-    public static String serialize(final Object object) {
-        if (jsonserializer == null) {
-            jsonserializer = new JSONSerializer();
-        }
-        return jsonserializer.prettyPrint(true).deepSerialize(object);
-    }
-}
+package de.stock.deserializer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import de.stock.action.ActionObserver;
+import de.stock.environment.EnvironmentHandler;
+import de.stock.environment.IEnvironment;
+import de.stock.event.Event;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.settings.Settings_Output;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.TradeableHandler;
+import de.stock.utils.Printer;
+import flexjson.JSONSerializer;
+
+/**
+ * The parser loads nearly all the content of the game.<br>
+ * <br>
+ * All environments, events, tradeables, ... are serialized in json-formatted
+ * strings <br>
+ * and saved in files, so content can be injected very fast and clean.<br>
+ * You can find the file extensions in
+ * {@link de.stock.settings.Settings_Deserializer
+ * Settings_Deserializer}<br>
+ * <br>
+ * The game uses the <a href="http://flexjson.sourceforge.net">Flexjson</a>
+ * library as this library is easy to use and provides deep serialization.<br>
+ * <br> {@link de.stock.level.LevelPack LevelPacks} are loaded through
+ * {@link de.stock.level.LevelPackLoader LevelPackLoader}
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class Deserializer {
+
+    private static final Charset  CHARSET = Charset.forName(Settings_Deserializer.CHARSET);
+
+    /**
+     * Serializer of each thread
+     */
+    private static final ThreadLocal<JSONSerializer> jsonserializer = new ThreadLocal<JSONSerializer>() {
+
+        @Override
+        protected JSONSerializer initialValue() {
+            return new JSONSerializer().prettyPrint(true);
+        }
+    };
+
+    private static void close(final Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        }
+        catch (final IOException e) {
+            // Nothing left to do
+        }
+    }
+
+    /**
+     * Deserializes all files regarding to {@code type}<br>
+     * <br>
+     * - Tradeables are saved in
+     * {@link de.stock.tradeable.TradeableHandler#getTradeables()
+     * TradeableHandler}<br>
+     * - Events are saved in
+     * {@link de.stock.action.ActionObserver#getMainEvents() ActionObserver}<br>
+     * - Environments are saved in
+     * {@link de.stock.environment.EnvironmentHandler#getEnvironments()
+     * EnvironmentHandler}<br>
+     * 
+     * @param type
+     *            The type of object (See
+     *            {@link de.stock.settings.Settings_Deserializer
+     *            Settings_Deserializer}).
+     *            Files of this type get deserialized
+     * 
+     * @return number of deserialized elements
+     */
+    public static Integer deserialize(final Integer type) {
+        if (type == null) {
+            return 0;
+        }
+
+        return deserializeFiles(type, getFiles(type));
+    }
+
+    /**
+     * Creates object(s) from the content of {@code file}<br>
+     * <br>
+     * The file is streamed into the parser without reading it into a string
+     * first
+     * 
+     * @param type
+     *            The type of object (See
+     *            {@link de.stock.settings.Settings_Deserializer
+     *            Settings_Deserializer})
+     * @param file
+     *            The file to deserialize
+     * @return An instance of the class regarding to type from file on success
+     *         else null
+     */
+    public static Object deserialize(final Integer type, final File file) {
+        Reader reader = null;
+        try {
+            reader = openReader(file);
+            return deserialize(type, reader);
+        }
+        catch (final Exception e) {
+            Printer.print(Settings_Output.OUT_ERROR, "Deserializer error", 0,
+                    "Deserializer error", "Unable to deserialize " + getTypeName(type) + " file "
+                            + file.getName());
+            return null;
+        }
+        finally {
+            close(reader);
+        }
+    }
+
+    /**
+     * Creates object(s) from passed String
+     * 
+     * String gets deep deserialized which means that objects of arrays in the
+     * object are created, too
+     * 
+     * @param string
+     *            The string to deserialize
+     * @param type
+     *            The type of object (See
+     *            {@link de.stock.settings.Settings_Deserializer
+     *            Settings_Deserializer})
+     * @return An instance of the class regarding to type from string on success
+     *         else null
+     */
+    public static Object deserialize(final Integer type, final String string) {
+        try {
+            return deserialize(type, new StringReader(string));
+        }
+        catch (final Exception e) {
+            Printer.print(Settings_Output.OUT_ERROR, "Deserializer error", 0,
+                    "Deserializer error", "Unable to deserialize " + getTypeName(type)
+                            + " string starting with the following text:\n"
+                            + string.substring(0, Math.min(100, string.length())) + "[...]");
+            return null;
+        }
+    }
+
+    /**
+     * Deep deserializes the json-formatted content of {@code reader} (See
+     * {@link de.stock.deserializer.ContentType ContentType})
+     * 
+     * @return An instance of the class regarding to type or null if type is
+     *         unknown
+     * @throws ClassCastException
+     *             if the content doesn't match {@code type}
+     */
+    private static Object deserialize(final Integer type, final Reader reader) {
+        final ContentType contentType = ContentType.of(type);
+
+        return (contentType == null) ? null : contentType.parse(reader);
+    }
+
+    /**
+     * Deserialize all {@code files} from {@code type}
+     * 
+     * @param type
+     *            The type of objects
+     * @param files
+     *            The files to deserialize
+     * @return
+     *         Non-negative number of deserialized objects upon success
+     *         otherwise -1
+     */
+    private static Integer deserializeFiles(final Integer type, final ArrayList<File> files) {
+        if (type == null || files == null) {
+            return -1;
+        }
+
+        Integer deserializedObjects = 0;
+        final String extension = getExtension(type);
+        if (extension == null) {
+            return -1;
+        }
+
+        for (final File file : files) {
+            if (file.getName().endsWith(extension)) {
+                // Skip empty files
+                if (file.length() > 0) {
+                    // Deserialize file content and register object at
+                    // appropriate handler
+                    if (register(deserialize(type, file))) {
+                        deserializedObjects++;
+                    }
+                }
+            }
+        }
+        return deserializedObjects;
+    }
+
+    /**
+     * Deserializes all files of all {@code types} in parallel<br>
+     * <br>
+     * The files of all types are parsed concurrently on a pool of
+     * {@link de.stock.settings.Settings_Deserializer#PARALLELISM} threads.
+     * Parsed objects are registered afterwards by the calling thread (in the
+     * order of {@code types} and sorted by path per type), so the handlers of
+     * the current {@link de.stock.game.GameContext GameContext} are filled the
+     * same way every time<br>
+     * <br>
+     * See {@link #deserialize(Integer)}
+     * 
+     * @param types
+     *            The types of objects (See
+     *            {@link de.stock.settings.Settings_Deserializer
+     *            Settings_Deserializer})
+     * 
+     * @return number of deserialized elements per type (-1 if the type or its
+     *         directory is unknown)
+     */
+    public static Integer[] deserializeParallel(final Integer... types) {
+        final Integer[] deserializedObjects = new Integer[types.length];
+        final ArrayList<ArrayList<Future<Object>>> results = new ArrayList<ArrayList<Future<Object>>>();
+        final ForkJoinPool pool = new ForkJoinPool(Settings_Deserializer.PARALLELISM);
+
+        try {
+            // Parse
+            for (int i = 0; i < types.length; i++) {
+                final Integer type = types[i];
+                final ArrayList<File> files = (type == null) ? null : getFiles(type);
+                final String extension = (type == null) ? null : getExtension(type);
+
+                if (files == null || extension == null) {
+                    results.add(null);
+                    continue;
+                }
+
+                Collections.sort(files);
+
+                final ArrayList<Future<Object>> parsed = new ArrayList<Future<Object>>();
+                for (final File file : files) {
+                    if (file.getName().endsWith(extension) && file.length() > 0) {
+                        parsed.add(pool.submit(new Callable<Object>() {
+
+                            @Override
+                            public Object call() {
+                                return deserialize(type, file);
+                            }
+                        }));
+                    }
+                }
+                results.add(parsed);
+            }
+
+            // Register
+            for (int i = 0; i < types.length; i++) {
+                final ArrayList<Future<Object>> parsed = results.get(i);
+
+                if (parsed == null) {
+                    deserializedObjects[i] = -1;
+                    continue;
+                }
+
+                deserializedObjects[i] = 0;
+                for (final Future<Object> future : parsed) {
+                    if (register(future.get())) {
+                        deserializedObjects[i]++;
+                    }
+                }
+            }
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (final ExecutionException e) {
+            Printer.print(Settings_Output.OUT_ERROR, "Deserializer error", 0,
+                    "Deserializer error", "Unable to deserialize files: " + e.getCause());
+        }
+        finally {
+            pool.shutdownNow();
+        }
+
+        for (int i = 0; i < types.length; i++) {
+            if (deserializedObjects[i] == null) {
+                deserializedObjects[i] = -1;
+            }
+        }
+
+        return deserializedObjects;
+    }
+
+    /**
+     * Returns the file extension of {@code type}
+     * 
+     * @return extension upon success otherwise null
+     */
+    private static String getExtension(final Integer type) {
+        final ContentType contentType = ContentType.of(type);
+
+        return (contentType == null) ? null : contentType.getExtension();
+    }
+
+    /**
+     * Returns all files in the directory of {@code type} (See
+     * {@link de.stock.settings.Settings_Deserializer Settings_Deserializer})
+     * 
+     * @return files upon success otherwise null
+     */
+    private static ArrayList<File> getFiles(final Integer type) {
+        final ContentType contentType = ContentType.of(type);
+
+        return (contentType == null) ? null : getFilesOnly(getFilesFromDir(contentType
+                .getPath()));
+    }
+
+    /**
+     * See {@link de.stock.deserializer.Deserializer#getFilesFromDir(String)}
+     * 
+     * @param dir
+     *            the directory
+     * 
+     * @return Files and folders from dir on success otherwise null
+     */
+    public static File[] getFilesFromDir(final File dir) {
+        return getFilesFromDir(dir.getPath());
+    }
+
+    /**
+     * Opens passed directory and returns array of File objects containing files
+     * an folders in directory
+     * 
+     * @param dir
+     *            Directory to read from
+     * @return Files and folders from dir on success otherwise null
+     */
+    public static File[] getFilesFromDir(final String dir) {
+
+        if (dir == null) {
+            return null;
+        }
+
+        final File file = new File(dir);
+        if (file.isDirectory() == false) {
+            return null;
+        }
+
+        final File files[] = file.listFiles();
+        return files;
+    }
+
+    /**
+     * Gets all files from passed File array, even those in folders and returns
+     * array of File objects
+     * 
+     * @return Array of all files on success otherwise null
+     */
+    public static ArrayList<File> getFilesOnly(final File[] files) {
+        if (files == null) {
+            return null;
+        }
+
+        final ArrayList<File> fileArray = new ArrayList<File>();
+
+        for (final File file : files) {
+            if (file.isDirectory()) {
+                // Add files in directories recursively
+                fileArray.addAll(getFilesOnly(getFilesFromDir(file.getAbsolutePath())));
+            } else {
+                // Add file
+                fileArray.add(file);
+            }
+        }
+
+        return fileArray;
+    }
+
+    /**
+     * Returns the name of {@code type} used in messages
+     */
+    private static String getTypeName(final Integer type) {
+        final ContentType contentType = ContentType.of(type);
+
+        return (contentType == null) ? "unknown" : contentType.getName();
+    }
+
+    /**
+     * Opens a buffered reader which streams the content of {@code file}
+     * 
+     * @param file
+     *            File to read from
+     * 
+     * @return A reader of the file content
+     * @throws IOException
+     *             if the file can't be opened
+     */
+    public static Reader openReader(final File file) throws IOException {
+        final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        return new BufferedReader(Channels.newReader(channel, CHARSET.newDecoder(),
+                Settings_Deserializer.READ_BUFFER_SIZE),
+                Settings_Deserializer.READ_BUFFER_SIZE);
+    }
+
+    /**
+     * Reads in passed file and returns String object<br>
+     * <br>
+     * Files larger than
+     * {@link de.stock.settings.Settings_Deserializer#MAPPED_READ_THRESHOLD}
+     * bytes are memory mapped, smaller ones are read at once. Line breaks are
+     * kept
+     * 
+     * @param file
+     *            File to read from
+     * 
+     * @return A String containing the content of the file
+     */
+    public static String readFile(final File file) {
+        FileChannel channel = null;
+        try {
+            if (file.length() <= Settings_Deserializer.MAPPED_READ_THRESHOLD) {
+                return new String(Files.readAllBytes(file.toPath()), CHARSET);
+            }
+
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+            return CHARSET.decode(buffer).toString();
+        }
+        catch (final IOException e) {
+            Printer.print(Settings_Output.OUT_ERROR, 0, "Read error", "Error while reading file "
+                    + file.getName());
+            return null;
+        }
+        finally {
+            close(channel);
+        }
+    }
+
+    /**
+     * Wrapper for {@link de.stock.deserializer.Deserializer#readFile(File)}
+     * 
+     * @param path
+     *            Path to the file
+     * 
+     * @return A String containing the content of the file
+     */
+    public static String readFile(final String path) {
+        return readFile(new File(path));
+    }
+
+    /**
+     * Registers {@code object} at the appropriate handler of the current
+     * {@link de.stock.game.GameContext GameContext}
+     * 
+     * @return {@code true} if {@code object} is an event, environment or
+     *         tradeable
+     */
+    static boolean register(final Object object) {
+        if (object instanceof Event) {
+            ActionObserver.getInstance().registerEvent((Event) object);
+        } else if (object instanceof IEnvironment) {
+            EnvironmentHandler.getInstance().register((IEnvironment) object);
+        } else if (object instanceof ITradeable) {
+            TradeableHandler.getInstance().addTradeable((ITradeable) object);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * (Deep) Serializes {@code object} and returns JSON-formatted string
+     * 
+     * @param object
+     *            The object to serialize
+     * @return
+     *         a JSON-formatted string
+     */
+    public static String serialize(final Object object) {
+        return jsonserializer.get().deepSerialize(object);
+    }
+}
@@ -1,144 +1,233 @@
-package de.stock.environment;
-
-import java.util.HashSet;
-
-import de.stock.environment.types.Area;
-import de.stock.environment.types.Group;
-import de.stock.environment.types.Location;
-import de.stock.tradeable.ITradeable;
-
-/**
- * See {@link de.stock.environment.IEnvironment IEnvironment} for further
- * information
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public class Environment implements IEnvironment {
-
-    private String                      name;
-    private String                      description;
-
-    /**
-     * Current environment influences IEnvironment
-     */
-    private final HashSet<IEnvironment> linkedEnvironments;
-    /**
-     * Current environment influences ITradeable
-     */
-    private final HashSet<ITradeable>   tradeables;
-
-    protected Environment() {
-        name = new String("");
-        description = new String("");
-        linkedEnvironments = new HashSet<IEnvironment>();
-        tradeables = new HashSet<ITradeable>();
-    }
-
-    @Override
-    public String getDescription() {
-
-        return description;
-    }
-
-    /**
-     * Returns all directly available and linked by other enviroments influenced
-     * tradeables
-     * 
-     * @return Returns all influenced tradeables of current environment
-     */
-    @Override
-    public HashSet<ITradeable> getInfluencedTradeables() {
-
-        final HashSet<ITradeable> affectedTradeables = new HashSet<ITradeable>();
-
-        // Add direct available tradeables to map
-        affectedTradeables.addAll(tradeables);
-        // Add all affected tradeables of all linked environments recursively
-        for (final IEnvironment environment : linkedEnvironments) {
-            affectedTradeables.addAll(environment.getInfluencedTradeables());
-        }
-
-        return affectedTradeables;
-    }
-
-    @Override
-    public HashSet<IEnvironment> getLinkedEnvironments() {
-
-        return linkedEnvironments;
-    }
-
-    @Override
-    public String getName() {
-
-        return name;
-    }
-
-    @Override
-    public HashSet<ITradeable> getTradeables() {
-        return tradeables;
-    }
-
-    /**
-     * Links environment with percentage Influence<br>
-     * <br>
-     * Environment can link to environment of same type (class) or one layer
-     * above<br>
-     * <br>
-     * Order from lower to upper:<br>
-     * Group ---> Area ---> Location<br>
-     * 
-     * @param environment
-     *            Environment that gets linked
-     * @return true if it was allowed to link
-     */
-    @Override
-    public boolean linkEnvironment(final IEnvironment environment) {
-
-        if (environment == this) {
-            return false;
-        }
-
-        boolean allowed = false;
-
-        // Check if its allowed to link environment
-        if (this instanceof Location && (environment instanceof Location)) {
-            allowed = true;
-        } else if (this instanceof Area
-                && (environment instanceof Location || environment instanceof Area)) {
-            allowed = true;
-        } else if (this instanceof Group
-                && (environment instanceof Area || environment instanceof Group)) {
-            allowed = true;
-        }
-
-        if (allowed) {
-            linkedEnvironments.add(environment);
-            return true;
-        } else {
-            return false;
-        }
-    }
-
-    /**
-     * Register tradeable which is part of the environment
-     * 
-     * @param tradeable
-     *            Tradeable that gets linked
-     */
-    @Override
-    public void registerTradeable(final ITradeable tradeable) {
-        tradeable.registerAtEnvironment(this);
-    }
-
-    @Override
-    public void setDescription(final String description) {
-
-        this.description = description;
-    }
-
-    @Override
-    public void setName(final String name) {
-
-        this.name = name;
-    }
-}
+package de.stock.environment;
+
+import java.util.BitSet;
+import java.util.HashSet;
+
+import de.stock.environment.types.Area;
+import de.stock.environment.types.Group;
+import de.stock.environment.types.Location;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.PriceTable;
+
+/**
+ * See {@link de.stock.environment.IEnvironment IEnvironment} for further
+ * information
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class Environment implements IEnvironment {
+
+    private String                      name;
+    private String                      description;
+
+    /**
+     * Current environment influences IEnvironment
+     */
+    private final HashSet<IEnvironment> linkedEnvironments;
+    /**
+     * Current environment influences ITradeable
+     */
+    private final HashSet<ITradeable>   tradeables;
+
+    /**
+     * Cache of {@link #getInfluencedTradeables()}
+     */
+    private HashSet<ITradeable>         influencedTradeables;
+    /**
+     * Graph version {@link #influencedTradeables} was built with
+     */
+    private int                         influencedVersion;
+    /**
+     * Cache of {@link #getInfluencedSlots(PriceTable)}
+     */
+    private BitSet                      influencedSlots;
+    /**
+     * Price table {@link #influencedSlots} was built for
+     */
+    private PriceTable                  influencedSlotsTable;
+    /**
+     * Graph version {@link #influencedSlots} was built with
+     */
+    private int                         influencedSlotsVersion;
+    /**
+     * Slot version of {@link #influencedSlotsTable} {@link #influencedSlots}
+     * was built with
+     */
+    private int                         influencedSlotsTableVersion;
+
+    protected Environment() {
+        name = new String("");
+        description = new String("");
+        linkedEnvironments = new HashSet<IEnvironment>();
+        tradeables = new HashSet<ITradeable>();
+        influencedTradeables = null;
+        influencedSlots = null;
+        influencedSlotsTable = null;
+    }
+
+    @Override
+    public String getDescription() {
+
+        return description;
+    }
+
+    /**
+     * Returns the slots of all influenced tradeables (See
+     * {@link #getInfluencedTradeables()}) in {@code table}<br>
+     * <br>
+     * Influenced tradeables without a slot get one, but don't get active.<br>
+     * The bitset is cached until the {@link de.stock.environment.EnvironmentGraph
+     * environment graph} changes, the table releases slots (See
+     * {@link de.stock.tradeable.PriceTable#getSlotVersion()}) or another table
+     * is passed and <b>must not be modified</b>
+     * 
+     * @param table
+     *            the table to get the slots from
+     * @return slots of all influenced tradeables
+     */
+    @Override
+    public BitSet getInfluencedSlots(final PriceTable table) {
+        final int version = EnvironmentGraph.getVersion();
+
+        if (influencedSlots == null || influencedSlotsTable != table
+                || influencedSlotsVersion != version
+                || influencedSlotsTableVersion != table.getSlotVersion()) {
+            final BitSet slots = new BitSet(table.getSlotCount());
+            for (final ITradeable tradeable : influencedTradeables()) {
+                slots.set(table.register(tradeable));
+            }
+
+            influencedSlots = slots;
+            influencedSlotsTable = table;
+            influencedSlotsVersion = version;
+            influencedSlotsTableVersion = table.getSlotVersion();
+        }
+
+        return influencedSlots;
+    }
+
+    /**
+     * Returns all directly available and linked by other enviroments influenced
+     * tradeables
+     * 
+     * @return Returns a copy of all influenced tradeables of current
+     *         environment
+     */
+    @Override
+    public HashSet<ITradeable> getInfluencedTradeables() {
+        return new HashSet<ITradeable>(influencedTradeables());
+    }
+
+    @Override
+    public HashSet<IEnvironment> getLinkedEnvironments() {
+
+        return linkedEnvironments;
+    }
+
+    @Override
+    public String getName() {
+
+        return name;
+    }
+
+    @Override
+    public HashSet<ITradeable> getTradeables() {
+        return tradeables;
+    }
+
+    /**
+     * Returns all influenced tradeables without copying them<br>
+     * <br>
+     * The set is cached until the {@link de.stock.environment.EnvironmentGraph
+     * environment graph} changes and must not be modified
+     */
+    private HashSet<ITradeable> influencedTradeables() {
+        final int version = EnvironmentGraph.getVersion();
+
+        if (influencedTradeables == null || influencedVersion != version) {
+            final HashSet<ITradeable> affectedTradeables = new HashSet<ITradeable>();
+
+            // Add direct available tradeables to map
+            affectedTradeables.addAll(tradeables);
+            // Add all affected tradeables of all linked environments recursively
+            for (final IEnvironment environment : linkedEnvironments) {
+                if (environment instanceof Environment) {
+                    affectedTradeables.addAll(((Environment) environment).influencedTradeables());
+                } else {
+                    affectedTradeables.addAll(environment.getInfluencedTradeables());
+                }
+            }
+
+            influencedTradeables = affectedTradeables;
+            influencedVersion = version;
+        }
+
+        return influencedTradeables;
+    }
+
+    /**
+     * Links environment with percentage Influence<br>
+     * <br>
+     * Environment can link to environment of same type (class) or one layer
+     * above<br>
+     * <br>
+     * Order from lower to upper:<br>
+     * Group ---> Area ---> Location<br>
+     * 
+     * @param environment
+     *            Environment that gets linked
+     * @return true if it was allowed to link
+     */
+    @Override
+    public boolean linkEnvironment(final IEnvironment environment) {
+
+        if (environment == this) {
+            return false;
+        }
+
+        boolean allowed = false;
+
+        // Check if its allowed to link environment
+        if (this instanceof Location && (environment instanceof Location)) {
+            allowed = true;
+        } else if (this instanceof Area
+                && (environment instanceof Location || environment instanceof Area)) {
+            allowed = true;
+        } else if (this instanceof Group
+                && (environment instanceof Area || environment instanceof Group)) {
+            allowed = true;
+        }
+
+        if (allowed) {
+            if (linkedEnvironments.add(environment)) {
+                EnvironmentGraph.invalidate();
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Register tradeable which is part of the environment
+     * 
+     * @param tradeable
+     *            Tradeable that gets linked
+     */
+    @Override
+    public void registerTradeable(final ITradeable tradeable) {
+        tradeable.registerAtEnvironment(this);
+    }
+
+    @Override
+    public void setDescription(final String description) {
+
+        this.description = description;
+    }
+
+    @Override
+    public void setName(final String name) {
+
+        this.name = name;
+    }
+}
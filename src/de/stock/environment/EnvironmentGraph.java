@@ -0,0 +1,66 @@
+package de.stock.environment;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps track of changes of the environment graph (linked environments and
+ * registered tradeables)<br>
+ * <br>
+ * Every {@link de.stock.environment.Environment Environment} caches the
+ * tradeables it influences (See
+ * {@link de.stock.environment.Environment#getInfluencedTradeables()
+ * getInfluencedTradeables()} and
+ * {@link de.stock.environment.Environment#getInfluencedSlots(de.stock.tradeable.PriceTable)
+ * getInfluencedSlots()}).<br>
+ * The caches are valid as long as the version of the graph doesn't change.<br>
+ * <br>
+ * Every {@link de.stock.game.GameContext GameContext} has its own graph, so
+ * the version is kept by the
+ * {@link de.stock.environment.EnvironmentHandler EnvironmentHandler} of the
+ * current context. Changes of one game don't invalidate the caches of other
+ * games running concurrently.<br>
+ * <br>
+ * {@link de.stock.environment.Environment#linkEnvironment(IEnvironment)
+ * linkEnvironment()} and
+ * {@link de.stock.tradeable.Tradeable#registerAtEnvironment(IEnvironment)
+ * registerAtEnvironment()} call {@link #invalidate()}.<br>
+ * Call it yourself if you modify
+ * {@link de.stock.environment.Environment#getLinkedEnvironments()
+ * getLinkedEnvironments()} or
+ * {@link de.stock.environment.Environment#getTradeables() getTradeables()}
+ * directly
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class EnvironmentGraph {
+
+    /**
+     * Source of the versions of all graphs, so no two graphs share a version
+     */
+    private static final AtomicInteger versions = new AtomicInteger();
+
+    /**
+     * Returns the current version of the graph of the current context
+     */
+    public static int getVersion() {
+        return EnvironmentHandler.getInstance().getGraphVersion();
+    }
+
+    /**
+     * Invalidates the cached influenced tradeables of all environments of the
+     * current context
+     */
+    public static void invalidate() {
+        EnvironmentHandler.getInstance().invalidateGraph();
+    }
+
+    /**
+     * Returns a version which wasn't returned before
+     */
+    static int nextVersion() {
+        return versions.incrementAndGet();
+    }
+
+    private EnvironmentGraph() {
+    }
+}
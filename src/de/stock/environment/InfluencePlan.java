@@ -0,0 +1,201 @@
+package de.stock.environment;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import de.stock.tradeable.PriceTable;
+
+/**
+ * Immutable, compiled form of the environment groups of an
+ * {@link de.stock.event.Event event}<br>
+ * <br>
+ * Holds for each {@link de.stock.environment.EnvironmentGroup environment
+ * group} the slots of the influenced tradeables in a
+ * {@link de.stock.tradeable.PriceTable PriceTable}, the percentage bounds and
+ * the sign of the influence.<br>
+ * <br>
+ * A plan stays valid (See {@link #isValid(ArrayList, PriceTable)}) as long as
+ * <br>
+ * - the {@link de.stock.environment.EnvironmentGraph environment graph}
+ * doesn't change<br>
+ * - the set of active tradeables of the table doesn't change<br>
+ * - the environment groups, their environments and limits don't change<br>
+ * <br>
+ * Apply it with
+ * {@link de.stock.environment.EnvironmentHandler#influence(InfluencePlan)}
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class InfluencePlan {
+
+    /**
+     * Compiles {@code environmentGroups} against the active tradeables of
+     * {@code table}
+     * 
+     * @param environmentGroups
+     *            environment groups to compile (may be {@code null})
+     * @param table
+     *            the active tradeables
+     * 
+     * @return
+     *         the compiled plan
+     */
+    public static InfluencePlan compile(final ArrayList<EnvironmentGroup> environmentGroups,
+            final PriceTable table) {
+        return new InfluencePlan(environmentGroups, table);
+    }
+
+    private static boolean equals(final Double a, final Double b) {
+        return (a == null) ? b == null : a.equals(b);
+    }
+
+    /**
+     * Environment group list this plan was compiled from
+     */
+    private final ArrayList<EnvironmentGroup> source;
+    private final PriceTable                  table;
+    private final int                         graphVersion;
+    private final int                         tableVersion;
+    /**
+     * Copy of the compiled groups and their environments to recognize changes
+     * of the groups
+     */
+    private final EnvironmentGroup[]          groups;
+    private final Environment[][]             environments;
+    private final Double[]                    bottomLimits;
+    private final Double[]                    topLimits;
+    private final boolean[]                   positive;
+    /**
+     * Slots of the influenced tradeables of each group in ascending order
+     */
+    final int[][]                             slots;
+    final double[]                            bottom;
+    final double[]                            top;
+    final int[]                               sign;
+
+    private InfluencePlan(final ArrayList<EnvironmentGroup> environmentGroups,
+            final PriceTable table) {
+        final int size = (environmentGroups == null) ? 0 : environmentGroups.size();
+
+        source = environmentGroups;
+        this.table = table;
+        graphVersion = EnvironmentGraph.getVersion();
+        tableVersion = table.getVersion();
+        groups = new EnvironmentGroup[size];
+        environments = new Environment[size][];
+        bottomLimits = new Double[size];
+        topLimits = new Double[size];
+        positive = new boolean[size];
+        slots = new int[size][];
+        bottom = new double[size];
+        top = new double[size];
+        sign = new int[size];
+
+        final BitSet targets = new BitSet(table.getSlotCount());
+
+        for (int i = 0; i < size; i++) {
+            final EnvironmentGroup environmentGroup = environmentGroups.get(i);
+            final ArrayList<Environment> groupEnvironments = environmentGroup.getEnvironments();
+
+            groups[i] = environmentGroup;
+            environments[i] = (groupEnvironments == null) ? null : groupEnvironments
+                    .toArray(new Environment[groupEnvironments.size()]);
+            bottomLimits[i] = environmentGroup.getInfluenceBottomLimit();
+            topLimits[i] = environmentGroup.getInfluenceTopLimit();
+            positive[i] = environmentGroup.influenceIsPositive();
+            sign[i] = (positive[i]) ? 1 : -1;
+
+            if (groupEnvironments == null || groupEnvironments.isEmpty()) {
+                slots[i] = new int[0];
+                continue;
+            }
+
+            // Get all intersecting active tradeables of all environments in
+            // current environment group
+            targets.clear();
+            targets.or(table.getActive());
+            for (int j = 0; j < groupEnvironments.size() && targets.isEmpty() == false; j++) {
+                targets.and(groupEnvironments.get(j).getInfluencedSlots(table));
+            }
+
+            slots[i] = new int[targets.cardinality()];
+            int k = 0;
+            for (int slot = targets.nextSetBit(0); slot >= 0; slot = targets.nextSetBit(slot + 1)) {
+                slots[i][k++] = slot;
+            }
+
+            // Limits are needed only if there is something to influence
+            if (k > 0) {
+                bottom[i] = bottomLimits[i];
+                top[i] = topLimits[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the price table this plan was compiled against
+     */
+    public PriceTable getTable() {
+        return table;
+    }
+
+    /**
+     * Returns whether this plan is still valid for {@code environmentGroups}
+     * and {@code table}
+     * 
+     * @param environmentGroups
+     *            the environment groups of the event
+     * @param table
+     *            the active tradeables
+     * 
+     * @return {@code true} if the plan doesn't need to be recompiled
+     */
+    public boolean isValid(final ArrayList<EnvironmentGroup> environmentGroups,
+            final PriceTable table) {
+        if (this.table != table || source != environmentGroups
+                || tableVersion != table.getVersion()
+                || graphVersion != EnvironmentGraph.getVersion()) {
+            return false;
+        }
+
+        if (environmentGroups == null) {
+            return true;
+        }
+
+        if (environmentGroups.size() != groups.length) {
+            return false;
+        }
+
+        for (int i = 0; i < groups.length; i++) {
+            final EnvironmentGroup environmentGroup = environmentGroups.get(i);
+
+            if (environmentGroup != groups[i]
+                    || positive[i] != environmentGroup.influenceIsPositive()
+                    || equals(bottomLimits[i], environmentGroup.getInfluenceBottomLimit()) == false
+                    || equals(topLimits[i], environmentGroup.getInfluenceTopLimit()) == false) {
+                return false;
+            }
+
+            final ArrayList<Environment> groupEnvironments = environmentGroup.getEnvironments();
+
+            if (groupEnvironments == null || environments[i] == null) {
+                if (groupEnvironments != null || environments[i] != null) {
+                    return false;
+                }
+                continue;
+            }
+
+            if (groupEnvironments.size() != environments[i].length) {
+                return false;
+            }
+
+            for (int j = 0; j < environments[i].length; j++) {
+                if (groupEnvironments.get(j) != environments[i][j]) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
@@ -1,17 +1,17 @@
-package de.stock.event.types;
-
-import de.stock.event.Event;
-
-/**
- * See {@link de.stock.event.Event Event} for information about events<br>
- * <br> {@link de.stock.event.types.SubEvent SubEvents} can be started by another
- * event only
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public class SubEvent extends Event {
-
-    public SubEvent() {
-
-    }
-}
+package de.stock.event.types;
+
+import de.stock.event.Event;
+
+/**
+ * See {@link de.stock.event.Event Event} for information about events<br>
+ * <br> {@link de.stock.event.types.SubEvent SubEvents} can be started by another
+ * event only
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class SubEvent extends Event {
+
+    public SubEvent() {
+
+    }
+}
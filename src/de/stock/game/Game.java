@@ -1,242 +1,284 @@
-package de.stock.game;
-
-import java.io.File;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map.Entry;
-
-import de.stock.action.ActionObserver;
-import de.stock.environment.EnvironmentHandler;
-import de.stock.event.Event;
-import de.stock.event.types.MainEvent;
-import de.stock.level.ILevel;
-import de.stock.level.ILevelPack;
-import de.stock.level.LevelPackHandler;
-import de.stock.settings.Settings_Game;
-import de.stock.settings.Settings_Level;
-import de.stock.settings.Settings_Output;
-import de.stock.settings.Settings_Player;
-import de.stock.tradeable.ITradeable;
-import de.stock.tradeable.TradeableHandler;
-import de.stock.utils.InputReader;
-import de.stock.utils.Printer;
-
-/**
- * This is the starting point of the game<br>
- * <br>
- * This class coordiantes the load- and runtime of the game<br>
- * <br>
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public class Game {
-
-    static Integer nrEvents;
-    static Integer nrEnvironments;
-    static Integer nrTradeables;
-    static Integer nrLevelPacks;
-    static Integer round;
-
-    /**
-     * Load all content (events, tradeables, levelpacks, environments)
-     */
-    public static void loadContent() {
-        nrEvents = ActionObserver.getInstance().loadEvents();
-        nrEnvironments = EnvironmentHandler.getInstance().loadEnvironments();
-        nrTradeables = TradeableHandler.getInstance().loadTradeables();
-
-        // Load events from resource path
-        // Network loading possible
-        final File pathLevelPacks = new File(Settings_Level.PATH_LEVELPACKS);
-        nrLevelPacks = LevelPackHandler.getInstance().loadLevelPacks(pathLevelPacks.toURI());
-    }
-
-    public static void main(final String[] args) {
-
-        loadContent();
-        if (nrLevelPacks == 0) {
-            Printer.print(Settings_Output.OUT_ERROR, "No level packs loaded", 0,
-                    "No level packs loaded",
-                    "No level packs where loaded. Add some level packs to your game.");
-            return;
-        }
-
-        // Choose first level pack
-        final ILevelPack levelPack = LevelPackHandler.getInstance().chooseLevelPack(
-                LevelPackHandler.getInstance().getLevelStage());
-        ActionObserver.getInstance().registerLevel(levelPack.getStartLevel());
-
-        for (final MainEvent event : ActionObserver.getInstance().getMainEvents()) {
-            event.initializeIndex();
-        }
-        for (final ITradeable tradeable : TradeableHandler.getInstance().getTradeables()) {
-            tradeable.initializeShares();
-            tradeable.initializeValue();
-        }
-
-        Printer.println(Settings_Output.OUT_MSG, 0, "Please choose a difficulty", "Please choose a difficulty");
-        Printer.println(Settings_Output.OUT_OPTION, 0, "1. Difficulty easy", "1. Difficulty easy");
-        Printer.println(Settings_Output.OUT_OPTION, 0, "2. Difficulty normal", "2. Difficulty normal");
-        Printer.println(Settings_Output.OUT_OPTION, 0, "3. Difficulty hard", "3. Difficulty hard");
-
-        Integer difficulty = InputReader.readInteger();
-        boolean difficultySet = false;
-
-        while (difficultySet == false) {
-            switch (difficulty) {
-                case 1:
-                    Player.getInstance().setMoney(Settings_Player.PLAYER_MONEY_EASY);
-                    difficultySet = true;
-                    break;
-                case 2:
-                    Player.getInstance().setMoney(Settings_Player.PLAYER_MONEY_NORMAL);
-                    difficultySet = true;
-                    break;
-                case 3:
-                    Player.getInstance().setMoney(Settings_Player.PLAYER_MONEY_HARD);
-                    difficultySet = true;
-                    break;
-                default:
-                    Printer.println(Settings_Output.OUT_ERROR, 0, "Input out of index", "Please repeat your input");
-                    difficulty = InputReader.readInteger();
-            }
-        }
-
-        Player.getInstance().setCurrency("");
-
-        // Round loop
-        for (;; Settings_Game.ROUND++) {
-
-            // Temporary next round indicator
-            // TODO: DELETE
-            String nextRoundLine = null;
-
-            System.out.println("ROUND:");
-            System.out.println("\t" + Settings_Game.ROUND);
-
-            TradeableHandler.getInstance().saveCurrentState();
-            ActionObserver.getInstance().iterateActiveEvents();
-            ActionObserver.getInstance().iterateMainEvents();
-            ActionObserver.getInstance().iterateActiveLevels();
-            TradeableHandler.getInstance().updateUnchangedTradeables();
-
-            showInfo();
-
-            while (nextRoundLine == null || nextRoundLine.startsWith("x") == false) {
-
-                nextRoundLine = InputReader.readLine();
-                if (nextRoundLine.equals("i")) {
-                    showInfo();
-                }
-
-                String bla;
-                Integer index;
-                Integer amount;
-                if (nextRoundLine.startsWith("b")) {
-                    // Temporary buy
-                    bla = nextRoundLine.substring(1, nextRoundLine.length());
-                    index = Integer.parseInt(bla.split("\\.")[0]);
-                    amount = Integer.parseInt(bla.split("\\.")[1]);
-                    Entry<ITradeable, Double> entry = null;
-
-                    final java.util.Iterator<Entry<ITradeable, Double>> it = TradeableHandler
-                            .getInstance().getActiveTradeables().entrySet().iterator();
-                    for (int i = 0; i < index; i++) {
-                        entry = it.next();
-                    }
-                    if ((entry.getValue() * amount) > Player.getInstance().getMoney()) {
-                        Printer.print("\t");
-                        Printer.println(Settings_Output.OUT_ERROR, 0, "Insufficient money",
-                                "Insufficient money");
-                    } else {
-                        if (entry.getKey().getShares() - amount >= 0) {
-                            Player.getInstance().decMoney(entry.getValue() * amount);
-                            Player.getInstance().incBoughtTradeables(amount);
-                            Player.getInstance().addTradeable(entry.getKey(), amount.longValue());
-                            entry.getKey().decShares(amount);
-                        } else {
-                            Printer.println(Settings_Output.OUT_ERROR, 0, "Insufficient shares",
-                                    "Insufficient shares");
-                        }
-                    }
-                } else if (nextRoundLine.startsWith("s")) {
-                    // Temporary sell
-                    bla = nextRoundLine.substring(1, nextRoundLine.length());
-                    index = Integer.parseInt(bla.split("\\.")[0]);
-                    amount = Integer.parseInt(bla.split("\\.")[1]);
-                    Entry<ITradeable, Double> entry = null;
-
-                    final java.util.Iterator<Entry<ITradeable, Double>> it = TradeableHandler
-                            .getInstance().getActiveTradeables().entrySet().iterator();
-                    for (int i = 0; i < index; i++) {
-                        entry = it.next();
-                    }
-
-                    Player.getInstance().incMoney(entry.getValue() * amount);
-                    Player.getInstance().decBoughtTradeables(amount);
-                    Player.getInstance().getTradeables().remove(entry.getKey());
-                    entry.getKey().incShares(amount);
-                }
-
-                ActionObserver.getInstance().iterateActiveLevels();
-                showInfo();
-            }
-        }
-    }
-
-    private static void showInfo() {
-        System.out.println("YOUR MONEY: ");
-        System.out.println("\t" + Player.getInstance().getMoney()
-                + Player.getInstance().getCurrency());
-
-        System.out.println("YOUR TRADEABLES: ");
-        for (final Entry<ITradeable, Long> entry : Player.getInstance().getTradeables().entrySet()) {
-            Printer.print("\t");
-            Printer.println(Settings_Output.OUT_TRADEABLE, entry.getValue(), entry.getKey()
-                    .getName(), entry.getKey().getDescription());
-        }
-
-        // Print tradeable infos
-        System.out.println("TRADEABLES: ");
-        for (final Entry<ITradeable, Double> tradeable : TradeableHandler.getInstance()
-                .getActiveTradeables().entrySet()) {
-            Printer.print("\t");
-            Printer.println(Settings_Output.OUT_TRADEABLE, tradeable.getValue(), tradeable.getKey()
-                    .getName(), "Available shares " + tradeable.getKey().getShares());
-        }
-
-        Integer levelCount = 1;
-        // Print active levels
-        System.out.println("ACTIVE LEVELS:");
-        for (final ILevel level : ActionObserver.getInstance().getActiveLevels()) {
-            Printer.print("\t");
-            Printer.println(Settings_Output.OUT_LEVEL, levelCount++, level.getName(),
-                    level.getDescription());
-        }
-
-        // Print active events
-        System.out.println("ACTIVE EVENTS:");
-        final HashMap<Event, Integer> events = ActionObserver.getInstance().getActiveEvents();
-        for (final Entry<Event, Integer> entry : events.entrySet()) {
-            Printer.print("\t");
-            Printer.println(Settings_Output.OUT_EVENT, entry.getValue(), entry.getKey().getName(),
-                    entry.getKey().getDescription());
-        }
-
-        // Print main events
-        System.out.println("MAIN EVENTS:");
-        final ArrayList<MainEvent> mainevents = ActionObserver.getInstance().getMainEvents();
-        for (final MainEvent mainEvent : mainevents) {
-            Printer.print("\t");
-            Printer.println(Settings_Output.OUT_EVENT, mainEvent.getIndex(), mainEvent.getName(),
-                    mainEvent.getDescription());
-        }
-
-        System.out.println();
-        System.out.println("\tNext round with input of \"x\"");
-        System.out
-                .println("\tBuy with \"b*.x\" - * is the index of the tradeable, x is the amount");
-        System.out
-                .println("\tSell with \"s*.x\" - * is the index of the tradeable, x is the amount");
-    }
-}
+package de.stock.game;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Map.Entry;
+
+import de.stock.action.ActionObserver;
+import de.stock.action.EventTimers;
+import de.stock.deserializer.ContentBundle;
+import de.stock.deserializer.ContentCatalog;
+import de.stock.deserializer.ContentWatcher;
+import de.stock.deserializer.Deserializer;
+import de.stock.event.Event;
+import de.stock.event.types.MainEvent;
+import de.stock.level.ILevel;
+import de.stock.level.ILevelPack;
+import de.stock.level.LevelPackHandler;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.settings.Settings_Level;
+import de.stock.settings.Settings_Output;
+import de.stock.settings.Settings_Player;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.TradeableHandler;
+import de.stock.utils.InputReader;
+import de.stock.utils.Printer;
+
+/**
+ * This is the starting point of the game<br>
+ * <br>
+ * This class coordiantes the load- and runtime of the game<br>
+ * <br>
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class Game {
+
+    static Integer nrEvents;
+    static Integer nrEnvironments;
+    static Integer nrTradeables;
+    static Integer nrLevelPacks;
+    static Integer round;
+
+    /**
+     * Load all content (events, tradeables, levelpacks, environments)
+     */
+    public static void loadContent() {
+        // Use the precompiled bundle if it is up to date otherwise events,
+        // environments and tradeables are parsed concurrently or just indexed
+        // and loaded when a level (pack) uses them
+        final File bundle = new File(Settings_Deserializer.PATH_BUNDLE);
+        Integer[] loaded = (bundle.isFile()) ? ContentBundle.load(bundle) : null;
+        if (loaded == null && Settings_Deserializer.LAZY_LOADING) {
+            loaded = ContentCatalog.getInstance().index(Settings_Deserializer.TYPE_EVENT,
+                    Settings_Deserializer.TYPE_ENVIRONMENT, Settings_Deserializer.TYPE_TRADEABLE);
+        } else if (loaded == null) {
+            loaded = Deserializer.deserializeParallel(Settings_Deserializer.TYPE_EVENT,
+                    Settings_Deserializer.TYPE_ENVIRONMENT, Settings_Deserializer.TYPE_TRADEABLE);
+        }
+        nrEvents = loaded[0];
+        nrEnvironments = loaded[1];
+        nrTradeables = loaded[2];
+
+        // Reload changed content while the game is running
+        if (Settings_Deserializer.HOT_RELOAD) {
+            try {
+                final ContentWatcher watcher = new ContentWatcher();
+                watcher.start();
+                GameContext.getCurrent().setContentWatcher(watcher);
+            }
+            catch (final IOException e) {
+                Printer.print(Settings_Output.OUT_ERROR, "Watch error", 0, "Watch error",
+                        "Unable to watch the resource directories");
+            }
+        }
+
+        // Load events from resource path
+        // Network loading possible
+        final File pathLevelPacks = new File(Settings_Level.PATH_LEVELPACKS);
+        nrLevelPacks = LevelPackHandler.getInstance().loadLevelPacks(pathLevelPacks.toURI());
+    }
+
+    /**
+     * Executes the player command {@code line}<br>
+     * <br>
+     * Buy with "b*.x" and sell with "s*.x" - * is the index of the tradeable
+     * (starting at 1), x is the amount
+     * 
+     * @return {@code true} if the command was a valid buy or sell order and
+     *         got executed
+     */
+    public static boolean executeCommand(final String line) {
+        if (line == null || line.length() < 2
+                || (line.startsWith("b") == false && line.startsWith("s") == false)) {
+            return false;
+        }
+
+        final String[] order = line.substring(1, line.length()).split("\\.");
+        if (order.length != 2) {
+            return false;
+        }
+
+        Integer index;
+        Integer amount;
+        try {
+            index = Integer.parseInt(order[0]);
+            amount = Integer.parseInt(order[1]);
+        }
+        catch (final NumberFormatException e) {
+            Printer.println(Settings_Output.OUT_ERROR, 0, "Invalid order", "Invalid order");
+            return false;
+        }
+
+        final Entry<ITradeable, Double> entry = TradeableHandler.getInstance().getActiveTradeable(
+                index);
+        if (entry == null) {
+            Printer.println(Settings_Output.OUT_ERROR, 0, "Input out of index",
+                    "Tradeable out of index");
+            return false;
+        }
+
+        if (line.startsWith("b")) {
+            return Player.getInstance().buy(entry.getKey(), entry.getValue(), amount);
+        } else {
+            return Player.getInstance().sell(entry.getKey(), entry.getValue(), amount);
+        }
+    }
+
+    /**
+     * Initializes the indices of all main events and the shares and values of
+     * all tradeables
+     */
+    public static void initializeContent() {
+        for (final MainEvent event : ActionObserver.getInstance().getMainEvents()) {
+            event.initializeIndex();
+        }
+        for (final ITradeable tradeable : TradeableHandler.getInstance().getTradeables()) {
+            tradeable.initializeShares();
+            tradeable.initializeValue();
+        }
+    }
+
+    public static void main(final String[] args) {
+
+        loadContent();
+        if (nrLevelPacks == 0) {
+            Printer.print(Settings_Output.OUT_ERROR, "No level packs loaded", 0,
+                    "No level packs loaded",
+                    "No level packs where loaded. Add some level packs to your game.");
+            return;
+        }
+
+        // Choose first level pack
+        final ILevelPack levelPack = LevelPackHandler.getInstance().chooseLevelPack(
+                LevelPackHandler.getInstance().getLevelStage());
+        ActionObserver.getInstance().registerLevel(levelPack.getStartLevel());
+
+        initializeContent();
+
+        Printer.println(Settings_Output.OUT_MSG, 0, "Please choose a difficulty", "Please choose a difficulty");
+        Printer.println(Settings_Output.OUT_OPTION, 0, "1. Difficulty easy", "1. Difficulty easy");
+        Printer.println(Settings_Output.OUT_OPTION, 0, "2. Difficulty normal", "2. Difficulty normal");
+        Printer.println(Settings_Output.OUT_OPTION, 0, "3. Difficulty hard", "3. Difficulty hard");
+
+        Integer difficulty = InputReader.readInteger();
+        boolean difficultySet = false;
+
+        while (difficultySet == false) {
+            switch (difficulty) {
+                case 1:
+                    Player.getInstance().setMoney(Settings_Player.PLAYER_MONEY_EASY);
+                    difficultySet = true;
+                    break;
+                case 2:
+                    Player.getInstance().setMoney(Settings_Player.PLAYER_MONEY_NORMAL);
+                    difficultySet = true;
+                    break;
+                case 3:
+                    Player.getInstance().setMoney(Settings_Player.PLAYER_MONEY_HARD);
+                    difficultySet = true;
+                    break;
+                default:
+                    Printer.println(Settings_Output.OUT_ERROR, 0, "Input out of index", "Please repeat your input");
+                    difficulty = InputReader.readInteger();
+            }
+        }
+
+        Player.getInstance().setCurrency("");
+
+        // Round loop
+        for (;; GameContext.getCurrent().incRound()) {
+
+            // Temporary next round indicator
+            // TODO: DELETE
+            String nextRoundLine = null;
+
+            System.out.println("ROUND:");
+            System.out.println("\t" + GameContext.getCurrent().getRound());
+
+            // Reloaded content is applied at the round boundary only
+            if (GameContext.getCurrent().getContentWatcher() != null) {
+                GameContext.getCurrent().getContentWatcher().apply();
+            }
+
+            TradeableHandler.getInstance().saveCurrentState();
+            ActionObserver.getInstance().iterateActiveEvents();
+            ActionObserver.getInstance().iterateMainEvents();
+            ActionObserver.getInstance().iterateActiveLevels();
+            TradeableHandler.getInstance().updateUnchangedTradeables();
+            TradeableHandler.getInstance().finishRound();
+
+            showInfo();
+
+            while (nextRoundLine == null || nextRoundLine.startsWith("x") == false) {
+
+                nextRoundLine = InputReader.readLine();
+                if (nextRoundLine.equals("i")) {
+                    showInfo();
+                }
+
+                executeCommand(nextRoundLine);
+
+                ActionObserver.getInstance().iterateActiveLevels();
+                showInfo();
+            }
+        }
+    }
+
+    private static void showInfo() {
+        System.out.println("YOUR MONEY: ");
+        System.out.println("\t" + Player.getInstance().getMoney()
+                + Player.getInstance().getCurrency());
+
+        System.out.println("YOUR TRADEABLES: ");
+        for (final Entry<ITradeable, Long> entry : Player.getInstance().getTradeables().entrySet()) {
+            Printer.print("\t");
+            Printer.println(Settings_Output.OUT_TRADEABLE, entry.getValue(), entry.getKey()
+                    .getName(), entry.getKey().getDescription());
+        }
+
+        // Print tradeable infos
+        System.out.println("TRADEABLES: ");
+        for (final Entry<ITradeable, Double> tradeable : TradeableHandler.getInstance()
+                .getActiveTradeables().entrySet()) {
+            Printer.print("\t");
+            Printer.println(Settings_Output.OUT_TRADEABLE, tradeable.getValue(), tradeable.getKey()
+                    .getName(), "Available shares " + tradeable.getKey().getShares());
+        }
+
+        Integer levelCount = 1;
+        // Print active levels
+        System.out.println("ACTIVE LEVELS:");
+        for (final ILevel level : ActionObserver.getInstance().getActiveLevels()) {
+            Printer.print("\t");
+            Printer.println(Settings_Output.OUT_LEVEL, levelCount++, level.getName(),
+                    level.getDescription());
+        }
+
+        // Print active events
+        System.out.println("ACTIVE EVENTS:");
+        final EventTimers events = ActionObserver.getInstance().getActiveEvents();
+        for (final Entry<Event, Integer> entry : events.entrySet()) {
+            Printer.print("\t");
+            Printer.println(Settings_Output.OUT_EVENT, entry.getValue(), entry.getKey().getName(),
+                    entry.getKey().getDescription());
+        }
+
+        // Print main events
+        System.out.println("MAIN EVENTS:");
+        final ArrayList<MainEvent> mainevents = ActionObserver.getInstance().getMainEvents();
+        for (final MainEvent mainEvent : mainevents) {
+            Printer.print("\t");
+            Printer.println(Settings_Output.OUT_EVENT, mainEvent.getIndex(), mainEvent.getName(),
+                    mainEvent.getDescription());
+        }
+
+        System.out.println();
+        System.out.println("\tNext round with input of \"x\"");
+        System.out
+                .println("\tBuy with \"b*.x\" - * is the index of the tradeable, x is the amount");
+        System.out
+                .println("\tSell with \"s*.x\" - * is the index of the tradeable, x is the amount");
+    }
+}
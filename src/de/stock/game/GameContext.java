@@ -0,0 +1,298 @@
+package de.stock.game;
+
+import de.stock.action.ActionObserver;
+import de.stock.deserializer.ContentCatalog;
+import de.stock.deserializer.ContentWatcher;
+import de.stock.environment.EnvironmentHandler;
+import de.stock.level.LevelPackHandler;
+import de.stock.tradeable.TradeableHandler;
+import de.stock.utils.IRandomSource;
+import de.stock.utils.RandomSource;
+
+/**
+ * The game context owns the whole state of one game<br>
+ * <br>
+ * - {@link de.stock.action.ActionObserver ActionObserver}<br>
+ * - {@link de.stock.tradeable.TradeableHandler TradeableHandler}<br>
+ * - {@link de.stock.environment.EnvironmentHandler EnvironmentHandler}<br>
+ * - {@link de.stock.level.LevelPackHandler LevelPackHandler}<br>
+ * - {@link de.stock.deserializer.ContentCatalog ContentCatalog}<br>
+ * - {@link de.stock.game.Player Player}<br>
+ * - the current round<br>
+ * - whether the game runs headless (See {@link #isHeadless()})<br>
+ * - the {@link de.stock.utils.IRandomSource random source} used by
+ * {@link de.stock.utils.Utils Utils}<br>
+ * <br>
+ * The {@code getInstance()} methods of the classes above return the object of
+ * the context which is bound to the current thread (See
+ * {@link #setCurrent(GameContext)}) or of the default context if no context is
+ * bound.<br>
+ * Therefore independent games can run concurrently as long as each game runs
+ * with its own context on its own thread<br>
+ * <br>
+ * Process-wide on purpose:<br>
+ * - the Settings_* classes. They configure the process (paths, loading
+ * modes, ...) and are set before any game starts<br>
+ * - the plugin manager of {@link de.stock.level.LevelPackLoader
+ * LevelPackLoader}, level pack classes are loaded once per process<br>
+ * - the serializers of {@link de.stock.deserializer.Deserializer
+ * Deserializer}, each thread has its own one<br>
+ * - the counter {@link de.stock.environment.EnvironmentGraph EnvironmentGraph}
+ * takes the graph versions from, the versions belong to the context<br>
+ * <br>
+ * Usage:<br>
+ * &nbsp;&nbsp;previous = GameContext.enter(context);<br>
+ * &nbsp;&nbsp;try { ... } finally { GameContext.setCurrent(previous); }<br>
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class GameContext {
+
+    /**
+     * Used if no context is bound to the current thread (i.e. the console
+     * game)
+     */
+    private static final GameContext              defaultContext = new GameContext();
+
+    private static final ThreadLocal<GameContext> current        = new ThreadLocal<GameContext>();
+
+    /**
+     * Binds {@code context} to the current thread
+     * 
+     * @return the context which was bound to the current thread before or null
+     *         if there was none
+     */
+    public static GameContext enter(final GameContext context) {
+        final GameContext previous = current.get();
+        setCurrent(context);
+        return previous;
+    }
+
+    /**
+     * Returns the context bound to the current thread or the default context
+     * if there is none
+     * 
+     * @return context of the current thread
+     */
+    public static GameContext getCurrent() {
+        final GameContext context = current.get();
+        if (context == null) {
+            return defaultContext;
+        }
+        return context;
+    }
+
+    public static GameContext getDefault() {
+        return defaultContext;
+    }
+
+    /**
+     * Binds {@code context} to the current thread<br>
+     * <br>
+     * The current thread uses the default context again if {@code context} is
+     * null. The entry of the thread is kept in this case, so entering a
+     * context every round (See {@link de.stock.simulation.SimulationEngine
+     * SimulationEngine}) allocates nothing
+     */
+    public static void setCurrent(final GameContext context) {
+        current.set(context);
+    }
+
+    /**
+     * Volatile, so work of a {@link #detach() detached} fork sees the new
+     * handlers
+     */
+    private volatile ActionObserver     actionObserver;
+    private volatile TradeableHandler   tradeableHandler;
+    private volatile EnvironmentHandler environmentHandler;
+    private volatile LevelPackHandler   levelPackHandler;
+    private volatile ContentCatalog     contentCatalog;
+    /**
+     * Reloads changed content at the round boundary if set
+     */
+    private ContentWatcher              contentWatcher;
+    private volatile Player             player;
+    /**
+     * The current round
+     */
+    private int                         round;
+    /**
+     * Source of all random decisions made in this context
+     */
+    private IRandomSource               random;
+    /**
+     * Run the game without console input and output
+     */
+    private boolean                     headless;
+
+    public GameContext() {
+        this(new RandomSource());
+    }
+
+    /**
+     * Creates a context whose random decisions are reproducible through
+     * {@code seed}
+     */
+    public GameContext(final long seed) {
+        this(new RandomSource(seed));
+    }
+
+    public GameContext(final IRandomSource random) {
+        actionObserver = new ActionObserver();
+        tradeableHandler = new TradeableHandler();
+        environmentHandler = new EnvironmentHandler();
+        levelPackHandler = new LevelPackHandler();
+        contentCatalog = new ContentCatalog();
+        player = new Player();
+        round = 1;
+        this.random = random;
+        headless = false;
+    }
+
+    /**
+     * Creates a context which shares the handlers, the player and the round
+     * of this context but makes its random decisions with a source split from
+     * the one of this context (See
+     * {@link de.stock.utils.IRandomSource#split()})<br>
+     * <br>
+     * Used to run work of this context on other threads without sharing the
+     * random source. Forks running concurrently must not modify the shared
+     * handlers (See {@link #detach()})
+     * 
+     * @return the forked context
+     */
+    public GameContext fork() {
+        final GameContext fork = new GameContext(random.split());
+        fork.actionObserver = actionObserver;
+        fork.tradeableHandler = tradeableHandler;
+        fork.environmentHandler = environmentHandler;
+        fork.levelPackHandler = levelPackHandler;
+        fork.contentCatalog = contentCatalog;
+        fork.contentWatcher = contentWatcher;
+        fork.player = player;
+        fork.round = round;
+        fork.headless = headless;
+        return fork;
+    }
+
+    /**
+     * Replaces the handlers, the catalog and the player this context shares
+     * with its origin (See {@link #fork()}) with new ones<br>
+     * <br>
+     * Cuts off a fork whose work keeps running on another thread although it
+     * isn't needed anymore. The work can't modify the state of the origin
+     * through the {@code getInstance()} methods afterwards. References the work
+     * got before aren't affected
+     */
+    public void detach() {
+        actionObserver = new ActionObserver();
+        tradeableHandler = new TradeableHandler();
+        environmentHandler = new EnvironmentHandler();
+        levelPackHandler = new LevelPackHandler();
+        contentCatalog = new ContentCatalog();
+        contentWatcher = null;
+        player = new Player();
+    }
+
+    public ActionObserver getActionObserver() {
+        return actionObserver;
+    }
+
+    public ContentCatalog getContentCatalog() {
+        return contentCatalog;
+    }
+
+    public ContentWatcher getContentWatcher() {
+        return contentWatcher;
+    }
+
+    public EnvironmentHandler getEnvironmentHandler() {
+        return environmentHandler;
+    }
+
+    public LevelPackHandler getLevelPackHandler() {
+        return levelPackHandler;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public IRandomSource getRandom() {
+        return random;
+    }
+
+    public Integer getRound() {
+        return round;
+    }
+
+    public TradeableHandler getTradeableHandler() {
+        return tradeableHandler;
+    }
+
+    /**
+     * Increases the round by one
+     * 
+     * @return increased round
+     */
+    public Integer incRound() {
+        nextRound();
+        return round;
+    }
+
+    /**
+     * Returns whether the game of this context runs without console input and
+     * output (See {@link de.stock.simulation.SimulationEngine
+     * SimulationEngine})<br>
+     * <br>
+     * Options which would be chosen by the player are chosen randomly and
+     * {@link de.stock.utils.Printer Printer} prints nothing
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Increases the round by one like {@link #incRound()} without boxing the
+     * new round
+     */
+    public void nextRound() {
+        round++;
+    }
+
+    public void setActionObserver(final ActionObserver actionObserver) {
+        this.actionObserver = actionObserver;
+    }
+
+    public void setContentWatcher(final ContentWatcher contentWatcher) {
+        this.contentWatcher = contentWatcher;
+    }
+
+    public void setEnvironmentHandler(final EnvironmentHandler environmentHandler) {
+        this.environmentHandler = environmentHandler;
+    }
+
+    public void setHeadless(final boolean headless) {
+        this.headless = headless;
+    }
+
+    public void setLevelPackHandler(final LevelPackHandler levelPackHandler) {
+        this.levelPackHandler = levelPackHandler;
+    }
+
+    public void setPlayer(final Player player) {
+        this.player = player;
+    }
+
+    public void setRandom(final IRandomSource random) {
+        this.random = random;
+    }
+
+    public void setRound(final Integer round) {
+        this.round = round;
+    }
+
+    public void setTradeableHandler(final TradeableHandler tradeableHandler) {
+        this.tradeableHandler = tradeableHandler;
+    }
+}
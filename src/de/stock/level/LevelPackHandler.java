@@ -1,307 +1,498 @@
-package de.stock.level;
-
-import java.net.URI;
-import java.util.ArrayList;
-import java.util.HashMap;
-
-import de.stock.action.ActionObserver;
-import de.stock.event.types.MainEvent;
-import de.stock.settings.Settings_Level;
-import de.stock.settings.Settings_Output;
-import de.stock.tradeable.ITradeable;
-import de.stock.tradeable.TradeableHandler;
-import de.stock.utils.InputReader;
-import de.stock.utils.Printer;
-
-/**
- * The level pack handler holds all level packs in their specific level stage
- * (See {@link de.stock.level.LevelPack LevelPack} and
- * {@link de.stock.settings.Settings_Level Settings_Level}) <br>
- * and is the single point of contact for the
- * {@link de.stock.action.ActionObserver ActionObserver} if a level pack of
- * a level stage<br>
- * is needed through the method {@link #chooseLevelPack(Integer)}
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public class LevelPackHandler {
-
-    private static LevelPackHandler instance = null;
-
-    public static LevelPackHandler getInstance() {
-        if (instance == null) {
-            instance = new LevelPackHandler();
-        }
-        return instance;
-    }
-
-    private Integer                         levelStage;
-
-    HashMap<Integer, ArrayList<ILevelPack>> levelStageMap;
-
-    private LevelPackHandler() {
-        setLevelStage(Settings_Level.MAIN_LEVEL);
-        levelStageMap = new HashMap<Integer, ArrayList<ILevelPack>>();
-        // Instanciate lists for award and normal levels
-        for (int i = Settings_Level.AWARD_LEVEL; i <= Settings_Level.LEVEL_STAGE_END; i++) {
-            levelStageMap.put(i, new ArrayList<ILevelPack>());
-        }
-    }
-
-    /**
-     * If this method gets called the player can choose a level pack from the
-     * {@code levelStage}<br>
-     * <br>
-     * The level pack specific content (events, tradeables, ...) gets
-     * registered, too. <br>
-     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
-     * stage information)
-     * 
-     * @return chosen level pack upon success otherwise null
-     */
-    public ILevelPack chooseLevelPack(final Integer levelStage) {
-        if (isLevelStageNotValid(levelStage) || getLevelPacks(levelStage) == null) {
-            return null;
-        }
-
-        if (getLevelPacks(levelStage).size() == 0) {
-            return null;
-        } else if (getLevelPacks(levelStage).size() == 1) {
-            regLvlPckSpfcContent(getLevelPacks(levelStage).get(0));
-            return getLevelPacks(levelStage).get(0);
-        }
-
-        Integer poll = null;
-
-        Printer.print(Settings_Output.OUT_OPTION_HEAD, "Please choose a level pack to play");
-        printLevelPacks(levelStage);
-
-        while (poll == null || poll < 0 || poll >= getLevelPacks(levelStage).size()) {
-            poll = InputReader.readInteger();
-            if (poll < 0 || poll >= getLevelPacks(levelStage).size()) {
-                Printer.print(Settings_Output.OUT_ERROR, "Option Error", 0, "Option Error",
-                        "Level Pack out of index");
-                continue;
-            }
-        }
-
-        final ILevelPack levelPack = getLevelPacks(levelStage).get(poll);
-
-        regLvlPckSpfcContent(levelPack);
-
-        return levelPack;
-    }
-
-    /**
-     * Returns array of level packs of {@code levelStage} upon success otherwise
-     * null<br>
-     * <br>
-     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
-     * stage information)
-     * 
-     * @return array of level packs of {@code levelStage} upon success otherwise
-     *         null
-     */
-    public ArrayList<ILevelPack> getLevelPacks(final Integer levelStage) {
-        if (isLevelStageNotValid(levelStage) || levelStageMap == null) {
-            return null;
-        }
-
-        return getLevelStageMap().get(levelStage);
-    }
-
-    public Integer getLevelStage() {
-        return levelStage;
-    }
-
-    public HashMap<Integer, ArrayList<ILevelPack>> getLevelStageMap() {
-        return levelStageMap;
-    }
-
-    /**
-     * Returns level pack of next level stage upon success or null if last stage
-     * is finished<br>
-     * <br>
-     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
-     * stage information)
-     * 
-     * @return level pack of next level stage upon success or null if last stage
-     *         is finished
-     */
-    public ILevelPack getNextStageLevel() {
-        if (incLevelStage() > Settings_Level.LEVEL_STAGES) {
-            return null;
-        }
-
-        return chooseLevelPack(getLevelStage());
-    }
-
-    /**
-     * Increases level stage by one<br>
-     * <br>
-     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
-     * stage information)
-     * 
-     * @return increased level stage
-     */
-    public Integer incLevelStage() {
-        return ++levelStage;
-    }
-
-    /**
-     * Returns true if {@code levelStage} isn't valid<br>
-     * <br>
-     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
-     * stage information)
-     * 
-     * @return {@code true} if {@code levelStage} isn't valid
-     */
-    public boolean isLevelStageNotValid(final Integer levelStage) {
-        if (levelStage == null || levelStage < 0 || levelStage > Settings_Level.LEVEL_STAGE_END) {
-            return true;
-        } else {
-            return false;
-        }
-    }
-
-    /**
-     * Returns true if {@code levelStage} is valid<br>
-     * <br>
-     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
-     * stage information)
-     * 
-     * @return {@code true} if {@code levelStage} is valid
-     */
-    public boolean isLevelStageValid(final Integer levelStage) {
-        return !isLevelStageNotValid(levelStage);
-    }
-
-    /**
-     * Loads and initializes all level packs from {@code uri} through the
-     * {@link de.stock.level.LevelPackLoader
-     * LevelPackLoader} and registers them at their specific level stage<br>
-     * <br>
-     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
-     * stage information)
-     * 
-     * @param uri
-     *            the uri to load the level packs (mainly .jar's) from
-     * @return
-     *         Non-negative number of registered level packs or -1 on error
-     */
-    public Integer loadLevelPacks(final URI uri) {
-        final ArrayList<ILevelPack> loadedLevels = LevelPackLoader.loadLevelPacks(uri);
-        if (loadedLevels == null) {
-            return -1;
-        }
-
-        Integer count = 0;
-        for (final ILevelPack levelPack : loadedLevels) {
-
-            if (levelPack.isNotInitialized()) {
-                levelPack.initialize();
-                levelPack.setInitialized(true);
-            }
-
-            if (register(levelPack.getLevelStage(), levelPack) == true) {
-                count++;
-            }
-        }
-        return count;
-    }
-
-    /**
-     * Prints all level packs from {@code levelStage}<br>
-     * <br>
-     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
-     * stage information)
-     */
-    public void printLevelPacks(final Integer levelStage) {
-        if (isLevelStageNotValid(levelStage) || getLevelPacks(levelStage) == null) {
-            return;
-        }
-
-        Integer i = 0;
-
-        for (final ILevelPack levelPack : getLevelPacks(levelStage)) {
-            Printer.print(Settings_Output.OUT_OPTION, i, levelPack.getName(),
-                    levelPack.getDescription());
-            i++;
-        }
-    }
-
-    /**
-     * Register {@code levelPack} at levelStage specified in {@code levelPack}<br>
-     * <br>
-     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
-     * stage information)
-     * 
-     * @return {@code true} upon success
-     */
-    public boolean register(final ILevelPack levelPack) {
-        if (levelPack.isNotInitialized()) {
-            levelPack.initialize();
-            levelPack.setInitialized(true);
-        }
-
-        return register(levelPack.getLevelStage(), levelPack);
-    }
-
-    /**
-     * Register {@code levelPack} at {@code levelStage}<br>
-     * <br>
-     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
-     * stage information)
-     * 
-     * @return {@code true} upon success
-     */
-    public boolean register(final Integer levelStage, final ILevelPack levelPack) {
-        if (isLevelStageNotValid(levelStage) || levelPack == null
-                || getLevelPacks(levelStage) == null) {
-            return false;
-        }
-
-        if (levelPack.isNotInitialized()) {
-            levelPack.initialize();
-            levelPack.setInitialized(true);
-        }
-
-        // Set level stage in level pack if its unset or differs from passed
-        // level stage
-        if (levelPack.getLevelStage() == null || levelPack.getLevelStage() != levelStage) {
-            levelPack.setLevelStage(levelStage);
-        }
-
-        return getLevelPacks(levelStage).add(levelPack);
-    }
-
-    /**
-     * Register level pack specifc content (events and tradeables)
-     * 
-     * @param levelPack
-     *            the level pack to get the content from
-     */
-    private void regLvlPckSpfcContent(final ILevelPack levelPack) {
-        // Register level pack specific events
-        if (levelPack.getEvents() != null) {
-            for (final MainEvent event : levelPack.getEvents()) {
-                ActionObserver.getInstance().registerEvent(event);
-            }
-        }
-
-        if (levelPack.getTradeables() != null) {
-            // Register level pack specific tradeables to active tradeables
-            for (final ITradeable tradeable : levelPack.getTradeables()) {
-                TradeableHandler.getInstance().registerActiveTradeable(tradeable);
-            }
-        }
-    }
-
-    public void setLevelStage(final Integer levelStage) {
-        this.levelStage = levelStage;
-    }
-
-    public void setLevelStageMap(final HashMap<Integer, ArrayList<ILevelPack>> hashMap) {
-        levelStageMap = hashMap;
-    }
-}
+package de.stock.level;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import de.stock.action.ActionObserver;
+import de.stock.deserializer.ContentCatalog;
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+import de.stock.settings.Settings_Level;
+import de.stock.settings.Settings_Output;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.TradeableHandler;
+import de.stock.utils.InputReader;
+import de.stock.utils.Printer;
+import de.stock.utils.Utils;
+
+/**
+ * The level pack handler holds all level packs in their specific level stage
+ * (See {@link de.stock.level.LevelPack LevelPack} and
+ * {@link de.stock.settings.Settings_Level Settings_Level}) <br>
+ * and is the single point of contact for the
+ * {@link de.stock.action.ActionObserver ActionObserver} if a level pack of
+ * a level stage<br>
+ * is needed through the method {@link #chooseLevelPack(Integer)}
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class LevelPackHandler {
+
+    /**
+     * Returns the level pack handler of the current
+     * {@link de.stock.game.GameContext GameContext}
+     */
+    public static LevelPackHandler getInstance() {
+        return GameContext.getCurrent().getLevelPackHandler();
+    }
+
+    private Integer                         levelStage;
+
+    HashMap<Integer, ArrayList<ILevelPack>> levelStageMap;
+
+    public LevelPackHandler() {
+        setLevelStage(Settings_Level.MAIN_LEVEL);
+        levelStageMap = new HashMap<Integer, ArrayList<ILevelPack>>();
+        // Instanciate lists for award and normal levels
+        for (int i = Settings_Level.AWARD_LEVEL; i <= Settings_Level.LEVEL_STAGE_END; i++) {
+            levelStageMap.put(i, new ArrayList<ILevelPack>());
+        }
+    }
+
+    /**
+     * Adds {@code levelPack} to {@code levelStage} without initializing it
+     * 
+     * @return {@code true} upon success
+     */
+    private boolean add(final Integer levelStage, final ILevelPack levelPack) {
+        if (isLevelStageNotValid(levelStage) || levelPack == null
+                || getLevelPacks(levelStage) == null) {
+            return false;
+        }
+
+        // Set level stage in level pack if its unset or differs from passed
+        // level stage
+        if (levelPack.getLevelStage() == null || levelPack.getLevelStage() != levelStage) {
+            levelPack.setLevelStage(levelStage);
+        }
+
+        return getLevelPacks(levelStage).add(levelPack);
+    }
+
+    /**
+     * If this method gets called the player can choose a level pack from the
+     * {@code levelStage}<br>
+     * <br>
+     * The level pack specific content (events, tradeables, ...) gets
+     * registered, too. <br>
+     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
+     * stage information)<br>
+     * <br>
+     * The level pack is chosen randomly if the game runs headless
+     * 
+     * @return chosen level pack upon success otherwise null
+     */
+    public ILevelPack chooseLevelPack(final Integer levelStage) {
+        if (isLevelStageNotValid(levelStage) || getLevelPacks(levelStage) == null) {
+            return null;
+        }
+
+        if (getLevelPacks(levelStage).size() == 0) {
+            return null;
+        } else if (getLevelPacks(levelStage).size() == 1) {
+            final ILevelPack levelPack = getLevelPacks(levelStage).get(0);
+            if (levelPack.isNotInitialized()) {
+                levelPack.initialize();
+                levelPack.setInitialized(true);
+            }
+            regLvlPckSpfcContent(levelPack);
+            return levelPack;
+        }
+
+        if (GameContext.getCurrent().isHeadless()) {
+            final Integer pos = Utils.random(0, getLevelPacks(levelStage).size() - 1);
+            return startLevelPack(getLevelPacks(levelStage).get(pos));
+        }
+
+        Integer poll = null;
+
+        Printer.print(Settings_Output.OUT_OPTION_HEAD, "Please choose a level pack to play");
+        printLevelPacks(levelStage);
+
+        while (poll == null || poll < 0 || poll >= getLevelPacks(levelStage).size()) {
+            poll = InputReader.readInteger();
+            if (poll < 0 || poll >= getLevelPacks(levelStage).size()) {
+                Printer.print(Settings_Output.OUT_ERROR, "Option Error", 0, "Option Error",
+                        "Level Pack out of index");
+                continue;
+            }
+        }
+
+        return startLevelPack(getLevelPacks(levelStage).get(poll));
+    }
+
+    /**
+     * Returns array of level packs of {@code levelStage} upon success otherwise
+     * null<br>
+     * <br>
+     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
+     * stage information)
+     * 
+     * @return array of level packs of {@code levelStage} upon success otherwise
+     *         null
+     */
+    public ArrayList<ILevelPack> getLevelPacks(final Integer levelStage) {
+        if (isLevelStageNotValid(levelStage) || levelStageMap == null) {
+            return null;
+        }
+
+        return getLevelStageMap().get(levelStage);
+    }
+
+    public Integer getLevelStage() {
+        return levelStage;
+    }
+
+    public HashMap<Integer, ArrayList<ILevelPack>> getLevelStageMap() {
+        return levelStageMap;
+    }
+
+    /**
+     * Returns level pack of next level stage upon success or null if last stage
+     * is finished<br>
+     * <br>
+     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
+     * stage information)
+     * 
+     * @return level pack of next level stage upon success or null if last stage
+     *         is finished
+     */
+    public ILevelPack getNextStageLevel() {
+        if (incLevelStage() > Settings_Level.LEVEL_STAGES) {
+            return null;
+        }
+
+        return chooseLevelPack(getLevelStage());
+    }
+
+    /**
+     * Increases level stage by one<br>
+     * <br>
+     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
+     * stage information)
+     * 
+     * @return increased level stage
+     */
+    public Integer incLevelStage() {
+        return ++levelStage;
+    }
+
+    /**
+     * Initializes {@code levelPacks} concurrently on
+     * {@link de.stock.settings.Settings_Level#INITIALIZE_PARALLELISM} threads<br>
+     * <br>
+     * Every level pack is initialized with its own
+     * {@link de.stock.game.GameContext#fork() fork} of the current context, so
+     * the random decisions of a level pack don't depend on the other ones.<br>
+     * Level packs which throw an exception or aren't initialized within
+     * {@link de.stock.settings.Settings_Level#INITIALIZE_TIMEOUT} milliseconds
+     * are reported and returned.<br>
+     * Java can't stop a level pack which ignores the interruption after its
+     * timeout. Its fork gets {@link de.stock.game.GameContext#detach()
+     * detached} and it keeps running on a daemon thread until it returns
+     * 
+     * @return level packs which failed to initialize
+     */
+    HashSet<ILevelPack> initialize(final ArrayList<ILevelPack> levelPacks) {
+        final HashSet<ILevelPack> failed = new HashSet<ILevelPack>();
+        if (levelPacks.isEmpty()) {
+            return failed;
+        }
+
+        final ExecutorService pool = Executors.newFixedThreadPool(
+                Settings_Level.INITIALIZE_PARALLELISM, new ThreadFactory() {
+
+                    @Override
+                    public Thread newThread(final Runnable runnable) {
+                        final Thread thread = new Thread(runnable, "Level pack initializer");
+                        // Level packs which time out must not keep the game
+                        // alive
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        final ArrayList<Future<ILevelPack>> results = new ArrayList<Future<ILevelPack>>();
+        final ArrayList<GameContext> contexts = new ArrayList<GameContext>();
+        try {
+            for (final ILevelPack levelPack : levelPacks) {
+                // Fork on this thread, so every level pack gets the same
+                // random source every time
+                final GameContext context = GameContext.getCurrent().fork();
+                contexts.add(context);
+
+                results.add(pool.submit(new Callable<ILevelPack>() {
+
+                    @Override
+                    public ILevelPack call() {
+                        final GameContext previous = GameContext.enter(context);
+                        try {
+                            levelPack.initialize();
+                            levelPack.setInitialized(true);
+                            return levelPack;
+                        }
+                        finally {
+                            GameContext.setCurrent(previous);
+                        }
+                    }
+                }));
+            }
+
+            final long deadline = System.currentTimeMillis() + Settings_Level.INITIALIZE_TIMEOUT;
+            for (int i = 0; i < results.size(); i++) {
+                final ILevelPack levelPack = levelPacks.get(i);
+                try {
+                    results.get(i).get(Math.max(0, deadline - System.currentTimeMillis()),
+                            TimeUnit.MILLISECONDS);
+                }
+                catch (final ExecutionException e) {
+                    failed.add(levelPack);
+                    Printer.print(Settings_Output.OUT_ERROR, "Level pack error", 0,
+                            "Level pack error", "Unable to initialize level pack "
+                                    + levelPack.getClass().getName() + ": " + e.getCause());
+                }
+                catch (final TimeoutException e) {
+                    failed.add(levelPack);
+                    contexts.get(i).detach();
+                    results.get(i).cancel(true);
+                    Printer.print(Settings_Output.OUT_ERROR, "Level pack error", 0,
+                            "Level pack error", "Initialization of level pack "
+                                    + levelPack.getClass().getName() + " timed out");
+                }
+                catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    for (int j = i; j < results.size(); j++) {
+                        contexts.get(j).detach();
+                        results.get(j).cancel(true);
+                    }
+                    failed.addAll(levelPacks.subList(i, levelPacks.size()));
+                    break;
+                }
+            }
+        }
+        finally {
+            pool.shutdownNow();
+        }
+
+        return failed;
+    }
+
+    /**
+     * Returns true if {@code levelStage} isn't valid<br>
+     * <br>
+     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
+     * stage information)
+     * 
+     * @return {@code true} if {@code levelStage} isn't valid
+     */
+    public boolean isLevelStageNotValid(final Integer levelStage) {
+        if (levelStage == null || levelStage < 0 || levelStage > Settings_Level.LEVEL_STAGE_END) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if {@code levelStage} is valid<br>
+     * <br>
+     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
+     * stage information)
+     * 
+     * @return {@code true} if {@code levelStage} is valid
+     */
+    public boolean isLevelStageValid(final Integer levelStage) {
+        return !isLevelStageNotValid(levelStage);
+    }
+
+    /**
+     * Loads and initializes all level packs from {@code uri} through the
+     * {@link de.stock.level.LevelPackLoader
+     * LevelPackLoader} and registers them at their specific level stage<br>
+     * <br>
+     * The level packs are initialized concurrently (See
+     * {@link #initialize(ArrayList)}) and registered afterwards sorted by
+     * their class. Level packs which fail to initialize are skipped<br>
+     * <br>
+     * Level packs loaded from a {@link de.stock.level.LevelPackIndex level
+     * pack index} are initialized when they get chosen. Level packs of new or
+     * changed jars of an indexed directory are initialized concurrently by
+     * the loader before it updates the index (See
+     * {@link de.stock.level.LevelPackLoader#loadIndexedLevelPacks(java.io.File)})<br>
+     * <br>
+     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
+     * stage information)
+     * 
+     * @param uri
+     *            the uri to load the level packs (mainly .jar's) from
+     * @return
+     *         Non-negative number of registered level packs or -1 on error
+     */
+    public Integer loadLevelPacks(final URI uri) {
+        final ArrayList<ILevelPack> loadedLevels = LevelPackLoader.loadLevelPacks(uri);
+        if (loadedLevels == null) {
+            return -1;
+        }
+
+        // Level packs from the level pack index know their level stage
+        // already and get initialized when they are chosen
+        final ArrayList<ILevelPack> uninitialized = new ArrayList<ILevelPack>();
+        for (final ILevelPack levelPack : loadedLevels) {
+            if (levelPack.isNotInitialized() && levelPack.getLevelStage() == null) {
+                uninitialized.add(levelPack);
+            }
+        }
+        final HashSet<ILevelPack> failed = initialize(uninitialized);
+
+        // Register in the same order every time
+        Collections.sort(loadedLevels, new Comparator<ILevelPack>() {
+
+            @Override
+            public int compare(final ILevelPack a, final ILevelPack b) {
+                return a.getClass().getName().compareTo(b.getClass().getName());
+            }
+        });
+
+        Integer count = 0;
+        for (final ILevelPack levelPack : loadedLevels) {
+            if (failed.contains(levelPack)) {
+                continue;
+            }
+
+            if (add(levelPack.getLevelStage(), levelPack) == true) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Prints all level packs from {@code levelStage}<br>
+     * <br>
+     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
+     * stage information)
+     */
+    public void printLevelPacks(final Integer levelStage) {
+        if (isLevelStageNotValid(levelStage) || getLevelPacks(levelStage) == null) {
+            return;
+        }
+
+        Integer i = 0;
+
+        for (final ILevelPack levelPack : getLevelPacks(levelStage)) {
+            Printer.print(Settings_Output.OUT_OPTION, i, levelPack.getName(),
+                    levelPack.getDescription());
+            i++;
+        }
+    }
+
+    /**
+     * Register {@code levelPack} at levelStage specified in {@code levelPack}<br>
+     * <br>
+     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
+     * stage information)
+     * 
+     * @return {@code true} upon success
+     */
+    public boolean register(final ILevelPack levelPack) {
+        if (levelPack.isNotInitialized()) {
+            levelPack.initialize();
+            levelPack.setInitialized(true);
+        }
+
+        return register(levelPack.getLevelStage(), levelPack);
+    }
+
+    /**
+     * Register {@code levelPack} at {@code levelStage}<br>
+     * <br>
+     * (See {@link de.stock.settings.Settings_Level Settings_Level} for level
+     * stage information)
+     * 
+     * @return {@code true} upon success
+     */
+    public boolean register(final Integer levelStage, final ILevelPack levelPack) {
+        if (isLevelStageNotValid(levelStage) || levelPack == null
+                || getLevelPacks(levelStage) == null) {
+            return false;
+        }
+
+        if (levelPack.isNotInitialized()) {
+            levelPack.initialize();
+            levelPack.setInitialized(true);
+        }
+
+        return add(levelStage, levelPack);
+    }
+
+    /**
+     * Register level pack specifc content (events and tradeables)
+     * 
+     * @param levelPack
+     *            the level pack to get the content from
+     */
+    private void regLvlPckSpfcContent(final ILevelPack levelPack) {
+        // Load the catalog content the level pack uses
+        ContentCatalog.getInstance().resolve(levelPack);
+
+        // Register level pack specific events
+        if (levelPack.getEvents() != null) {
+            for (final MainEvent event : levelPack.getEvents()) {
+                ActionObserver.getInstance().registerEvent(event);
+            }
+        }
+
+        if (levelPack.getTradeables() != null) {
+            // Register level pack specific tradeables to active tradeables
+            for (final ITradeable tradeable : levelPack.getTradeables()) {
+                TradeableHandler.getInstance().registerActiveTradeable(tradeable);
+            }
+        }
+    }
+
+    /**
+     * Starts {@code levelPack} without asking the player<br>
+     * <br>
+     * The level pack specific content (events, tradeables, ...) gets
+     * registered and the level stage is set to the one of {@code levelPack}
+     * 
+     * @return {@code levelPack} upon success otherwise null
+     */
+    public ILevelPack startLevelPack(final ILevelPack levelPack) {
+        if (levelPack == null) {
+            return null;
+        }
+
+        if (levelPack.isNotInitialized()) {
+            levelPack.initialize();
+            levelPack.setInitialized(true);
+        }
+
+        if (isLevelStageValid(levelPack.getLevelStage())) {
+            setLevelStage(levelPack.getLevelStage());
+        }
+
+        regLvlPckSpfcContent(levelPack);
+
+        return levelPack;
+    }
+
+    public void setLevelStage(final Integer levelStage) {
+        this.levelStage = levelStage;
+    }
+
+    public void setLevelStageMap(final HashMap<Integer, ArrayList<ILevelPack>> hashMap) {
+        levelStageMap = hashMap;
+    }
+}
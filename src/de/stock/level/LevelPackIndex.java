@@ -0,0 +1,149 @@
+package de.stock.level;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+import de.stock.deserializer.Deserializer;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.settings.Settings_Output;
+import de.stock.utils.Printer;
+import flexjson.JSONDeserializer;
+
+/**
+ * Cached result of the level pack discovery of a directory<br>
+ * <br>
+ * The index is saved as json-formatted file
+ * {@link de.stock.settings.Settings_Level#LEVELPACK_INDEX} in the level pack
+ * directory and lists the level pack classes of every jar together with the
+ * checksum of the jar (See {@link de.stock.level.LevelPackIndexEntry
+ * LevelPackIndexEntry}).<br>
+ * The {@link de.stock.level.LevelPackLoader LevelPackLoader} scans only the
+ * jars whose checksum differs from the one in the index
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class LevelPackIndex {
+
+    /**
+     * Returns the CRC-32 checksum of the content of {@code file}
+     * 
+     * @return checksum upon success otherwise null
+     */
+    public static Long checksum(final File file) {
+        InputStream in = null;
+        try {
+            in = Files.newInputStream(file.toPath());
+            final CRC32 crc = new CRC32();
+            final byte[] buffer = new byte[Settings_Deserializer.READ_BUFFER_SIZE];
+
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+            return crc.getValue();
+        }
+        catch (final IOException e) {
+            return null;
+        }
+        finally {
+            if (in != null) {
+                try {
+                    in.close();
+                }
+                catch (final IOException e) {
+                    // Nothing left to do
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the index from {@code file}
+     * 
+     * @return index upon success otherwise null
+     */
+    public static LevelPackIndex read(final File file) {
+        if (file.isFile() == false) {
+            return null;
+        }
+
+        Reader reader = null;
+        try {
+            reader = Deserializer.openReader(file);
+            final Object index = new JSONDeserializer<Object>().deserialize(reader);
+            return (index instanceof LevelPackIndex) ? (LevelPackIndex) index : null;
+        }
+        catch (final Exception e) {
+            Printer.print(Settings_Output.OUT_ERROR, "Level pack index error", 0,
+                    "Level pack index error", "Unable to read level pack index " + file.getName());
+            return null;
+        }
+        finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                }
+                catch (final IOException e) {
+                    // Nothing left to do
+                }
+            }
+        }
+    }
+
+    private ArrayList<LevelPackIndexEntry> entries;
+
+    public LevelPackIndex() {
+        entries = new ArrayList<LevelPackIndexEntry>();
+    }
+
+    public ArrayList<LevelPackIndexEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the entries of the index by jar
+     */
+    public HashMap<String, ArrayList<LevelPackIndexEntry>> getEntriesByJar() {
+        final HashMap<String, ArrayList<LevelPackIndexEntry>> jars = new HashMap<String, ArrayList<LevelPackIndexEntry>>();
+
+        if (entries == null) {
+            return jars;
+        }
+
+        for (final LevelPackIndexEntry entry : entries) {
+            if (jars.containsKey(entry.getJar()) == false) {
+                jars.put(entry.getJar(), new ArrayList<LevelPackIndexEntry>());
+            }
+            jars.get(entry.getJar()).add(entry);
+        }
+        return jars;
+    }
+
+    public void setEntries(final ArrayList<LevelPackIndexEntry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Writes the index to {@code file}
+     * 
+     * @return {@code true} upon success
+     */
+    public boolean write(final File file) {
+        try {
+            Files.write(file.toPath(),
+                    Deserializer.serialize(this).getBytes(Settings_Deserializer.CHARSET));
+            return true;
+        }
+        catch (final IOException e) {
+            Printer.print(Settings_Output.OUT_ERROR, "Level pack index error", 0,
+                    "Level pack index error", "Unable to write level pack index " + file.getName());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package de.stock.level;
+
+/**
+ * Entry of the {@link de.stock.level.LevelPackIndex LevelPackIndex}<br>
+ * <br>
+ * Describes one level pack class of a jar together with the checksum of the
+ * jar and the properties the level pack set in
+ * {@link de.stock.level.ILevelPack#initialize()} which are needed to offer it
+ * to the player (name, description and level stage).<br>
+ * A jar without level packs gets one entry without class name
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class LevelPackIndexEntry {
+
+    /**
+     * File name of the jar
+     */
+    private String  jar;
+    /**
+     * CRC-32 checksum of the jar
+     */
+    private Long    checksum;
+    /**
+     * Name of the class implementing {@link de.stock.level.ILevelPack
+     * ILevelPack}
+     */
+    private String  className;
+    private String  name;
+    private String  description;
+    private Integer levelStage;
+
+    public LevelPackIndexEntry() {
+    }
+
+    public LevelPackIndexEntry(final String jar, final Long checksum, final String className) {
+        this.jar = jar;
+        this.checksum = checksum;
+        this.className = className;
+    }
+
+    public Long getChecksum() {
+        return checksum;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getJar() {
+        return jar;
+    }
+
+    public Integer getLevelStage() {
+        return levelStage;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setChecksum(final Long checksum) {
+        this.checksum = checksum;
+    }
+
+    public void setClassName(final String className) {
+        this.className = className;
+    }
+
+    public void setDescription(final String description) {
+        this.description = description;
+    }
+
+    public void setJar(final String jar) {
+        this.jar = jar;
+    }
+
+    public void setLevelStage(final Integer levelStage) {
+        this.levelStage = levelStage;
+    }
+
+    public void setName(final String name) {
+        this.name = name;
+    }
+}
@@ -1,227 +1,469 @@
-package de.stock.level;
-
-import java.net.URI;
-import java.util.ArrayList;
-import java.util.Collection;
-
-import net.xeoh.plugins.base.PluginManager;
-import net.xeoh.plugins.base.impl.PluginManagerFactory;
-import net.xeoh.plugins.base.util.PluginManagerUtil;
-
-/**
- * The level pack loader loads all levels through the
- * {@link #loadLevelPacks(URI)} method.<br>
- * <br>
- * It uses the <a href="http://code.google.com/p/jspf/">Java Simple Plugin
- * Framework</a> to create and load level packs.<br>
- * <br>
- * To <b>create a level pack</b> you have to follow these steps:<br>
- * <br>
- * &nbsp;&nbsp;<b>1.</b> Create your level pack and the components in a package
- * with the following naming convention to avoid conflicts with other level
- * packs from other developers<br>
- * <br>
- * <i>{country code}.{surname}.{level pack name}</i><br>
- * <br>
- * For example de.lange.lemonade<br>
- * <br>
- * &nbsp;&nbsp;<b>2.</b> Create one or more classes which extend the class
- * {@link de.stock.level.LevelDecorator} -> This is a level<br>
- * <br>
- * &nbsp;&nbsp;<b>3.</b> Implement the
- * {@link de.stock.level.ILevel#conferAward() conferAward()} and
- * {@link de.stock.level.ILevel#hasPassedLevel() hasPassedLevel()} method<br>
- * <br>
- * <i>conferAward()</i> may be used to give the player his prize for example
- * some money<br>
- * <br>
- * 
- * <pre>
- * {@code
- * Example for conferAward()
- * {
- *  Player.getInstance.incMoney(100);
- * }
- * </pre>
- * 
- * <i>hasPassedLevel()</i> indicates whether the level goal is reached or not<br>
- * <br>
- * 
- * <pre>
- * Example for hasPassedLevel()
- * {
- *  return (Player.getInstance.getMoney() > 100) ? true : false;
- * }
- * </pre>
- * 
- * &nbsp;&nbsp;<b>4.</b> Create a class which extends the
- * class {@link de.stock.level.LevelPack LevelPack} -> This is the level pack<br>
- * <br>
- * Use the Annotation <i>@PluginImplementation</i> for the class and import
- * <i>net.xeoh.plugins.base.annotations.PluginImplementation</i><br>
- * <br>
- * This must be done cause this game uses the <a
- * href="http://code.google.com/p/jspf/">Java Simple Plugin Framework</a><br>
- * <br>
- * &nbsp;&nbsp;<b>5.</b> Implement the
- * {@link de.stock.level.ILevelPack#initialize() initialize()} method of the
- * class<br>
- * <br>
- * <i>initialize()</i> gets called when the level pack gets
- * {@link de.stock.level.LevelPackHandler#register(ILevelPack) regis}
- * {@link de.stock.level.LevelPackHandler#register(Integer, ILevelPack) tered}
- * at the {@link de.stock.level.LevelPackHandler LevelPackHandler}<br>
- * This method should set the name, the description, .... everything.<br>
- * <br>
- * 
- * <pre>
- * Large Example for initialize()
- * {
- *   // Level pack properties
- *   setName("Lemonade");
- *   setDescription("This is my first level pack which is about lemonades!");
- *   setLevelStage(Settings_Level.MAIN_LEVEL);
- *   setNation("Germany");
- * 
- *   // Set up environments
- *   Location eu = new Location();
- *   eu.setName("European Union");
- *   eu.setDescription("Confederation of 27 member states which are located primarily in Europe");
- * 
- *   Location greece = new Location();
- *   greece.setName("Greece");
- *   greece.setDescription("Greece");
- * 
- *   // Add greece to the european union
- *   eu.linkEnvironment(greece);
- * 
- *   Area lemonPlantations = new Area();
- *   lemonPlantations.setName("Lemon plantations");
- *   lemonPlantations.setDescription("All lemon plantations");
- * 
- *   // Level specific tradeable
- *   Commodity lemons = new Commodity();
- *   lemons.setName("Lemons");
- *   lemons.setDescription("The lemon is a small ellipsoidal yellow fruit");
- * 
- *   lemons.setInitTopBound(15.0);
- *   lemons.setInitBottomBound(5.0);
- * 
- *   lemons.setInfluenceTopBound(3.0);
- *   lemons.setInfluenceBottomBound(0.7);
- * 
- *   lemons.setMaxShares(1200);
- *   lemons.setMinShares(500);
- * 
- *   lemons.registerAtEnvironment(lemonPlantations);
- *   lemons.registerAtEnvironment(greece);
- * 
- *   // Set up a level
- *   // You should use your class(es) from step 2!
- *   ILevel myLevel = new LevelDecorator() {
- * 
- *       // @Override
- *       public void conferAward() {
- *           Printer.println(Settings_Output.OUT_AWARD, 0, "Award earned", "You get 100$ extra money");
- *           Player.getInstance().incMoney(100);
- *       }
- * 
- *       // @Override
- *       public boolean hasPassedLevel() {
- *           return (Player.getInstance().getMoney() >= 100) ? true : false;
- *       }
- *   };
- *   myLevel.setDescription("Get 100$ in money to win this level.");
- * 
- *   // Set up a successor level of myLevel which starts if myLevel's goal is reached
- *   // You should use your class(es) from step 2!
- *   ILevel mySecondLevel = new LevelDecorator() {
- * 
- *       // @Override
- *       public void conferAward() {
- *          // No award
- *       }
- * 
- *       // @Override
- *       public boolean hasPassedLevel() {
- *           return (Player.getInstance().getMoney() >= 500) ? true : false;
- *       }
- *   };
- *   mySecondLevel.setDescription("Get 500$ in money to win this level.");
- * 
- *   // Link second level with first level
- *   // The second level is the successor level which gets started if myLevel's goal is reached
- *   myLevel.addSuccessor(mySecondLevel);
- * 
- *   // Set up an event
- *   MainEvent myEvent = new MainEvent();
- *   myEvent.setPriority(de.stock.utils.Priority.HIGH);
- *   
- *   myEvent.setName("Greece lemon plague");
- *   myEvent.setDescription("All greece lemons are affected by a plague");
- *   
- *   myEvent.setInfluenceBottomBound(2);
- *   myEvent.setInfluenceTopBound(5);
- *   
- *   myEvent.setRoundsTopBound(4);
- *   myEvent.setRoundsBottomBound(1);
- * 
- *   myEvent.setIndexInitTopBound(30);
- *   myEvent.setIndexInitBottomBound(0);
- *   myEvent.setIndexMaximum(100);
- *   myEvent.setExecutionBound(70); // Events starts if this bound is reached
- * 
- *   // Set up environment group which influences all lemon
- *   // plantations in greece
- *   EnvironmentGroup greeceLemonPlantations = new EnvironmentGroup();
- *   greeceLemonPlantations.setName("greeceLemonPlantations");
- *   greeceLemonPlantations.setInfluenceTopLimit(15.0); // In percent
- *   greeceLemonPlantations.setInfluenceBottomLimit(7.0); // In percent
- *   greeceLemonPlantations.setInfluenceNegative(); // Influence is negative -> value of lemons fall!
- *   greeceLemonPlantations.registerEnvironment(greece);
- *   greeceLemonPlantations.registerEnvironment(lemonPlantations);
- * 
- *   // Add environment group to event
- *   myEvent.registerEnvironmentGroup(greeceLemonPlantations);
- *   // Add event to level
- *   myLevel.registerEvent(myEvent);
- *   // Add tradeable to level
- *   myLevel.registerTradeable(lemons);
- *   // Add level to level pack
- *   addFirstLevel(myLevel);
- * }
- * </pre>
- * 
- * &nbsp;&nbsp;<b>6.</b> Create a .jar archive of your package<br>
- * <br>
- * This .jar archive will be loaded with {@link #loadLevelPacks(URI)} from local
- * system or the network<br>
- * <br>
- * <b>If your level pack won't be loaded, check if you set
- * <i>@PluginImplementation</i> from step 4!</b><br>
- * <br>
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public final class LevelPackLoader {
-
-    private static PluginManager pm = null;
-
-    /**
-     * Loads all level packs from {@code uri}
-     * 
-     * @return
-     *         an array containing all loaded level packs upon success else null
-     */
-    public static ArrayList<ILevelPack> loadLevelPacks(final URI uri) {
-
-        if (pm == null) {
-            pm = PluginManagerFactory.createPluginManager();
-        }
-
-        pm.addPluginsFrom(uri);
-        final PluginManagerUtil pmu = new PluginManagerUtil(pm);
-        final Collection<ILevelPack> lpCol = pmu.getPlugins(ILevelPack.class);
-        return (lpCol != null) ? new ArrayList<ILevelPack>(lpCol) : null;
-    }
-}
+package de.stock.level;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import net.xeoh.plugins.base.PluginManager;
+import net.xeoh.plugins.base.annotations.PluginImplementation;
+import net.xeoh.plugins.base.impl.PluginManagerFactory;
+import net.xeoh.plugins.base.util.PluginManagerUtil;
+import de.stock.settings.Settings_Level;
+import de.stock.settings.Settings_Output;
+import de.stock.utils.Printer;
+
+/**
+ * The level pack loader loads all levels through the
+ * {@link #loadLevelPacks(URI)} method.<br>
+ * <br>
+ * It uses the <a href="http://code.google.com/p/jspf/">Java Simple Plugin
+ * Framework</a> to create and load level packs.<br>
+ * <br>
+ * To <b>create a level pack</b> you have to follow these steps:<br>
+ * <br>
+ * &nbsp;&nbsp;<b>1.</b> Create your level pack and the components in a package
+ * with the following naming convention to avoid conflicts with other level
+ * packs from other developers<br>
+ * <br>
+ * <i>{country code}.{surname}.{level pack name}</i><br>
+ * <br>
+ * For example de.lange.lemonade<br>
+ * <br>
+ * &nbsp;&nbsp;<b>2.</b> Create one or more classes which extend the class
+ * {@link de.stock.level.LevelDecorator} -> This is a level<br>
+ * <br>
+ * &nbsp;&nbsp;<b>3.</b> Implement the
+ * {@link de.stock.level.ILevel#conferAward() conferAward()} and
+ * {@link de.stock.level.ILevel#hasPassedLevel() hasPassedLevel()} method<br>
+ * <br>
+ * <i>conferAward()</i> may be used to give the player his prize for example
+ * some money<br>
+ * <br>
+ * 
+ * <pre>
+ * {@code
+ * Example for conferAward()
+ * {
+ *  Player.getInstance.incMoney(100);
+ * }
+ * </pre>
+ * 
+ * <i>hasPassedLevel()</i> indicates whether the level goal is reached or not<br>
+ * <br>
+ * 
+ * <pre>
+ * Example for hasPassedLevel()
+ * {
+ *  return (Player.getInstance.getMoney() > 100) ? true : false;
+ * }
+ * </pre>
+ * 
+ * &nbsp;&nbsp;<b>4.</b> Create a class which extends the
+ * class {@link de.stock.level.LevelPack LevelPack} -> This is the level pack<br>
+ * <br>
+ * Use the Annotation <i>@PluginImplementation</i> for the class and import
+ * <i>net.xeoh.plugins.base.annotations.PluginImplementation</i><br>
+ * <br>
+ * This must be done cause this game uses the <a
+ * href="http://code.google.com/p/jspf/">Java Simple Plugin Framework</a><br>
+ * <br>
+ * &nbsp;&nbsp;<b>5.</b> Implement the
+ * {@link de.stock.level.ILevelPack#initialize() initialize()} method of the
+ * class<br>
+ * <br>
+ * <i>initialize()</i> gets called when the level pack gets
+ * {@link de.stock.level.LevelPackHandler#register(ILevelPack) regis}
+ * {@link de.stock.level.LevelPackHandler#register(Integer, ILevelPack) tered}
+ * at the {@link de.stock.level.LevelPackHandler LevelPackHandler}<br>
+ * This method should set the name, the description, .... everything.<br>
+ * <br>
+ * <b>Level packs are initialized concurrently</b> (See
+ * {@link de.stock.level.LevelPackHandler#loadLevelPacks(URI)}), so
+ * <i>initialize()</i> must only set up the level pack itself and the objects
+ * it creates. It must not modify the handlers (<i>getInstance()</i> of
+ * {@link de.stock.tradeable.TradeableHandler TradeableHandler},
+ * {@link de.stock.action.ActionObserver ActionObserver}, ...) or the player,
+ * they are shared with the other level packs and the game. The level pack
+ * content gets registered when the level pack is chosen. An
+ * <i>initialize()</i> which takes longer than
+ * {@link de.stock.settings.Settings_Level#INITIALIZE_TIMEOUT} gets
+ * interrupted and the level pack is skipped<br>
+ * <br>
+ * 
+ * <pre>
+ * Large Example for initialize()
+ * {
+ *   // Level pack properties
+ *   setName("Lemonade");
+ *   setDescription("This is my first level pack which is about lemonades!");
+ *   setLevelStage(Settings_Level.MAIN_LEVEL);
+ *   setNation("Germany");
+ * 
+ *   // Set up environments
+ *   Location eu = new Location();
+ *   eu.setName("European Union");
+ *   eu.setDescription("Confederation of 27 member states which are located primarily in Europe");
+ * 
+ *   Location greece = new Location();
+ *   greece.setName("Greece");
+ *   greece.setDescription("Greece");
+ * 
+ *   // Add greece to the european union
+ *   eu.linkEnvironment(greece);
+ * 
+ *   Area lemonPlantations = new Area();
+ *   lemonPlantations.setName("Lemon plantations");
+ *   lemonPlantations.setDescription("All lemon plantations");
+ * 
+ *   // Level specific tradeable
+ *   Commodity lemons = new Commodity();
+ *   lemons.setName("Lemons");
+ *   lemons.setDescription("The lemon is a small ellipsoidal yellow fruit");
+ * 
+ *   lemons.setInitTopBound(15.0);
+ *   lemons.setInitBottomBound(5.0);
+ * 
+ *   lemons.setInfluenceTopBound(3.0);
+ *   lemons.setInfluenceBottomBound(0.7);
+ * 
+ *   lemons.setMaxShares(1200);
+ *   lemons.setMinShares(500);
+ * 
+ *   lemons.registerAtEnvironment(lemonPlantations);
+ *   lemons.registerAtEnvironment(greece);
+ * 
+ *   // Set up a level
+ *   // You should use your class(es) from step 2!
+ *   ILevel myLevel = new LevelDecorator() {
+ * 
+ *       // @Override
+ *       public void conferAward() {
+ *           Printer.println(Settings_Output.OUT_AWARD, 0, "Award earned", "You get 100$ extra money");
+ *           Player.getInstance().incMoney(100);
+ *       }
+ * 
+ *       // @Override
+ *       public boolean hasPassedLevel() {
+ *           return (Player.getInstance().getMoney() >= 100) ? true : false;
+ *       }
+ *   };
+ *   myLevel.setDescription("Get 100$ in money to win this level.");
+ * 
+ *   // Set up a successor level of myLevel which starts if myLevel's goal is reached
+ *   // You should use your class(es) from step 2!
+ *   ILevel mySecondLevel = new LevelDecorator() {
+ * 
+ *       // @Override
+ *       public void conferAward() {
+ *          // No award
+ *       }
+ * 
+ *       // @Override
+ *       public boolean hasPassedLevel() {
+ *           return (Player.getInstance().getMoney() >= 500) ? true : false;
+ *       }
+ *   };
+ *   mySecondLevel.setDescription("Get 500$ in money to win this level.");
+ * 
+ *   // Link second level with first level
+ *   // The second level is the successor level which gets started if myLevel's goal is reached
+ *   myLevel.addSuccessor(mySecondLevel);
+ * 
+ *   // Set up an event
+ *   MainEvent myEvent = new MainEvent();
+ *   myEvent.setPriority(de.stock.utils.Priority.HIGH);
+ *   
+ *   myEvent.setName("Greece lemon plague");
+ *   myEvent.setDescription("All greece lemons are affected by a plague");
+ *   
+ *   myEvent.setInfluenceBottomBound(2);
+ *   myEvent.setInfluenceTopBound(5);
+ *   
+ *   myEvent.setRoundsTopBound(4);
+ *   myEvent.setRoundsBottomBound(1);
+ * 
+ *   myEvent.setIndexInitTopBound(30);
+ *   myEvent.setIndexInitBottomBound(0);
+ *   myEvent.setIndexMaximum(100);
+ *   myEvent.setExecutionBound(70); // Events starts if this bound is reached
+ * 
+ *   // Set up environment group which influences all lemon
+ *   // plantations in greece
+ *   EnvironmentGroup greeceLemonPlantations = new EnvironmentGroup();
+ *   greeceLemonPlantations.setName("greeceLemonPlantations");
+ *   greeceLemonPlantations.setInfluenceTopLimit(15.0); // In percent
+ *   greeceLemonPlantations.setInfluenceBottomLimit(7.0); // In percent
+ *   greeceLemonPlantations.setInfluenceNegative(); // Influence is negative -> value of lemons fall!
+ *   greeceLemonPlantations.registerEnvironment(greece);
+ *   greeceLemonPlantations.registerEnvironment(lemonPlantations);
+ * 
+ *   // Add environment group to event
+ *   myEvent.registerEnvironmentGroup(greeceLemonPlantations);
+ *   // Add event to level
+ *   myLevel.registerEvent(myEvent);
+ *   // Add tradeable to level
+ *   myLevel.registerTradeable(lemons);
+ *   // Add level to level pack
+ *   addFirstLevel(myLevel);
+ * }
+ * </pre>
+ * 
+ * &nbsp;&nbsp;<b>6.</b> Create a .jar archive of your package<br>
+ * <br>
+ * This .jar archive will be loaded with {@link #loadLevelPacks(URI)} from local
+ * system or the network<br>
+ * <br>
+ * <b>If your level pack won't be loaded, check if you set
+ * <i>@PluginImplementation</i> from step 4!</b><br>
+ * <br>
+ * <b>Level pack index</b><br>
+ * <br>
+ * Jars of a local directory are scanned once. The found level pack classes are
+ * saved with the checksum of their jar and the name, description and level
+ * stage of the level pack in a {@link de.stock.level.LevelPackIndex
+ * LevelPackIndex}. Level packs of unchanged jars are created from the index
+ * without scanning and are {@link de.stock.level.ILevelPack#initialize()
+ * initialized} not until they get chosen (See
+ * {@link de.stock.level.LevelPackHandler#chooseLevelPack(Integer)}).<br>
+ * Therefore {@code initialize()} must always set the same name, description
+ * and level stage<br>
+ * <br>
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class LevelPackLoader {
+
+    private static PluginManager pm = null;
+
+    /**
+     * Returns the names of all classes of {@code jar} implementing
+     * {@link de.stock.level.ILevelPack ILevelPack} annotated with
+     * <i>@PluginImplementation</i>
+     */
+    private static ArrayList<String> findLevelPacks(final File jar, final ClassLoader loader)
+            throws IOException {
+        final ArrayList<String> classNames = new ArrayList<String>();
+        final JarFile jarFile = new JarFile(jar);
+
+        try {
+            final Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                final String entry = entries.nextElement().getName();
+                if (entry.endsWith(".class") == false || entry.contains("$")) {
+                    continue;
+                }
+
+                final String className = entry.substring(0, entry.length() - 6).replace('/', '.');
+                try {
+                    // Don't initialize the class, it's only inspected
+                    final Class<?> c = Class.forName(className, false, loader);
+                    if (ILevelPack.class.isAssignableFrom(c)
+                            && c.isAnnotationPresent(PluginImplementation.class)
+                            && Modifier.isAbstract(c.getModifiers()) == false) {
+                        classNames.add(className);
+                    }
+                }
+                catch (final ClassNotFoundException e) {
+                    continue;
+                }
+                catch (final LinkageError e) {
+                    continue;
+                }
+            }
+        }
+        finally {
+            jarFile.close();
+        }
+
+        Collections.sort(classNames);
+        return classNames;
+    }
+
+    /**
+     * Creates the level pack {@code className}
+     * 
+     * @return level pack upon success otherwise null
+     */
+    private static ILevelPack instantiate(final String className, final ClassLoader loader) {
+        try {
+            return (ILevelPack) Class.forName(className, true, loader).getDeclaredConstructor()
+                    .newInstance();
+        }
+        catch (final Exception e) {
+            Printer.print(Settings_Output.OUT_ERROR, "Level pack error", 0, "Level pack error",
+                    "Unable to create level pack " + className);
+            return null;
+        }
+    }
+
+    /**
+     * Loads all level packs of the jars in {@code directory} using the
+     * {@link de.stock.level.LevelPackIndex LevelPackIndex} of the directory<br>
+     * <br>
+     * Level packs of jars whose checksum matches the index are created
+     * uninitialized with the name, description and level stage from the
+     * index. Changed or new jars are scanned and their level packs get
+     * initialized concurrently (See
+     * {@link de.stock.level.LevelPackHandler LevelPackHandler}). The index
+     * gets updated afterwards. Jars with level packs which fail to initialize
+     * aren't indexed, so they get scanned again next time
+     * 
+     * @return
+     *         an array containing all loaded level packs upon success else null
+     */
+    public static ArrayList<ILevelPack> loadIndexedLevelPacks(final File directory) {
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return null;
+        }
+
+        final ArrayList<File> jars = new ArrayList<File>();
+        for (final File file : files) {
+            if (file.isFile() && file.getName().endsWith(".jar")) {
+                jars.add(file);
+            }
+        }
+        Collections.sort(jars);
+
+        final File indexFile = new File(directory, Settings_Level.LEVELPACK_INDEX);
+        final LevelPackIndex index = LevelPackIndex.read(indexFile);
+        final HashMap<String, ArrayList<LevelPackIndexEntry>> indexed = (index == null) ? new HashMap<String, ArrayList<LevelPackIndexEntry>>()
+                : index.getEntriesByJar();
+
+        final URL[] urls = new URL[jars.size()];
+        try {
+            for (int i = 0; i < urls.length; i++) {
+                urls[i] = jars.get(i).toURI().toURL();
+            }
+        }
+        catch (final MalformedURLException e) {
+            return null;
+        }
+        final ClassLoader loader = new URLClassLoader(urls, LevelPackLoader.class.getClassLoader());
+
+        final ArrayList<ILevelPack> levelPacks = new ArrayList<ILevelPack>();
+        final LevelPackIndex newIndex = new LevelPackIndex();
+        boolean isChanged = index == null || indexed.size() != jars.size();
+        // Level packs of new or changed jars and their entries which are
+        // completed after the initialization
+        final ArrayList<ILevelPack> scanned = new ArrayList<ILevelPack>();
+        final HashMap<ILevelPack, LevelPackIndexEntry> scannedEntries = new HashMap<ILevelPack, LevelPackIndexEntry>();
+
+        for (final File jar : jars) {
+            final Long checksum = LevelPackIndex.checksum(jar);
+            final ArrayList<LevelPackIndexEntry> entries = indexed.get(jar.getName());
+
+            if (checksum != null && entries != null && checksum.equals(entries.get(0).getChecksum())) {
+                // Unchanged jar
+                for (final LevelPackIndexEntry entry : entries) {
+                    if (entry.getClassName() == null) {
+                        continue;
+                    }
+
+                    final ILevelPack levelPack = instantiate(entry.getClassName(), loader);
+                    if (levelPack != null) {
+                        levelPack.setName(entry.getName());
+                        levelPack.setDescription(entry.getDescription());
+                        levelPack.setLevelStage(entry.getLevelStage());
+                        levelPacks.add(levelPack);
+                    }
+                }
+                newIndex.getEntries().addAll(entries);
+                continue;
+            }
+
+            // New or changed jar
+            isChanged = true;
+            ArrayList<String> classNames;
+            try {
+                classNames = findLevelPacks(jar, loader);
+            }
+            catch (final IOException e) {
+                Printer.print(Settings_Output.OUT_ERROR, "Level pack error", 0,
+                        "Level pack error", "Unable to read " + jar.getName());
+                continue;
+            }
+
+            if (classNames.isEmpty()) {
+                newIndex.getEntries().add(new LevelPackIndexEntry(jar.getName(), checksum, null));
+            }
+
+            for (final String className : classNames) {
+                final ILevelPack levelPack = instantiate(className, loader);
+                if (levelPack == null) {
+                    continue;
+                }
+
+                scanned.add(levelPack);
+                scannedEntries.put(levelPack, new LevelPackIndexEntry(jar.getName(), checksum,
+                        className));
+            }
+        }
+
+        final HashSet<ILevelPack> failed = LevelPackHandler.getInstance().initialize(scanned);
+        final HashSet<String> failedJars = new HashSet<String>();
+        for (final ILevelPack levelPack : failed) {
+            failedJars.add(scannedEntries.get(levelPack).getJar());
+        }
+
+        for (final ILevelPack levelPack : scanned) {
+            if (failed.contains(levelPack)) {
+                continue;
+            }
+            levelPacks.add(levelPack);
+
+            final LevelPackIndexEntry entry = scannedEntries.get(levelPack);
+            if (failedJars.contains(entry.getJar()) == false) {
+                entry.setName(levelPack.getName());
+                entry.setDescription(levelPack.getDescription());
+                entry.setLevelStage(levelPack.getLevelStage());
+                newIndex.getEntries().add(entry);
+            }
+        }
+
+        if (isChanged) {
+            newIndex.write(indexFile);
+        }
+
+        return levelPacks;
+    }
+
+    /**
+     * Loads all level packs from {@code uri}<br>
+     * <br>
+     * Local directories are loaded through their index if
+     * {@link de.stock.settings.Settings_Level#USE_LEVELPACK_INDEX} is set (See
+     * {@link #loadIndexedLevelPacks(File)})
+     * 
+     * @return
+     *         an array containing all loaded level packs upon success else null
+     */
+    public static ArrayList<ILevelPack> loadLevelPacks(final URI uri) {
+
+        if (Settings_Level.USE_LEVELPACK_INDEX && "file".equals(uri.getScheme())
+                && new File(uri).isDirectory()) {
+            return loadIndexedLevelPacks(new File(uri));
+        }
+
+        if (pm == null) {
+            pm = PluginManagerFactory.createPluginManager();
+        }
+
+        pm.addPluginsFrom(uri);
+        final PluginManagerUtil pmu = new PluginManagerUtil(pm);
+        final Collection<ILevelPack> lpCol = pmu.getPlugins(ILevelPack.class);
+        return (lpCol != null) ? new ArrayList<ILevelPack>(lpCol) : null;
+    }
+}
@@ -1,56 +1,98 @@
-package de.stock.settings;
-
-/**
- * Provides settings for the deserializer
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public final class Settings_Deserializer {
-
-    /**
-     * Used for deserialzer
-     */
-    public static final Integer TYPE_TRADEABLE         = 0x0001;
-    /**
-     * Used for deserialzer
-     */
-    public static final Integer TYPE_EVENT             = 0x0002;
-    /**
-     * Used for deserialzer
-     */
-    public static final Integer TYPE_ENVIRONMENT       = 0x0003;
-    /**
-     * Used for deserialzer
-     */
-    public static final Integer TYPE_LEVELPACK         = 0x0004;
-    /**
-     * Serialized tradeable file extension
-     */
-    public static final String  EXTENSION_TRADEABLES   = ".trd";
-    /**
-     * Serialized event file extension
-     */
-    public static final String  EXTENSION_EVENTS       = ".evt";
-    /**
-     * Serialized environment file extension
-     */
-    public static final String  EXTENSION_ENVIRONMENTS = ".env";
-    /**
-     * Level file extension
-     */
-    public static final String  EXTENSION_LEVELPACKS   = ".lvl";
-    /**
-     * Serialized tradeable path
-     */
-    public static String        PATH_TRADEABLES        = Settings_Game.PATH_RESOURCES
-                                                               + "tradeables/";
-    /**
-     * Serialized event path
-     */
-    public static String        PATH_EVENTS            = Settings_Game.PATH_RESOURCES + "events/";
-    /**
-     * Serialized environment path
-     */
-    public static String        PATH_ENVIRONMENTS      = Settings_Game.PATH_RESOURCES
-                                                               + "environments/";
-}
+package de.stock.settings;
+
+/**
+ * Provides settings for the deserializer
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class Settings_Deserializer {
+
+    /**
+     * Used for deserialzer
+     */
+    public static final Integer TYPE_TRADEABLE         = 0x0001;
+    /**
+     * Used for deserialzer
+     */
+    public static final Integer TYPE_EVENT             = 0x0002;
+    /**
+     * Used for deserialzer
+     */
+    public static final Integer TYPE_ENVIRONMENT       = 0x0003;
+    /**
+     * Used for deserialzer
+     */
+    public static final Integer TYPE_LEVELPACK         = 0x0004;
+    /**
+     * Charset of serialized files
+     */
+    public static final String  CHARSET                = "UTF-8";
+    /**
+     * Files larger than this number of bytes are memory mapped by
+     * {@link de.stock.deserializer.Deserializer#readFile(java.io.File)
+     * Deserializer.readFile()}
+     */
+    public static final Integer MAPPED_READ_THRESHOLD  = 1 << 20;
+    /**
+     * Buffer size in bytes used to stream files into the json parser
+     */
+    public static final Integer READ_BUFFER_SIZE       = 1 << 16;
+    /**
+     * Number of threads used by
+     * {@link de.stock.deserializer.Deserializer#deserializeParallel(Integer...)
+     * Deserializer.deserializeParallel()}
+     */
+    public static Integer       PARALLELISM            = Runtime.getRuntime()
+                                                               .availableProcessors();
+    /**
+     * Indicates whether the resource directories are only indexed at startup
+     * and their content is loaded on demand through the
+     * {@link de.stock.deserializer.ContentCatalog ContentCatalog} (true) or
+     * deserialized at once (false)
+     */
+    public static boolean       LAZY_LOADING           = false;
+    /**
+     * Indicates whether changed resource files are reloaded while the game is
+     * running (See {@link de.stock.deserializer.ContentWatcher ContentWatcher})
+     */
+    public static boolean       HOT_RELOAD             = false;
+    /**
+     * Serialized tradeable file extension
+     */
+    public static final String  EXTENSION_TRADEABLES   = ".trd";
+    /**
+     * Serialized event file extension
+     */
+    public static final String  EXTENSION_EVENTS       = ".evt";
+    /**
+     * Serialized environment file extension
+     */
+    public static final String  EXTENSION_ENVIRONMENTS = ".env";
+    /**
+     * Level file extension
+     */
+    public static final String  EXTENSION_LEVELPACKS   = ".lvl";
+    /**
+     * Serialized tradeable path
+     */
+    public static String        PATH_TRADEABLES        = Settings_Game.PATH_RESOURCES
+                                                               + "tradeables/";
+    /**
+     * Serialized event path
+     */
+    public static String        PATH_EVENTS            = Settings_Game.PATH_RESOURCES + "events/";
+    /**
+     * Serialized environment path
+     */
+    public static String        PATH_ENVIRONMENTS      = Settings_Game.PATH_RESOURCES
+                                                               + "environments/";
+    /**
+     * Precompiled content bundle (See
+     * {@link de.stock.deserializer.ContentBundle ContentBundle})<br>
+     * <br>
+     * Loaded instead of the resource directories if it exists and none of
+     * their files changed since it was compiled
+     */
+    public static String        PATH_BUNDLE            = Settings_Game.PATH_RESOURCES
+                                                               + "content.bundle";
+}
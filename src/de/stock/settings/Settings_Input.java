@@ -1,23 +1,23 @@
-package de.stock.settings;
-
-/**
- * Provides settings for the input of information
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public final class Settings_Input {
-
-    // Input: String
-    public static final Integer IN_STRING        = 0x7000;
-    public static final Integer IN_STRING_HEAD   = 0x7001;
-    public static final Integer IN_STRING_VALUE  = 0x7002;
-    public static final Integer IN_STRING_NAME   = 0x7003;
-    public static final Integer IN_STRING_TEXT   = 0x7004;
-    // Input: Integer
-    public static final Integer IN_INTEGER       = 0x8000;
-    public static final Integer IN_INTEGER_HEAD  = 0x8001;
-    public static final Integer IN_INTEGER_VALUE = 0x8002;
-    public static final Integer IN_INTEGER_NAME  = 0x8003;
-    public static final Integer IN_INTEGER_TEXT  = 0x8004;
-
-}
+package de.stock.settings;
+
+/**
+ * Provides settings for the input of information
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class Settings_Input {
+
+    // Input: String
+    public static final Integer IN_STRING        = 0x7000;
+    public static final Integer IN_STRING_HEAD   = 0x7001;
+    public static final Integer IN_STRING_VALUE  = 0x7002;
+    public static final Integer IN_STRING_NAME   = 0x7003;
+    public static final Integer IN_STRING_TEXT   = 0x7004;
+    // Input: Integer
+    public static final Integer IN_INTEGER       = 0x8000;
+    public static final Integer IN_INTEGER_HEAD  = 0x8001;
+    public static final Integer IN_INTEGER_VALUE = 0x8002;
+    public static final Integer IN_INTEGER_NAME  = 0x8003;
+    public static final Integer IN_INTEGER_TEXT  = 0x8004;
+
+}
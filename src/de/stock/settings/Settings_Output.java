@@ -1,58 +1,58 @@
-package de.stock.settings;
-
-/**
- * Provides settings for the output of information
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public final class Settings_Output {
-
-    // Output: Message
-    public static final Integer OUT_MSG             = 0x000;
-    public static final Integer OUT_MSG_HEAD        = 0x001;
-    public static final Integer OUT_MSG_VALUE       = 0x002;
-    public static final Integer OUT_MSG_NAME        = 0x003;
-    public static final Integer OUT_MSG_TEXT        = 0x004;
-    // Output: Info
-    public static final Integer OUT_INFO            = 0x100;
-    public static final Integer OUT_INFO_HEAD       = 0x101;
-    public static final Integer OUT_INFO_VALUE      = 0x102;
-    public static final Integer OUT_INFO_NAME       = 0x103;
-    public static final Integer OUT_INFO_TEXT       = 0x104;
-    // Output: Error
-    public static final Integer OUT_ERROR           = 0x200;
-    public static final Integer OUT_ERROR_HEAD      = 0x201;
-    public static final Integer OUT_ERROR_VALUE     = 0x202;
-    public static final Integer OUT_ERROR_NAME      = 0x203;
-    public static final Integer OUT_ERROR_TEXT      = 0x204;
-    // Output: Option
-    public static final Integer OUT_OPTION          = 0x300;
-    public static final Integer OUT_OPTION_HEAD     = 0x301;
-    public static final Integer OUT_OPTION_VALUE    = 0x302;
-    public static final Integer OUT_OPTION_NAME     = 0x303;
-    public static final Integer OUT_OPTION_TEXT     = 0x304;
-    // Output: Tradeable
-    public static final Integer OUT_TRADEABLE       = 0x400;
-    public static final Integer OUT_TRADEABLE_HEAD  = 0x401;
-    public static final Integer OUT_TRADEABLE_VALUE = 0x402;
-    public static final Integer OUT_TRADEABLE_NAME  = 0x403;
-    public static final Integer OUT_TRADEABLE_TEXT  = 0x404;
-    // Output: Level
-    public static final Integer OUT_LEVEL           = 0x500;
-    public static final Integer OUT_LEVEL_HEAD      = 0x501;
-    public static final Integer OUT_LEVEL_VALUE     = 0x502;
-    public static final Integer OUT_LEVEL_NAME      = 0x503;
-    public static final Integer OUT_LEVEL_TEXT      = 0x504;
-    // Output: Event
-    public static final Integer OUT_EVENT           = 0x600;
-    public static final Integer OUT_EVENT_HEAD      = 0x601;
-    public static final Integer OUT_EVENT_VALUE     = 0x602;
-    public static final Integer OUT_EVENT_NAME      = 0x603;
-    public static final Integer OUT_EVENT_TEXT      = 0x604;
-    // Output: Award
-    public static final Integer OUT_AWARD           = 0x700;
-    public static final Integer OUT_AWARD_HEAD      = 0x701;
-    public static final Integer OUT_AWARD_VALUE     = 0x702;
-    public static final Integer OUT_AWARD_NAME      = 0x703;
-    public static final Integer OUT_AWARD_TEXT      = 0x704;
-}
+package de.stock.settings;
+
+/**
+ * Provides settings for the output of information
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class Settings_Output {
+
+    // Output: Message
+    public static final Integer OUT_MSG             = 0x000;
+    public static final Integer OUT_MSG_HEAD        = 0x001;
+    public static final Integer OUT_MSG_VALUE       = 0x002;
+    public static final Integer OUT_MSG_NAME        = 0x003;
+    public static final Integer OUT_MSG_TEXT        = 0x004;
+    // Output: Info
+    public static final Integer OUT_INFO            = 0x100;
+    public static final Integer OUT_INFO_HEAD       = 0x101;
+    public static final Integer OUT_INFO_VALUE      = 0x102;
+    public static final Integer OUT_INFO_NAME       = 0x103;
+    public static final Integer OUT_INFO_TEXT       = 0x104;
+    // Output: Error
+    public static final Integer OUT_ERROR           = 0x200;
+    public static final Integer OUT_ERROR_HEAD      = 0x201;
+    public static final Integer OUT_ERROR_VALUE     = 0x202;
+    public static final Integer OUT_ERROR_NAME      = 0x203;
+    public static final Integer OUT_ERROR_TEXT      = 0x204;
+    // Output: Option
+    public static final Integer OUT_OPTION          = 0x300;
+    public static final Integer OUT_OPTION_HEAD     = 0x301;
+    public static final Integer OUT_OPTION_VALUE    = 0x302;
+    public static final Integer OUT_OPTION_NAME     = 0x303;
+    public static final Integer OUT_OPTION_TEXT     = 0x304;
+    // Output: Tradeable
+    public static final Integer OUT_TRADEABLE       = 0x400;
+    public static final Integer OUT_TRADEABLE_HEAD  = 0x401;
+    public static final Integer OUT_TRADEABLE_VALUE = 0x402;
+    public static final Integer OUT_TRADEABLE_NAME  = 0x403;
+    public static final Integer OUT_TRADEABLE_TEXT  = 0x404;
+    // Output: Level
+    public static final Integer OUT_LEVEL           = 0x500;
+    public static final Integer OUT_LEVEL_HEAD      = 0x501;
+    public static final Integer OUT_LEVEL_VALUE     = 0x502;
+    public static final Integer OUT_LEVEL_NAME      = 0x503;
+    public static final Integer OUT_LEVEL_TEXT      = 0x504;
+    // Output: Event
+    public static final Integer OUT_EVENT           = 0x600;
+    public static final Integer OUT_EVENT_HEAD      = 0x601;
+    public static final Integer OUT_EVENT_VALUE     = 0x602;
+    public static final Integer OUT_EVENT_NAME      = 0x603;
+    public static final Integer OUT_EVENT_TEXT      = 0x604;
+    // Output: Award
+    public static final Integer OUT_AWARD           = 0x700;
+    public static final Integer OUT_AWARD_HEAD      = 0x701;
+    public static final Integer OUT_AWARD_VALUE     = 0x702;
+    public static final Integer OUT_AWARD_NAME      = 0x703;
+    public static final Integer OUT_AWARD_TEXT      = 0x704;
+}
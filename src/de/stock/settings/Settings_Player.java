@@ -1,24 +1,24 @@
-package de.stock.settings;
-
-/**
- * Provides settings for the player
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public class Settings_Player {
-
-    /**
-     * Money player starts with in easy difficulty
-     */
-    public static Integer PLAYER_MONEY_EASY = 50;
-
-    /**
-     * Money player starts with in normal difficulty
-     */
-    public static Integer PLAYER_MONEY_NORMAL = 40;
-    
-    /**
-     * Money player starts with in hard difficulty
-     */
-    public static Integer PLAYER_MONEY_HARD = 25;
-}
+package de.stock.settings;
+
+/**
+ * Provides settings for the player
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class Settings_Player {
+
+    /**
+     * Money player starts with in easy difficulty
+     */
+    public static Integer PLAYER_MONEY_EASY = 50;
+
+    /**
+     * Money player starts with in normal difficulty
+     */
+    public static Integer PLAYER_MONEY_NORMAL = 40;
+    
+    /**
+     * Money player starts with in hard difficulty
+     */
+    public static Integer PLAYER_MONEY_HARD = 25;
+}
@@ -0,0 +1,29 @@
+package de.stock.settings;
+
+/**
+ * Provides settings for the {@link de.stock.simulation.SimulationEngine
+ * simulation} of games
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class Settings_Simulation {
+
+    /**
+     * Number of games played by the
+     * {@link de.stock.simulation.MonteCarloRunner MonteCarloRunner} by default
+     */
+    public static final Integer MONTE_CARLO_GAMES      = 1000;
+
+    /**
+     * Maximum number of rounds of one game played by the
+     * {@link de.stock.simulation.MonteCarloRunner MonteCarloRunner} by default
+     */
+    public static final Integer MONTE_CARLO_MAX_ROUNDS = 200;
+
+    /**
+     * Number of games one task of the
+     * {@link de.stock.simulation.MonteCarloRunner MonteCarloRunner} plays
+     * before its results get published as partial statistics
+     */
+    public static final Integer MONTE_CARLO_BATCH_SIZE = 16;
+}
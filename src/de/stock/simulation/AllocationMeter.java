@@ -0,0 +1,171 @@
+package de.stock.simulation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Counts the heap bytes the subsystems of a round allocate on the current
+ * thread<br>
+ * <br>
+ * The meter reads the allocated bytes of the thread (See
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)})
+ * before and after every subsystem of
+ * {@link de.stock.simulation.SimulationEngine#playRound()}. The bytes the
+ * measurement needs itself are calibrated once and subtracted.<br>
+ * <br>
+ * The steady-state round of a headless game should allocate nothing, so every
+ * byte reported by {@link #getBytesPerRound(Subsystem)} points to garbage
+ * which causes garbage collection pauses in long running simulations<br>
+ * <br>
+ * Usage:<br>
+ * &nbsp;&nbsp;meter = new AllocationMeter();<br>
+ * &nbsp;&nbsp;engine.setAllocationMeter(meter);<br>
+ * &nbsp;&nbsp;engine.run(1000);<br>
+ * &nbsp;&nbsp;System.out.println(meter.report());<br>
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class AllocationMeter {
+
+    /**
+     * Measured parts of a round
+     */
+    public enum Subsystem {
+        CONTENT, SNAPSHOT, ACTIVE_EVENTS, MAIN_EVENTS, LEVELS, TRADEABLES, STRATEGY
+    }
+
+    /**
+     * Returns the bean which counts the allocated bytes of threads or null if
+     * the virtual machine doesn't support it
+     */
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean == false) {
+            return null;
+        }
+
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+        if (allocationBean.isThreadAllocatedMemorySupported() == false) {
+            return null;
+        }
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+        return allocationBean;
+    }
+
+    private final com.sun.management.ThreadMXBean bean;
+    /**
+     * Allocated bytes by subsystem
+     */
+    private final long[]                          bytes;
+    /**
+     * Bytes one measurement allocates itself
+     */
+    private final long                            overhead;
+    private long                                  rounds;
+    /**
+     * Allocated bytes of the thread when the current subsystem began
+     */
+    private long                                  begin;
+
+    public AllocationMeter() {
+        bean = getThreadMXBean();
+        bytes = new long[Subsystem.values().length];
+        rounds = 0;
+
+        // Calibrate with empty measurements
+        long minimum = 0;
+        if (bean != null) {
+            minimum = Long.MAX_VALUE;
+            for (int i = 0; i < 16; i++) {
+                final long before = getAllocatedBytes();
+                minimum = Math.min(minimum, getAllocatedBytes() - before);
+            }
+        }
+        overhead = minimum;
+    }
+
+    /**
+     * Starts measuring a subsystem (See {@link #end(Subsystem)})
+     */
+    public void begin() {
+        begin = getAllocatedBytes();
+    }
+
+    /**
+     * Adds the bytes allocated since {@link #begin()} to {@code subsystem}
+     */
+    public void end(final Subsystem subsystem) {
+        bytes[subsystem.ordinal()] += Math.max(getAllocatedBytes() - begin - overhead, 0);
+    }
+
+    /**
+     * Counts a finished round
+     */
+    public void endRound() {
+        rounds++;
+    }
+
+    private long getAllocatedBytes() {
+        return (bean == null) ? 0 : bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Returns the bytes {@code subsystem} allocated in all measured rounds
+     */
+    public long getBytes(final Subsystem subsystem) {
+        return bytes[subsystem.ordinal()];
+    }
+
+    /**
+     * Returns the average bytes {@code subsystem} allocated per round
+     */
+    public double getBytesPerRound(final Subsystem subsystem) {
+        return (rounds == 0) ? 0.0 : (double) getBytes(subsystem) / rounds;
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the average bytes all subsystems allocated per round
+     */
+    public double getTotalBytesPerRound() {
+        double total = 0.0;
+        for (final Subsystem subsystem : Subsystem.values()) {
+            total += getBytesPerRound(subsystem);
+        }
+        return total;
+    }
+
+    /**
+     * Returns whether the virtual machine counts the allocated bytes of
+     * threads (otherwise the meter reports nothing)
+     */
+    public boolean isSupported() {
+        return bean != null;
+    }
+
+    /**
+     * Returns the bytes per round of every subsystem, one subsystem per line
+     */
+    public String report() {
+        final StringBuilder report = new StringBuilder();
+        report.append("Allocated bytes per round (").append(rounds).append(" rounds)\n");
+        for (final Subsystem subsystem : Subsystem.values()) {
+            report.append(String.format("\t%-14s %12.1f%n", subsystem, getBytesPerRound(subsystem)));
+        }
+        report.append(String.format("\t%-14s %12.1f%n", "TOTAL", getTotalBytesPerRound()));
+        return report.toString();
+    }
+
+    /**
+     * Forgets all measured rounds
+     */
+    public void reset() {
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = 0;
+        }
+        rounds = 0;
+    }
+}
@@ -0,0 +1,113 @@
+package de.stock.simulation;
+
+/**
+ * Summary of a distribution of values (count, mean, standard deviation,
+ * minimum and maximum)<br>
+ * <br>
+ * Distributions of different threads can be combined with
+ * {@link #merge(Distribution)}
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class Distribution {
+
+    private long   count;
+    private double sum;
+    private double sumOfSquares;
+    private double min;
+    private double max;
+
+    public Distribution() {
+        count = 0;
+        sum = 0;
+        sumOfSquares = 0;
+        min = Double.NaN;
+        max = Double.NaN;
+    }
+
+    /**
+     * Adds {@code value} to the distribution
+     */
+    public void add(final double value) {
+        if (count == 0 || value < min) {
+            min = value;
+        }
+        if (count == 0 || value > max) {
+            max = value;
+        }
+        count++;
+        sum += value;
+        sumOfSquares += value * value;
+    }
+
+    /**
+     * Returns a copy of this distribution
+     */
+    public Distribution copy() {
+        final Distribution copy = new Distribution();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of all values or NaN if there is no value
+     */
+    public double getMean() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return sum / count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the standard deviation of all values or NaN if there is no
+     * value
+     */
+    public double getStandardDeviation() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        final double mean = getMean();
+        return Math.sqrt(Math.max(0, sumOfSquares / count - mean * mean));
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * Adds all values of {@code distribution} to this distribution
+     */
+    public void merge(final Distribution distribution) {
+        if (distribution == null || distribution.count == 0) {
+            return;
+        }
+        if (count == 0 || distribution.min < min) {
+            min = distribution.min;
+        }
+        if (count == 0 || distribution.max > max) {
+            max = distribution.max;
+        }
+        count += distribution.count;
+        sum += distribution.sum;
+        sumOfSquares += distribution.sumOfSquares;
+    }
+
+    @Override
+    public String toString() {
+        return "count " + count + ", mean " + getMean() + ", deviation "
+                + getStandardDeviation() + ", min " + min + ", max " + max;
+    }
+}
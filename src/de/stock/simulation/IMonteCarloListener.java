@@ -0,0 +1,21 @@
+package de.stock.simulation;
+
+/**
+ * Gets the partial statistics of a running
+ * {@link de.stock.simulation.MonteCarloRunner MonteCarloRunner} every time a
+ * batch of games was played
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public interface IMonteCarloListener {
+
+    /**
+     * Called with a copy of the statistics of all games played so far<br>
+     * <br>
+     * Gets called from worker threads, but never concurrently
+     * 
+     * @param statistics
+     *            statistics of all games played so far
+     */
+    public abstract void partialResult(final MonteCarloStatistics statistics);
+}
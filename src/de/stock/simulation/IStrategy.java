@@ -0,0 +1,23 @@
+package de.stock.simulation;
+
+/**
+ * A strategy takes the part of the player in a headless game (See
+ * {@link de.stock.simulation.SimulationEngine SimulationEngine})<br>
+ * <br>
+ * {@link #act(SimulationEngine)} gets called once per round after all events
+ * and tradeables were updated. The strategy can buy and sell tradeables
+ * through {@link de.stock.game.Player Player} or
+ * {@link de.stock.game.Game#executeCommand(String) Game.executeCommand}
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public interface IStrategy {
+
+    /**
+     * Called once per round
+     * 
+     * @param engine
+     *            the engine which runs the game
+     */
+    public abstract void act(final SimulationEngine engine);
+}
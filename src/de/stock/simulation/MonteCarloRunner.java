@@ -0,0 +1,297 @@
+package de.stock.simulation;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import de.stock.game.GameContext;
+import de.stock.level.ILevelPack;
+import de.stock.settings.Settings_Output;
+import de.stock.settings.Settings_Simulation;
+import de.stock.utils.Printer;
+import de.stock.utils.RandomSource;
+
+/**
+ * The Monte Carlo runner plays a level pack many times headless and collects
+ * {@link de.stock.simulation.MonteCarloStatistics statistics} to balance the
+ * level pack<br>
+ * <br>
+ * The games are played on a fork-join pool. Every game gets a new instance of
+ * the level pack and its own {@link de.stock.game.GameContext GameContext}
+ * seeded with the seed of the runner and the number of the game, so runs with
+ * the same seed play the same games.<br>
+ * <br>
+ * A game that can't be started or throws an exception is reported and counted
+ * as {@link de.stock.simulation.MonteCarloStatistics#getFailedGames() failed}
+ * without stopping the other games.<br>
+ * <br>
+ * Statistics of finished batches are published to the
+ * {@link de.stock.simulation.IMonteCarloListener listeners} while the runner
+ * works and a long run can be stopped with {@link #cancel()}<br>
+ * <br>
+ * Usage:<br>
+ * &nbsp;&nbsp;runner = new MonteCarloRunner(MyTestLevelPack.class);<br>
+ * &nbsp;&nbsp;runner.setGames(10000);<br>
+ * &nbsp;&nbsp;statistics = runner.run();<br>
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class MonteCarloRunner {
+
+    /**
+     * Plays the games {@code from} (inclusive) to {@code to} (exclusive)
+     */
+    private class MonteCarloTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int         from;
+        private final int         to;
+
+        MonteCarloTask(final int from, final int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled) {
+                return;
+            }
+
+            if (to - from > batchSize) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new MonteCarloTask(from, middle), new MonteCarloTask(middle, to));
+                return;
+            }
+
+            final MonteCarloStatistics batch = new MonteCarloStatistics();
+            for (int game = from; game < to && cancelled == false; game++) {
+                playGame(game, batch);
+            }
+
+            if (batch.getGames() > 0 || batch.getFailedGames() > 0) {
+                publish(batch);
+            }
+        }
+    }
+
+    /**
+     * Mixes {@code seed} and {@code game} to the seed of one game (See
+     * {@link de.stock.utils.RandomSource#mix(long, long)})<br>
+     * <br>
+     * The games must not get seeds a gamma step apart, their random values
+     * would be the values of the game before shifted by one
+     */
+    static long getGameSeed(final long seed, final int game) {
+        return RandomSource.mix(seed, game);
+    }
+
+    private final Class<? extends ILevelPack>    levelPackClass;
+    /**
+     * Used by all games and therefore must not keep state of a game
+     */
+    private IStrategy                            strategy;
+    private Integer                              games;
+    private Integer                              maxRounds;
+    private Integer                              batchSize;
+    private Integer                              parallelism;
+    private double                               money;
+    private long                                 seed;
+
+    private volatile boolean                     cancelled;
+
+    /**
+     * Statistics of all published batches
+     */
+    private MonteCarloStatistics                 statistics;
+
+    private final ArrayList<IMonteCarloListener> listeners;
+
+    public MonteCarloRunner(final Class<? extends ILevelPack> levelPackClass) {
+        this.levelPackClass = levelPackClass;
+        strategy = null;
+        games = Settings_Simulation.MONTE_CARLO_GAMES;
+        maxRounds = Settings_Simulation.MONTE_CARLO_MAX_ROUNDS;
+        batchSize = Settings_Simulation.MONTE_CARLO_BATCH_SIZE;
+        parallelism = Runtime.getRuntime().availableProcessors();
+        money = 0;
+        seed = System.nanoTime();
+        cancelled = false;
+        statistics = new MonteCarloStatistics();
+        listeners = new ArrayList<IMonteCarloListener>();
+    }
+
+    public void addListener(final IMonteCarloListener listener) {
+        if (listener != null && listeners.contains(listener) == false) {
+            listeners.add(listener);
+        }
+    }
+
+    /**
+     * Stops the runner after the running games<br>
+     * <br>
+     * {@link #run()} returns the statistics of all games played so far
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public Integer getGames() {
+        return games;
+    }
+
+    public Class<? extends ILevelPack> getLevelPackClass() {
+        return levelPackClass;
+    }
+
+    public Integer getMaxRounds() {
+        return maxRounds;
+    }
+
+    public double getMoney() {
+        return money;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns a copy of the statistics of all games played so far
+     */
+    public synchronized MonteCarloStatistics getPartialStatistics() {
+        return statistics.copy();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public IStrategy getStrategy() {
+        return strategy;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Plays game number {@code game} in its own context and adds the results
+     * to {@code batch}<br>
+     * <br>
+     * A failed game is counted and reported (outside of the headless context
+     * of the game) instead of stopping the batch
+     */
+    private void playGame(final int game, final MonteCarloStatistics batch) {
+        final GameContext context = new GameContext(getGameSeed(seed, game));
+        final GameContext previous = GameContext.enter(context);
+        String failure = null;
+        try {
+            final ILevelPack levelPack = levelPackClass.getDeclaredConstructor().newInstance();
+
+            final SimulationEngine engine = new SimulationEngine(strategy, context);
+            context.getActionObserver().addListener(new StatisticsListener(batch));
+
+            if (engine.start(levelPack, money) == false) {
+                failure = "Couldn't start level pack " + levelPackClass.getName();
+                return;
+            }
+            engine.run(maxRounds);
+
+            batch.addGame(context.getPlayer().getMoney(), engine.getRoundsPlayed(),
+                    engine.isFinished());
+        }
+        catch (final Exception e) {
+            failure = e.toString();
+        }
+        finally {
+            GameContext.setCurrent(previous);
+            if (failure != null) {
+                batch.addFailedGame();
+                Printer.print(Settings_Output.OUT_ERROR, "Game error", 0, "Game error", "Game "
+                        + game + " failed: " + failure);
+            }
+        }
+    }
+
+    /**
+     * Merges {@code batch} into the statistics and notifies all listeners
+     */
+    private synchronized void publish(final MonteCarloStatistics batch) {
+        statistics.merge(batch);
+
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        final MonteCarloStatistics partial = statistics.copy();
+        for (final IMonteCarloListener listener : listeners) {
+            listener.partialResult(partial);
+        }
+    }
+
+    public void removeListener(final IMonteCarloListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Plays all games and returns their statistics<br>
+     * <br>
+     * Returns the statistics of the games played so far if the runner got
+     * {@link #cancel() cancelled}
+     * 
+     * @return statistics of all played games
+     */
+    public MonteCarloStatistics run() {
+        synchronized (this) {
+            cancelled = false;
+            statistics = new MonteCarloStatistics();
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new MonteCarloTask(0, games));
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        return getPartialStatistics();
+    }
+
+    public void setBatchSize(final Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setGames(final Integer games) {
+        this.games = games;
+    }
+
+    public void setMaxRounds(final Integer maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Money the player starts every game with
+     */
+    public void setMoney(final double money) {
+        this.money = money;
+    }
+
+    public void setParallelism(final Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setSeed(final long seed) {
+        this.seed = seed;
+    }
+
+    public void setStrategy(final IStrategy strategy) {
+        this.strategy = strategy;
+    }
+}
@@ -0,0 +1,169 @@
+package de.stock.simulation;
+
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+/**
+ * Statistics of games played by the
+ * {@link de.stock.simulation.MonteCarloRunner MonteCarloRunner}<br>
+ * <br>
+ * - number of played, finished and failed games<br>
+ * - final money of the player<br>
+ * - played rounds per game<br>
+ * - rounds needed to pass each level (keyed by level name)<br>
+ * - number of starts of each event (keyed by event name)<br>
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class MonteCarloStatistics {
+
+    /**
+     * Number of played games
+     */
+    private long                               games;
+    /**
+     * Number of games which ended before the maximum number of rounds was
+     * reached
+     */
+    private long                               finishedGames;
+    /**
+     * Number of games which couldn't be started or threw an exception. They
+     * aren't part of the other statistics
+     */
+    private long                               failedGames;
+    /**
+     * Money of the player at the end of each game
+     */
+    private Distribution                       money;
+    /**
+     * Played rounds of each game
+     */
+    private Distribution                       rounds;
+    /**
+     * Rounds needed to pass a level
+     */
+    private LinkedHashMap<String, Distribution> levelRounds;
+    /**
+     * Number of starts of an event
+     */
+    private LinkedHashMap<String, Long>         eventStarts;
+
+    public MonteCarloStatistics() {
+        games = 0;
+        finishedGames = 0;
+        failedGames = 0;
+        money = new Distribution();
+        rounds = new Distribution();
+        levelRounds = new LinkedHashMap<String, Distribution>();
+        eventStarts = new LinkedHashMap<String, Long>();
+    }
+
+    /**
+     * Adds one start of event {@code name}
+     */
+    public void addEventStart(final String name) {
+        final Long count = eventStarts.get(name);
+        eventStarts.put(name, (count == null) ? 1 : count + 1);
+    }
+
+    /**
+     * Adds one game which couldn't be played to the end
+     */
+    public void addFailedGame() {
+        failedGames++;
+    }
+
+    /**
+     * Adds the result of one game
+     * 
+     * @param finalMoney
+     *            money of the player at the end of the game
+     * @param playedRounds
+     *            number of played rounds
+     * @param finished
+     *            {@code true} if all levels were played
+     */
+    public void addGame(final double finalMoney, final Integer playedRounds, final boolean finished) {
+        games++;
+        if (finished) {
+            finishedGames++;
+        }
+        money.add(finalMoney);
+        rounds.add(playedRounds);
+    }
+
+    /**
+     * Adds {@code passedRounds} needed to pass level {@code name}
+     */
+    public void addLevelPassed(final String name, final Integer passedRounds) {
+        if (levelRounds.containsKey(name) == false) {
+            levelRounds.put(name, new Distribution());
+        }
+        levelRounds.get(name).add(passedRounds);
+    }
+
+    /**
+     * Returns a copy of this statistics
+     */
+    public MonteCarloStatistics copy() {
+        final MonteCarloStatistics copy = new MonteCarloStatistics();
+        copy.merge(this);
+        return copy;
+    }
+
+    public LinkedHashMap<String, Long> getEventStarts() {
+        return eventStarts;
+    }
+
+    public long getFailedGames() {
+        return failedGames;
+    }
+
+    public long getFinishedGames() {
+        return finishedGames;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public LinkedHashMap<String, Distribution> getLevelRounds() {
+        return levelRounds;
+    }
+
+    public Distribution getMoney() {
+        return money;
+    }
+
+    public Distribution getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Adds all results of {@code statistics} to this statistics
+     */
+    public void merge(final MonteCarloStatistics statistics) {
+        if (statistics == null) {
+            return;
+        }
+
+        games += statistics.games;
+        finishedGames += statistics.finishedGames;
+        failedGames += statistics.failedGames;
+        money.merge(statistics.money);
+        rounds.merge(statistics.rounds);
+
+        for (final Entry<String, Distribution> entry : statistics.levelRounds.entrySet()) {
+            if (levelRounds.containsKey(entry.getKey()) == false) {
+                levelRounds.put(entry.getKey(), new Distribution());
+            }
+            levelRounds.get(entry.getKey()).merge(entry.getValue());
+        }
+
+        for (final Entry<String, Long> entry : statistics.eventStarts.entrySet()) {
+            final Long count = eventStarts.get(entry.getKey());
+            eventStarts.put(entry.getKey(), (count == null) ? entry.getValue() : count
+                    + entry.getValue());
+        }
+    }
+}
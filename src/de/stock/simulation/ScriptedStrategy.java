@@ -0,0 +1,70 @@
+package de.stock.simulation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import de.stock.game.Game;
+
+/**
+ * Strategy which executes a script of player commands<br>
+ * <br>
+ * The commands have the same format as the ones of the console game (See
+ * {@link de.stock.game.Game#executeCommand(String) Game.executeCommand})<br>
+ * &nbsp;&nbsp;"b1.5" buys five shares of the first tradeable<br>
+ * &nbsp;&nbsp;"s1.5" sells five shares of the first tradeable<br>
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class ScriptedStrategy implements IStrategy {
+
+    /**
+     * Commands mapped to the round they get executed in
+     */
+    private HashMap<Integer, ArrayList<String>> commands;
+
+    public ScriptedStrategy() {
+        commands = new HashMap<Integer, ArrayList<String>>();
+    }
+
+    /**
+     * Executes all commands of the current round in the order they were added
+     */
+    @Override
+    public void act(final SimulationEngine engine) {
+        final ArrayList<String> roundCommands = getCommands().get(engine.getRound());
+        if (roundCommands == null) {
+            return;
+        }
+
+        for (final String command : roundCommands) {
+            Game.executeCommand(command);
+        }
+    }
+
+    /**
+     * Adds {@code command} which gets executed in {@code round}
+     * 
+     * @param round
+     *            the round to execute the command in
+     * @param command
+     *            the command to execute
+     */
+    public void addCommand(final Integer round, final String command) {
+        if (round == null || command == null) {
+            return;
+        }
+
+        if (getCommands().containsKey(round) == false) {
+            getCommands().put(round, new ArrayList<String>());
+        }
+        getCommands().get(round).add(command);
+    }
+
+    public HashMap<Integer, ArrayList<String>> getCommands() {
+        return commands;
+    }
+
+    public void setCommands(final HashMap<Integer, ArrayList<String>> commands) {
+        this.commands = commands;
+    }
+}
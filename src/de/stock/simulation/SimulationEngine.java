@@ -0,0 +1,238 @@
+package de.stock.simulation;
+
+import de.stock.action.ActionObserver;
+import de.stock.game.Game;
+import de.stock.game.GameContext;
+import de.stock.game.Player;
+import de.stock.level.ILevel;
+import de.stock.level.ILevelPack;
+import de.stock.level.LevelPackHandler;
+import de.stock.simulation.AllocationMeter.Subsystem;
+import de.stock.tradeable.TradeableHandler;
+
+/**
+ * The simulation engine runs the game headless<br>
+ * <br>
+ * It plays the same rounds as {@link de.stock.game.Game Game} but without
+ * console input and output. The decisions of the player are made by a
+ * {@link de.stock.simulation.IStrategy strategy} and options (level packs,
+ * successors, ...) are chosen randomly<br>
+ * <br>
+ * Every engine plays in its own {@link de.stock.game.GameContext GameContext}
+ * which gets bound to the calling thread while the engine works. Engines with
+ * different contexts can run concurrently on different threads. The context
+ * of an engine runs {@link de.stock.game.GameContext#isHeadless() headless}<br>
+ * <br>
+ * Usage:<br>
+ * &nbsp;&nbsp;engine = new SimulationEngine(strategy);<br>
+ * &nbsp;&nbsp;engine.start(levelPack, Settings_Player.PLAYER_MONEY_NORMAL);<br>
+ * &nbsp;&nbsp;engine.run(100);<br>
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class SimulationEngine {
+
+    /**
+     * Takes the part of the player
+     */
+    private IStrategy         strategy;
+    /**
+     * State of the game played by this engine
+     */
+    private final GameContext context;
+    /**
+     * Number of rounds played since {@link #start(ILevelPack, double)}
+     */
+    private int               roundsPlayed;
+    /**
+     * Counts the allocations of the rounds if set
+     */
+    private AllocationMeter   allocationMeter;
+
+    public SimulationEngine(final IStrategy strategy) {
+        this(strategy, new GameContext());
+    }
+
+    public SimulationEngine(final IStrategy strategy, final GameContext context) {
+        this.strategy = strategy;
+        this.context = context;
+        this.context.setHeadless(true);
+        roundsPlayed = 0;
+    }
+
+    /**
+     * Starts measuring the allocations of a subsystem if an allocation meter
+     * is set
+     */
+    private void beginMeasure() {
+        if (allocationMeter != null) {
+            allocationMeter.begin();
+        }
+    }
+
+    /**
+     * Ends measuring the allocations of {@code subsystem} if an allocation
+     * meter is set
+     */
+    private void endMeasure(final Subsystem subsystem) {
+        if (allocationMeter != null) {
+            allocationMeter.end(subsystem);
+        }
+    }
+
+    public AllocationMeter getAllocationMeter() {
+        return allocationMeter;
+    }
+
+    public GameContext getContext() {
+        return context;
+    }
+
+    public Integer getRound() {
+        return context.getRound();
+    }
+
+    public Integer getRoundsPlayed() {
+        return roundsPlayed;
+    }
+
+    public IStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns true if there is no active level left to play
+     * 
+     * @return {@code true} if the game is finished
+     */
+    public boolean isFinished() {
+        return context.getActionObserver().getActiveLevels().isEmpty();
+    }
+
+    /**
+     * Plays one round<br>
+     * <br>
+     * Updates events, levels and tradeables like
+     * {@link de.stock.game.Game Game} does, lets the strategy act and checks
+     * the levels again afterwards
+     */
+    public void playRound() {
+        final GameContext previous = GameContext.enter(context);
+        try {
+            // Reloaded content is applied at the round boundary only
+            beginMeasure();
+            if (context.getContentWatcher() != null) {
+                context.getContentWatcher().apply();
+            }
+            endMeasure(Subsystem.CONTENT);
+
+            beginMeasure();
+            TradeableHandler.getInstance().saveCurrentState();
+            endMeasure(Subsystem.SNAPSHOT);
+
+            beginMeasure();
+            ActionObserver.getInstance().iterateActiveEvents();
+            endMeasure(Subsystem.ACTIVE_EVENTS);
+
+            beginMeasure();
+            ActionObserver.getInstance().iterateMainEvents();
+            endMeasure(Subsystem.MAIN_EVENTS);
+
+            beginMeasure();
+            ActionObserver.getInstance().iterateActiveLevels();
+            endMeasure(Subsystem.LEVELS);
+
+            beginMeasure();
+            TradeableHandler.getInstance().updateUnchangedTradeables();
+            TradeableHandler.getInstance().finishRound();
+            endMeasure(Subsystem.TRADEABLES);
+
+            beginMeasure();
+            if (getStrategy() != null) {
+                getStrategy().act(this);
+            }
+            endMeasure(Subsystem.STRATEGY);
+
+            beginMeasure();
+            ActionObserver.getInstance().iterateActiveLevels();
+            endMeasure(Subsystem.LEVELS);
+
+            context.nextRound();
+            roundsPlayed++;
+
+            if (allocationMeter != null) {
+                allocationMeter.endRound();
+            }
+        }
+        finally {
+            GameContext.setCurrent(previous);
+        }
+    }
+
+    /**
+     * Plays {@code rounds} rounds or less if the game is finished before
+     * 
+     * @param rounds
+     *            maximum number of rounds to play
+     * @return number of played rounds
+     */
+    public Integer run(final Integer rounds) {
+        int played = 0;
+
+        while (played < rounds && isFinished() == false) {
+            playRound();
+            played++;
+        }
+
+        return played;
+    }
+
+    /**
+     * Sets the meter which counts the allocations of the following rounds
+     * (null to stop counting)
+     */
+    public void setAllocationMeter(final AllocationMeter allocationMeter) {
+        this.allocationMeter = allocationMeter;
+    }
+
+    public void setStrategy(final IStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Starts {@code levelPack} headless with {@code money} as the money of
+     * the player<br>
+     * <br>
+     * {@code levelPack} must not be played by another engine at the same time
+     * as its content (events, tradeables, ...) holds game state, too
+     * 
+     * @param levelPack
+     *            the level pack to play
+     * @param money
+     *            the starting money of the player
+     * @return {@code true} upon success
+     */
+    public boolean start(final ILevelPack levelPack, final double money) {
+        final GameContext previous = GameContext.enter(context);
+        try {
+            if (LevelPackHandler.getInstance().startLevelPack(levelPack) == null) {
+                return false;
+            }
+
+            final ILevel startLevel = levelPack.getStartLevel();
+            if (startLevel == null) {
+                return false;
+            }
+            ActionObserver.getInstance().registerLevel(startLevel);
+
+            Game.initializeContent();
+
+            Player.getInstance().setMoney(money);
+            roundsPlayed = 0;
+            return true;
+        }
+        finally {
+            GameContext.setCurrent(previous);
+        }
+    }
+}
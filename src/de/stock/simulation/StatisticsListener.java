@@ -0,0 +1,72 @@
+package de.stock.simulation;
+
+import java.util.HashMap;
+
+import de.stock.action.IActionListener;
+import de.stock.event.Event;
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+import de.stock.level.ILevel;
+
+/**
+ * Records started main events and passed levels of one game into
+ * {@link de.stock.simulation.MonteCarloStatistics MonteCarloStatistics}<br>
+ * <br>
+ * Levels are identified by their name or by their class name if they haven't
+ * got a name
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class StatisticsListener implements IActionListener {
+
+    /**
+     * Returns the name {@code level} is recorded with
+     */
+    public static String getLevelName(final ILevel level) {
+        if (level.getName() != null && level.getName().isEmpty() == false) {
+            return level.getName();
+        }
+        if (level.getClass().getSimpleName().isEmpty() == false) {
+            return level.getClass().getSimpleName();
+        }
+        return level.getClass().getName();
+    }
+
+    private final MonteCarloStatistics statistics;
+
+    /**
+     * Round each active level was started in
+     */
+    private HashMap<ILevel, Integer>   startRounds;
+
+    public StatisticsListener(final MonteCarloStatistics statistics) {
+        this.statistics = statistics;
+        startRounds = new HashMap<ILevel, Integer>();
+    }
+
+    @Override
+    public void eventStarted(final Event event) {
+        if (event instanceof MainEvent) {
+            statistics.addEventStart(event.getName());
+        }
+    }
+
+    public MonteCarloStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void levelPassed(final ILevel level) {
+        final Integer startRound = startRounds.remove(level);
+        if (startRound == null) {
+            return;
+        }
+        statistics.addLevelPassed(getLevelName(level), GameContext.getCurrent().getRound()
+                - startRound + 1);
+    }
+
+    @Override
+    public void levelStarted(final ILevel level) {
+        startRounds.put(level, GameContext.getCurrent().getRound());
+    }
+}
@@ -0,0 +1,386 @@
+package de.stock.tradeable;
+
+import java.util.Arrays;
+
+import de.stock.settings.Settings_Tradeable;
+
+/**
+ * Aggregates the values of the tradeables of a
+ * {@link de.stock.tradeable.PriceTable PriceTable} into candles (open, high,
+ * low, close and number of moves) over windows of rounds<br>
+ * <br>
+ * The aggregator is a {@link de.stock.tradeable.IPriceListener listener} of
+ * the table and gets every new value of a tradeable. Only the candle of the
+ * smallest window is updated per new value. The candles of the larger
+ * windows are rolled up from the completed candles of the window below at
+ * the end of its rounds, so every window must be a multiple of the window
+ * below (i.e. 10, 100 and 1000 rounds, See
+ * {@link de.stock.settings.Settings_Tradeable#CANDLE_WINDOWS}).<br>
+ * <br>
+ * For every window (by level, starting at 0 with the smallest window) there
+ * is the running candle ({@link #getOpen(int, int)}, ...) and the last
+ * completed candle ({@link #getLastOpen(int, int)}, ...) of every slot.
+ * Windows start at round 0 of the aggregator, a new candle opens with the
+ * close of the candle before. Candles of slots without values are NaN.<br>
+ * <br>
+ * A move is a new value which differs from the value before<br>
+ * <br>
+ * The candles of a slot are dropped if the slot gets released (See
+ * {@link #slotReleased(int)}), all candles are dropped if the aggregator gets
+ * moved to another table (See {@link #slotsReset()}). The windows keep their
+ * rounds<br>
+ * <br>
+ * Usage:<br>
+ * &nbsp;&nbsp;candles = new CandleAggregator();<br>
+ * &nbsp;&nbsp;TradeableHandler.getInstance().getActiveTradeables().addListener(candles);<br>
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class CandleAggregator implements IPriceListener {
+
+    /**
+     * Returns a copy of the default windows (See
+     * {@link de.stock.settings.Settings_Tradeable#CANDLE_WINDOWS})
+     */
+    public static int[] getDefaultWindows() {
+        final int[] windows = new int[Settings_Tradeable.CANDLE_WINDOWS.size()];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = Settings_Tradeable.CANDLE_WINDOWS.get(i);
+        }
+        return windows;
+    }
+
+    private final int[] windows;
+    /**
+     * Running candle by level and slot<br>
+     * <br>
+     * Level 0 holds the running candle, the larger levels hold the completed
+     * candles of the level below rolled up so far
+     */
+    private double[][]  open;
+    private double[][]  high;
+    private double[][]  low;
+    private int[][]     moves;
+    /**
+     * Latest value by slot (the close of the running candles of all levels)
+     */
+    private double[]    close;
+    /**
+     * Last completed candle by level and slot
+     */
+    private double[][]  lastOpen;
+    private double[][]  lastHigh;
+    private double[][]  lastLow;
+    private double[][]  lastClose;
+    private int[][]     lastMoves;
+    /**
+     * Number of slots which got a value
+     */
+    private int         slots;
+    private long        rounds;
+
+    /**
+     * Creates an aggregator for
+     * {@link de.stock.settings.Settings_Tradeable#CANDLE_WINDOWS}
+     */
+    public CandleAggregator() {
+        this(getDefaultWindows());
+    }
+
+    /**
+     * Creates an aggregator for {@code windows} (in rounds, ascending and
+     * every window a multiple of the window before)
+     */
+    public CandleAggregator(final int... windows) {
+        if (windows.length == 0) {
+            throw new IllegalArgumentException("No windows");
+        }
+        for (int i = 0; i < windows.length; i++) {
+            if (windows[i] < 1 || (i > 0 && windows[i] % windows[i - 1] != 0)) {
+                throw new IllegalArgumentException("Window " + windows[i]
+                        + " isn't a multiple of the window before");
+            }
+        }
+
+        this.windows = windows.clone();
+        open = new double[windows.length][0];
+        high = new double[windows.length][0];
+        low = new double[windows.length][0];
+        moves = new int[windows.length][0];
+        close = new double[0];
+        lastOpen = new double[windows.length][0];
+        lastHigh = new double[windows.length][0];
+        lastLow = new double[windows.length][0];
+        lastClose = new double[windows.length][0];
+        lastMoves = new int[windows.length][0];
+        slots = 0;
+        rounds = 0;
+    }
+
+    /**
+     * Returns the close of the running candle of {@code slot} in the window
+     * of {@code level} (the latest value of the slot in all windows)
+     */
+    public double getClose(final int level, final int slot) {
+        return (slot < slots) ? close[slot] : Double.NaN;
+    }
+
+    /**
+     * Returns the high of the running candle of {@code slot} in the window of
+     * {@code level}
+     */
+    public double getHigh(final int level, final int slot) {
+        if (slot >= slots) {
+            return Double.NaN;
+        }
+        double value = high[0][slot];
+        for (int i = 1; i <= level; i++) {
+            value = max(value, high[i][slot]);
+        }
+        return value;
+    }
+
+    public double getLastClose(final int level, final int slot) {
+        return (slot < slots) ? lastClose[level][slot] : Double.NaN;
+    }
+
+    public double getLastHigh(final int level, final int slot) {
+        return (slot < slots) ? lastHigh[level][slot] : Double.NaN;
+    }
+
+    public double getLastLow(final int level, final int slot) {
+        return (slot < slots) ? lastLow[level][slot] : Double.NaN;
+    }
+
+    public int getLastMoves(final int level, final int slot) {
+        return (slot < slots) ? lastMoves[level][slot] : 0;
+    }
+
+    public double getLastOpen(final int level, final int slot) {
+        return (slot < slots) ? lastOpen[level][slot] : Double.NaN;
+    }
+
+    /**
+     * Returns the number of windows
+     */
+    public int getLevels() {
+        return windows.length;
+    }
+
+    /**
+     * Returns the low of the running candle of {@code slot} in the window of
+     * {@code level}
+     */
+    public double getLow(final int level, final int slot) {
+        if (slot >= slots) {
+            return Double.NaN;
+        }
+        double value = low[0][slot];
+        for (int i = 1; i <= level; i++) {
+            value = min(value, low[i][slot]);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the moves of the running candle of {@code slot} in the window
+     * of {@code level}
+     */
+    public int getMoves(final int level, final int slot) {
+        if (slot >= slots) {
+            return 0;
+        }
+        int value = 0;
+        for (int i = 0; i <= level; i++) {
+            value += moves[i][slot];
+        }
+        return value;
+    }
+
+    /**
+     * Returns the open of the running candle of {@code slot} in the window of
+     * {@code level}
+     */
+    public double getOpen(final int level, final int slot) {
+        if (slot >= slots) {
+            return Double.NaN;
+        }
+        for (int i = level; i > 0; i--) {
+            if (Double.isNaN(open[i][slot]) == false) {
+                return open[i][slot];
+            }
+        }
+        return open[0][slot];
+    }
+
+    /**
+     * Returns the number of finished rounds
+     */
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Returns the window of {@code level} in rounds
+     */
+    public int getWindow(final int level) {
+        return windows[level];
+    }
+
+    /**
+     * Makes room for the candles of {@code slot} and initializes the new
+     * slots with NaN
+     */
+    private void grow(final int slot) {
+        final int capacity = Math.max(slot + 1, open[0].length * 2);
+        for (int i = 0; i < windows.length; i++) {
+            open[i] = grow(open[i], capacity);
+            high[i] = grow(high[i], capacity);
+            low[i] = grow(low[i], capacity);
+            moves[i] = Arrays.copyOf(moves[i], capacity);
+            lastOpen[i] = grow(lastOpen[i], capacity);
+            lastHigh[i] = grow(lastHigh[i], capacity);
+            lastLow[i] = grow(lastLow[i], capacity);
+            lastClose[i] = grow(lastClose[i], capacity);
+            lastMoves[i] = Arrays.copyOf(lastMoves[i], capacity);
+        }
+        close = grow(close, capacity);
+    }
+
+    private double[] grow(final double[] values, final int capacity) {
+        final double[] grown = Arrays.copyOf(values, capacity);
+        Arrays.fill(grown, values.length, capacity, Double.NaN);
+        return grown;
+    }
+
+    /**
+     * Returns the larger value, NaN counts as no value
+     */
+    private double max(final double a, final double b) {
+        return (Double.isNaN(a) || b > a) ? b : a;
+    }
+
+    /**
+     * Returns the smaller value, NaN counts as no value
+     */
+    private double min(final double a, final double b) {
+        return (Double.isNaN(a) || b < a) ? b : a;
+    }
+
+    /**
+     * Updates the running candle of the smallest window
+     */
+    @Override
+    public void priceChanged(final int slot, final double price) {
+        if (slot >= open[0].length) {
+            grow(slot);
+        }
+        if (slot >= slots) {
+            slots = slot + 1;
+        }
+
+        if (Double.isNaN(open[0][slot])) {
+            open[0][slot] = price;
+            high[0][slot] = price;
+            low[0][slot] = price;
+            close[slot] = price;
+            return;
+        }
+
+        if (price > high[0][slot]) {
+            high[0][slot] = price;
+        }
+        if (price < low[0][slot]) {
+            low[0][slot] = price;
+        }
+        if (price != close[slot]) {
+            moves[0][slot]++;
+        }
+        close[slot] = price;
+    }
+
+    /**
+     * Completes the candles of all windows which end with this round and
+     * rolls them up into the window above
+     */
+    @Override
+    public void roundFinished() {
+        rounds++;
+
+        for (int level = 0; level < windows.length && rounds % windows[level] == 0; level++) {
+            final int next = level + 1;
+            for (int slot = 0; slot < slots; slot++) {
+                // The running candle of level 0 is complete, the larger
+                // levels got the completed candle of the level below already
+                lastOpen[level][slot] = open[level][slot];
+                lastHigh[level][slot] = high[level][slot];
+                lastLow[level][slot] = low[level][slot];
+                lastClose[level][slot] = close[slot];
+                lastMoves[level][slot] = moves[level][slot];
+
+                if (next < windows.length && Double.isNaN(lastOpen[level][slot]) == false) {
+                    if (Double.isNaN(open[next][slot])) {
+                        open[next][slot] = lastOpen[level][slot];
+                    }
+                    high[next][slot] = max(high[next][slot], lastHigh[level][slot]);
+                    low[next][slot] = min(low[next][slot], lastLow[level][slot]);
+                    moves[next][slot] += lastMoves[level][slot];
+                }
+
+                // New candle opens with the close of the completed candle
+                if (level == 0) {
+                    open[0][slot] = close[slot];
+                    high[0][slot] = close[slot];
+                    low[0][slot] = close[slot];
+                } else {
+                    open[level][slot] = Double.NaN;
+                    high[level][slot] = Double.NaN;
+                    low[level][slot] = Double.NaN;
+                }
+                moves[level][slot] = 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the candles of {@code slot}
+     */
+    @Override
+    public void slotReleased(final int slot) {
+        if (slot >= slots) {
+            return;
+        }
+        for (int i = 0; i < windows.length; i++) {
+            open[i][slot] = Double.NaN;
+            high[i][slot] = Double.NaN;
+            low[i][slot] = Double.NaN;
+            moves[i][slot] = 0;
+            lastOpen[i][slot] = Double.NaN;
+            lastHigh[i][slot] = Double.NaN;
+            lastLow[i][slot] = Double.NaN;
+            lastClose[i][slot] = Double.NaN;
+            lastMoves[i][slot] = 0;
+        }
+        close[slot] = Double.NaN;
+    }
+
+    /**
+     * Drops the candles of all slots, the windows keep their rounds
+     */
+    @Override
+    public void slotsReset() {
+        for (int i = 0; i < windows.length; i++) {
+            Arrays.fill(open[i], Double.NaN);
+            Arrays.fill(high[i], Double.NaN);
+            Arrays.fill(low[i], Double.NaN);
+            Arrays.fill(moves[i], 0);
+            Arrays.fill(lastOpen[i], Double.NaN);
+            Arrays.fill(lastHigh[i], Double.NaN);
+            Arrays.fill(lastLow[i], Double.NaN);
+            Arrays.fill(lastClose[i], Double.NaN);
+            Arrays.fill(lastMoves[i], 0);
+        }
+        Arrays.fill(close, Double.NaN);
+        slots = 0;
+    }
+}
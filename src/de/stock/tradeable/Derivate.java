@@ -1,23 +1,23 @@
-package de.stock.tradeable;
-
-/**
- * Not implemented!<br>
- * <br>
- * A derivate is a bet<br>
- * Example derivate: The oil price drops by 15$ the next round - If the oil
- * price
- * drops, you get wonga.
- * 
- * See {@link de.stock.tradeable.ITradeable ITradeable} for further information
- * on tradeables
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public class Derivate extends Tradeable implements ITradeable {
-
-    private Derivate() {
-        super();
-    }
-
-    // TODO: Implement bet system
-}
+package de.stock.tradeable;
+
+/**
+ * Not implemented!<br>
+ * <br>
+ * A derivate is a bet<br>
+ * Example derivate: The oil price drops by 15$ the next round - If the oil
+ * price
+ * drops, you get wonga.
+ * 
+ * See {@link de.stock.tradeable.ITradeable ITradeable} for further information
+ * on tradeables
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class Derivate extends Tradeable implements ITradeable {
+
+    private Derivate() {
+        super();
+    }
+
+    // TODO: Implement bet system
+}
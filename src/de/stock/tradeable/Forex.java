@@ -1,14 +1,14 @@
-package de.stock.tradeable;
-
-/**
- * See {@link de.stock.tradeable.ITradeable ITradeable} for further information
- * on tradeables
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public class Forex extends Tradeable implements ITradeable {
-
-    public Forex() {
-        super();
-    }
-}
+package de.stock.tradeable;
+
+/**
+ * See {@link de.stock.tradeable.ITradeable ITradeable} for further information
+ * on tradeables
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class Forex extends Tradeable implements ITradeable {
+
+    public Forex() {
+        super();
+    }
+}
@@ -0,0 +1,48 @@
+package de.stock.tradeable;
+
+/**
+ * Gets notified by a {@link de.stock.tradeable.PriceTable PriceTable} about
+ * every new value of an active tradeable and about the end of every round<br>
+ * <br>
+ * New values come from events (See
+ * {@link de.stock.environment.EnvironmentHandler#influence(de.stock.environment.InfluencePlan)})
+ * and the update of unchanged tradeables (See
+ * {@link de.stock.tradeable.PriceTable#updateUnchanged(de.stock.utils.IRandomSource)}),
+ * a tradeable can get several new values in one round.<br>
+ * <br>
+ * Listeners are called on the thread which plays the game in the hot path of
+ * the round, so they shouldn't allocate
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public interface IPriceListener {
+
+    /**
+     * Called if the value of {@code slot} was set to {@code price}
+     */
+    public abstract void priceChanged(final int slot, final double price);
+
+    /**
+     * Called after the values of all tradeables were updated for the round
+     * (See {@link de.stock.tradeable.TradeableHandler#finishRound()})
+     */
+    public abstract void roundFinished();
+
+    /**
+     * Called if {@code slot} got released because its tradeable was removed
+     * (See {@link de.stock.tradeable.PriceTable#snapshot()})<br>
+     * <br>
+     * The slot can be given to another tradeable afterwards, so everything
+     * kept for it must be dropped
+     */
+    public abstract void slotReleased(final int slot);
+
+    /**
+     * Called if the listener got moved to a new table whose slots belong to
+     * other tradeables (See
+     * {@link de.stock.tradeable.TradeableHandler#setActiveTradeables(java.util.Map)})<br>
+     * <br>
+     * Everything kept by slot must be dropped
+     */
+    public abstract void slotsReset();
+}
@@ -0,0 +1,323 @@
+package de.stock.tradeable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+
+import de.stock.environment.EnvironmentGraph;
+import de.stock.environment.IEnvironment;
+import de.stock.utils.Utils;
+
+/**
+ * Optional columnar storage of tradeables<br>
+ * <br>
+ * Every tradeable of the store is a row. Value, bounds and shares of all rows
+ * live in parallel primitive arrays indexed by row and the environments the
+ * rows are part of in one {@link java.util.BitSet BitSet} of rows per
+ * environment, so iterating all tradeables streams through the arrays instead
+ * of visiting scattered objects.<br>
+ * <br>
+ * The rows are used through {@link de.stock.tradeable.TradeableView
+ * TradeableView}s. A view holds no state besides its row and can be put
+ * into a {@link de.stock.tradeable.PriceTable PriceTable} or registered at
+ * environments like every other {@link de.stock.tradeable.ITradeable
+ * ITradeable}. The price table does the random walk of views itself, so the
+ * values written back every round end up in {@link #getValues()}.<br>
+ * <br>
+ * Usage:<br>
+ * &nbsp;&nbsp;store = new MarketStore();<br>
+ * &nbsp;&nbsp;view = store.add(stock);<br>
+ * &nbsp;&nbsp;TradeableHandler.getInstance().register(view);<br>
+ * <br>
+ * Unset values are stored as NaN respectively
+ * {@link de.stock.utils.Utils#NULL_INT} (See
+ * {@link de.stock.tradeable.Tradeable Tradeable})<br>
+ * Rows can't be removed
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class MarketStore {
+
+    /**
+     * Environments a row is part of<br>
+     * <br>
+     * Keeps the {@link MarketStore#getRows(IEnvironment) rows} of the
+     * environments up to date when it gets modified
+     */
+    private final class PartOf extends HashSet<IEnvironment> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int         row;
+
+        PartOf(final int row) {
+            this.row = row;
+        }
+
+        @Override
+        public boolean add(final IEnvironment environment) {
+            if (super.add(environment) == false) {
+                return false;
+            }
+            rowsOf(environment).set(row);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            for (final IEnvironment environment : this) {
+                members.get(environment).clear(row);
+            }
+            super.clear();
+        }
+
+        @Override
+        public Iterator<IEnvironment> iterator() {
+            final Iterator<IEnvironment> iterator = super.iterator();
+
+            return new Iterator<IEnvironment>() {
+
+                private IEnvironment current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public IEnvironment next() {
+                    current = iterator.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    members.get(current).clear(row);
+                }
+            };
+        }
+
+        @Override
+        public boolean remove(final Object environment) {
+            if (super.remove(environment) == false) {
+                return false;
+            }
+            members.get(environment).clear(row);
+            return true;
+        }
+    }
+
+    private TradeableView[]                     views;
+    private String[]                            names;
+    private String[]                            descriptions;
+    private PartOf[]                            partOf;
+    /**
+     * Columns of the rows
+     */
+    double[]                                    values;
+    double[]                                    initTopBounds;
+    double[]                                    initBottomBounds;
+    double[]                                    influenceTopBounds;
+    double[]                                    influenceBottomBounds;
+    int[]                                       maxShares;
+    int[]                                       minShares;
+    int[]                                       shares;
+    /**
+     * Rows which are part of an environment by environment
+     */
+    private final HashMap<IEnvironment, BitSet> members;
+    private int                                 size;
+
+    public MarketStore() {
+        this(16);
+    }
+
+    public MarketStore(final int capacity) {
+        final int initialCapacity = Math.max(capacity, 1);
+        views = new TradeableView[initialCapacity];
+        names = new String[initialCapacity];
+        descriptions = new String[initialCapacity];
+        partOf = new PartOf[initialCapacity];
+        values = new double[initialCapacity];
+        initTopBounds = new double[initialCapacity];
+        initBottomBounds = new double[initialCapacity];
+        influenceTopBounds = new double[initialCapacity];
+        influenceBottomBounds = new double[initialCapacity];
+        maxShares = new int[initialCapacity];
+        minShares = new int[initialCapacity];
+        shares = new int[initialCapacity];
+        members = new HashMap<IEnvironment, BitSet>();
+        size = 0;
+    }
+
+    /**
+     * Copies {@code tradeable} into a new row<br>
+     * <br>
+     * The view of the row takes the place of {@code tradeable} in all
+     * environments {@code tradeable} is part of, so events influence the view
+     * only. {@code tradeable} shouldn't be played anymore.
+     * 
+     * @return view of the new row
+     */
+    public TradeableView add(final ITradeable tradeable) {
+        final TradeableView view = create();
+        final int row = view.getRow();
+
+        names[row] = tradeable.getName();
+        descriptions[row] = tradeable.getDescription();
+        values[row] = tradeable.valueAsDouble();
+        initTopBounds[row] = tradeable.initTopBoundAsDouble();
+        initBottomBounds[row] = tradeable.initBottomBoundAsDouble();
+        influenceTopBounds[row] = tradeable.influenceTopBoundAsDouble();
+        influenceBottomBounds[row] = tradeable.influenceBottomBoundAsDouble();
+        maxShares[row] = tradeable.maxSharesAsInt();
+        minShares[row] = tradeable.minSharesAsInt();
+        shares[row] = tradeable.sharesAsInt();
+
+        for (final IEnvironment environment : tradeable.getPartOf()) {
+            if (environment.getTradeables().remove(tradeable)) {
+                EnvironmentGraph.invalidate();
+            }
+            view.registerAtEnvironment(environment);
+        }
+        return view;
+    }
+
+    /**
+     * Adds a new row with the defaults of {@link de.stock.tradeable.Tradeable
+     * Tradeable}
+     * 
+     * @return view of the new row
+     */
+    public TradeableView create() {
+        if (size == views.length) {
+            final int capacity = views.length * 2;
+            views = Arrays.copyOf(views, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            partOf = Arrays.copyOf(partOf, capacity);
+            values = Arrays.copyOf(values, capacity);
+            initTopBounds = Arrays.copyOf(initTopBounds, capacity);
+            initBottomBounds = Arrays.copyOf(initBottomBounds, capacity);
+            influenceTopBounds = Arrays.copyOf(influenceTopBounds, capacity);
+            influenceBottomBounds = Arrays.copyOf(influenceBottomBounds, capacity);
+            maxShares = Arrays.copyOf(maxShares, capacity);
+            minShares = Arrays.copyOf(minShares, capacity);
+            shares = Arrays.copyOf(shares, capacity);
+        }
+
+        final int row = size++;
+        names[row] = "";
+        descriptions[row] = "";
+        partOf[row] = new PartOf(row);
+        values[row] = 0;
+        initTopBounds[row] = 0;
+        initBottomBounds[row] = 0;
+        influenceTopBounds[row] = 0;
+        influenceBottomBounds[row] = 0;
+        maxShares[row] = 0;
+        minShares[row] = Utils.NULL_INT;
+        shares[row] = 0;
+        views[row] = new TradeableView(this, row);
+        return views[row];
+    }
+
+    String getDescription(final int row) {
+        return descriptions[row];
+    }
+
+    String getName(final int row) {
+        return names[row];
+    }
+
+    HashSet<IEnvironment> getPartOf(final int row) {
+        return partOf[row];
+    }
+
+    /**
+     * Returns the rows which are part of {@code environment}<br>
+     * <br>
+     * <b>Must not be modified</b>
+     */
+    public BitSet getRows(final IEnvironment environment) {
+        final BitSet rows = members.get(environment);
+        return (rows == null) ? new BitSet() : rows;
+    }
+
+    /**
+     * Returns the view of {@code row}
+     */
+    public TradeableView getTradeable(final int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row);
+        }
+        return views[row];
+    }
+
+    /**
+     * Returns the value column (only the first {@link #size()} entries are
+     * rows)<br>
+     * <br>
+     * <b>Must not be modified</b>
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Registers the view of {@code row} at {@code environment} (See
+     * {@link de.stock.tradeable.ITradeable#registerAtEnvironment(IEnvironment)})
+     */
+    void registerAtEnvironment(final int row, final IEnvironment environment) {
+        if (environment.getTradeables().add(views[row])) {
+            EnvironmentGraph.invalidate();
+        }
+        partOf[row].add(environment);
+    }
+
+    /**
+     * Returns the rows which are part of {@code environment} and creates them
+     * if the environment isn't known yet
+     */
+    private BitSet rowsOf(final IEnvironment environment) {
+        BitSet rows = members.get(environment);
+        if (rows == null) {
+            rows = new BitSet(size);
+            members.put(environment, rows);
+        }
+        return rows;
+    }
+
+    void setDescription(final int row, final String description) {
+        descriptions[row] = description;
+    }
+
+    void setName(final int row, final String name) {
+        names[row] = name;
+    }
+
+    /**
+     * Replaces the environments {@code row} is part of (like
+     * {@link de.stock.tradeable.Tradeable#setPartOf(HashSet)} without
+     * registering)
+     */
+    void setPartOf(final int row, final HashSet<IEnvironment> partOf) {
+        if (partOf == this.partOf[row]) {
+            return;
+        }
+        this.partOf[row].clear();
+        if (partOf != null) {
+            this.partOf[row].addAll(partOf);
+        }
+    }
+
+    /**
+     * Returns the number of rows
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,401 @@
+package de.stock.tradeable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The price history stores the value of every tradeable of a
+ * {@link de.stock.tradeable.PriceTable PriceTable} for the last
+ * {@link #getCapacity()} rounds off the heap<br>
+ * <br>
+ * Every slot of the table gets a fixed-width ring buffer of one
+ * {@code double} per round in a memory mapped file. The rings of up to
+ * {@value #SLOTS_PER_BLOCK} slots are mapped at once, further blocks get
+ * mapped when the table gets more slots.<br>
+ * <br>
+ * {@link #append(PriceTable)} is called once per round (See
+ * {@link de.stock.tradeable.TradeableHandler#recordPriceHistory()}) and
+ * writes the current values of the table without allocating. Slots which
+ * aren't active get NaN.<br>
+ * {@link #getPrice(int, long)} and {@link #getRange(int, long, long)} read
+ * straight from the mapping without copying.<br>
+ * <br>
+ * Rounds are counted by the history itself, starting at 0 with the first
+ * appended round. Only the rounds from {@link #getFirstRound()} to
+ * {@link #getRounds()} (exclusive) are kept, older rounds get overwritten.
+ * The history is a {@link de.stock.tradeable.IPriceListener listener} of the
+ * table (See {@link de.stock.tradeable.TradeableHandler#setPriceHistory(PriceHistory)}):
+ * The kept rounds of a released slot are dropped as the slot can be given to
+ * another tradeable (See {@link #slotReleased(int)}), {@link #clear()} drops
+ * the kept rounds of all slots if the slots get a new meaning (i.e. the table
+ * got replaced).<br>
+ * <br>
+ * The file is scratch storage of a running game, it can't be reopened.
+ * {@link #close()} unmaps it and deletes it if the history created it, so
+ * every history must be closed
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class PriceHistory implements Closeable, IPriceListener {
+
+    /**
+     * Read-only range of rounds of one slot<br>
+     * <br>
+     * Reads straight from the mapping, so a range shows the new values if its
+     * rounds get overwritten by later rounds
+     */
+    public class Range {
+
+        private final int  slot;
+        private final long firstRound;
+        private final int  size;
+
+        Range(final int slot, final long firstRound, final int size) {
+            this.slot = slot;
+            this.firstRound = firstRound;
+            this.size = size;
+        }
+
+        /**
+         * Copies the values of this range into {@code target} starting at
+         * {@code offset}
+         */
+        public void copyTo(final double[] target, final int offset) {
+            for (int i = 0; i < size; i++) {
+                target[offset + i] = get(i);
+            }
+        }
+
+        /**
+         * Returns the value of the {@code index}-th round of this range
+         */
+        public double get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index " + index);
+            }
+            return read(slot, firstRound + index);
+        }
+
+        public long getFirstRound() {
+            return firstRound;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Maximum number of slots mapped at once
+     */
+    public static final int SLOTS_PER_BLOCK = 1024;
+
+    /**
+     * Creates an empty temporary file (deleted by {@link #close()})
+     */
+    private static File createTempFile() throws IOException {
+        return File.createTempFile("prices", ".history");
+    }
+
+    /**
+     * Unmaps {@code mapping} right away instead of waiting for the garbage
+     * collector<br>
+     * <br>
+     * Uses {@code sun.misc.Unsafe.invokeCleaner()} if the runtime has it,
+     * otherwise the mapping is released with the buffer
+     */
+    private static void unmap(final MappedByteBuffer mapping) {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner",
+                    ByteBuffer.class);
+            invokeCleaner.invoke(theUnsafe.get(null), mapping);
+        }
+        catch (final Exception e) {
+            // Released by the garbage collector
+        }
+    }
+
+    private final File         file;
+    /**
+     * Indicates whether the history created {@link #file} and deletes it on
+     * {@link #close()}
+     */
+    private final boolean      temporary;
+    private FileChannel        channel;
+    /**
+     * Number of rounds every ring holds
+     */
+    private final int          capacity;
+    private final int          slotsPerBlock;
+    /**
+     * Mappings of the blocks and their rings
+     */
+    private MappedByteBuffer[] mappings;
+    private DoubleBuffer[]     blocks;
+    /**
+     * Number of slots whose rings are initialized
+     */
+    private int                slots;
+    /**
+     * Number of appended rounds
+     */
+    private long               rounds;
+    /**
+     * Rounds before this one were dropped by {@link #clear()}
+     */
+    private long               clearedRound;
+    /**
+     * Rounds of a slot before this one were dropped by
+     * {@link #slotReleased(int)}
+     */
+    private long[]             releasedRounds;
+
+    /**
+     * Creates a history of {@code capacity} rounds in a temporary file
+     */
+    public PriceHistory(final int capacity) throws IOException {
+        this(createTempFile(), capacity, true);
+    }
+
+    /**
+     * Creates a history of {@code capacity} rounds in {@code file}<br>
+     * <br>
+     * An existing file gets overwritten
+     */
+    public PriceHistory(final File file, final int capacity) throws IOException {
+        this(file, capacity, false);
+    }
+
+    private PriceHistory(final File file, final int capacity, final boolean temporary)
+            throws IOException {
+        if (capacity < 1 || capacity > Integer.MAX_VALUE / 8) {
+            if (temporary) {
+                file.delete();
+            }
+            throw new IllegalArgumentException("capacity " + capacity);
+        }
+
+        this.file = file;
+        this.temporary = temporary;
+        this.capacity = capacity;
+        slotsPerBlock = Math.min(SLOTS_PER_BLOCK, Integer.MAX_VALUE / 8 / capacity);
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        mappings = new MappedByteBuffer[0];
+        blocks = new DoubleBuffer[0];
+        slots = 0;
+        rounds = 0;
+        clearedRound = 0;
+        releasedRounds = new long[0];
+    }
+
+    /**
+     * Appends the current values of all slots of {@code table} as the next
+     * round
+     */
+    public void append(final PriceTable table) {
+        final int slotCount = table.getSlotCount();
+        if (slotCount > slots) {
+            initialize(slotCount);
+        }
+
+        final int position = (int) (rounds % capacity);
+        for (int slot = 0; slot < slotCount; slot++) {
+            final double price = table.isActive(slot) ? table.getPrice(slot) : Double.NaN;
+            blocks[slot / slotsPerBlock].put(offset(slot, position), price);
+        }
+        for (int slot = slotCount; slot < slots; slot++) {
+            blocks[slot / slotsPerBlock].put(offset(slot, position), Double.NaN);
+        }
+
+        rounds++;
+    }
+
+    /**
+     * Drops all kept rounds<br>
+     * <br>
+     * The round count goes on, {@link #getFirstRound()} is the next appended
+     * round afterwards
+     */
+    public void clear() {
+        clearedRound = rounds;
+    }
+
+    /**
+     * Unmaps and closes the file and deletes it if the history created it<br>
+     * <br>
+     * The history must not be used afterwards (nor while it gets closed)
+     */
+    @Override
+    public void close() throws IOException {
+        final MappedByteBuffer[] mapped = mappings;
+        mappings = new MappedByteBuffer[0];
+        blocks = new DoubleBuffer[0];
+        slots = 0;
+        for (final MappedByteBuffer mapping : mapped) {
+            unmap(mapping);
+        }
+
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            if (temporary) {
+                file.delete();
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the oldest round which is still kept
+     */
+    public long getFirstRound() {
+        return Math.max(rounds - capacity, clearedRound);
+    }
+
+    /**
+     * Returns the value of {@code slot} in {@code round}
+     * 
+     * @return value or NaN if the slot wasn't active in that round or got
+     *         released since
+     * @throws IndexOutOfBoundsException
+     *             if {@code round} isn't kept (See {@link #getFirstRound()})
+     */
+    public double getPrice(final int slot, final long round) {
+        if (round < getFirstRound() || round >= rounds) {
+            throw new IndexOutOfBoundsException("round " + round);
+        }
+        return read(slot, round);
+    }
+
+    /**
+     * Returns the rounds {@code from} to {@code to} (exclusive) of
+     * {@code slot}
+     * 
+     * @throws IndexOutOfBoundsException
+     *             if a round of the range isn't kept (See
+     *             {@link #getFirstRound()})
+     */
+    public Range getRange(final int slot, final long from, final long to) {
+        if (from < getFirstRound() || to > rounds || from > to) {
+            throw new IndexOutOfBoundsException("rounds " + from + " to " + to);
+        }
+        return new Range(slot, from, (int) (to - from));
+    }
+
+    /**
+     * Returns the number of appended rounds (the next round to append)
+     */
+    public long getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Maps the rings of the slots up to {@code slotCount} and fills the new
+     * ones with NaN
+     */
+    private void initialize(final int slotCount) {
+        final int blockCount = (slotCount + slotsPerBlock - 1) / slotsPerBlock;
+        if (blockCount > blocks.length) {
+            final int mapped = blocks.length;
+            mappings = Arrays.copyOf(mappings, blockCount);
+            blocks = Arrays.copyOf(blocks, blockCount);
+            releasedRounds = Arrays.copyOf(releasedRounds, blockCount * slotsPerBlock);
+            final long blockSize = (long) slotsPerBlock * capacity * 8;
+            for (int i = mapped; i < blockCount; i++) {
+                try {
+                    mappings[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * blockSize,
+                            blockSize);
+                    blocks[i] = mappings[i].order(ByteOrder.nativeOrder()).asDoubleBuffer();
+                }
+                catch (final IOException e) {
+                    throw new IllegalStateException("Unable to map " + file, e);
+                }
+            }
+        }
+
+        for (int slot = slots; slot < slotCount; slot++) {
+            final DoubleBuffer block = blocks[slot / slotsPerBlock];
+            for (int i = 0; i < capacity; i++) {
+                block.put(offset(slot, i), Double.NaN);
+            }
+        }
+        slots = slotCount;
+    }
+
+    /**
+     * Returns the position of {@code position} of the ring of {@code slot} in
+     * its block
+     */
+    private int offset(final int slot, final int position) {
+        return (slot % slotsPerBlock) * capacity + position;
+    }
+
+    /**
+     * Does nothing, the values are appended at the end of the round
+     */
+    @Override
+    public void priceChanged(final int slot, final double price) {
+    }
+
+    /**
+     * Reads {@code round} of {@code slot} without checking the round
+     */
+    private double read(final int slot, final long round) {
+        if (slot < 0 || slot >= slots || round < releasedRounds[slot]) {
+            return Double.NaN;
+        }
+        return blocks[slot / slotsPerBlock].get(offset(slot, (int) (round % capacity)));
+    }
+
+    /**
+     * Does nothing, the values are appended by
+     * {@link de.stock.tradeable.TradeableHandler#recordPriceHistory()}
+     */
+    @Override
+    public void roundFinished() {
+    }
+
+    /**
+     * Drops the kept rounds of {@code slot}
+     */
+    @Override
+    public void slotReleased(final int slot) {
+        if (slot < slots) {
+            releasedRounds[slot] = rounds;
+        }
+    }
+
+    /**
+     * Drops all kept rounds (See {@link #clear()})
+     */
+    @Override
+    public void slotsReset() {
+        clear();
+    }
+}
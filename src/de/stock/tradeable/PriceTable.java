@@ -0,0 +1,756 @@
+package de.stock.tradeable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import de.stock.utils.IRandomSource;
+
+/**
+ * The price table stores the current value of all active
+ * {@link de.stock.tradeable.Tradeable tradeables} (See
+ * {@link de.stock.tradeable.TradeableHandler#getActiveTradeables()})<br>
+ * <br>
+ * Every tradeable gets an integer slot the first time it is put into the
+ * table. A removed tradeable keeps its slot until the next {@link #snapshot()}
+ * which releases the slot, so the table doesn't keep removed tradeables. The
+ * {@link de.stock.tradeable.IPriceListener listeners} get notified (See
+ * {@link IPriceListener#slotReleased(int)}) as a released slot can be given to
+ * another tradeable. Current and previous values live in
+ * {@code double[]} arrays and the active slots in a {@link java.util.BitSet
+ * BitSet}.<br>
+ * <br>
+ * Hot paths should work on slots ({@link #getSlot(Object)},
+ * {@link #getPrice(int)}, {@link #setPrice(int, double)}) as the
+ * {@link java.util.Map Map} methods box values<br>
+ * <br>
+ * {@link #snapshot()} copies the current values into the previous values (See
+ * {@link de.stock.tradeable.TradeableHandler#saveCurrentState()}).<br>
+ * {@link #updateUnchanged(IRandomSource)} applies the random walk of
+ * {@link de.stock.tradeable.Tradeable#updateValue()} to all values which
+ * didn't change since then (See
+ * {@link de.stock.tradeable.TradeableHandler#updateUnchangedTradeables()}).<br>
+ * Every new current value gets passed to the
+ * {@link de.stock.tradeable.IPriceListener listeners} of the table.<br>
+ * Iteration order is the order of the slots
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class PriceTable extends AbstractMap<ITradeable, Double> {
+
+    /**
+     * Entry of one slot which reads and writes the arrays of the table
+     */
+    private class SlotEntry implements Map.Entry<ITradeable, Double> {
+
+        private final int     slot;
+        private final boolean previousValue;
+
+        SlotEntry(final int slot, final boolean previousValue) {
+            this.slot = slot;
+            this.previousValue = previousValue;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (object instanceof Map.Entry == false) {
+                return false;
+            }
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+            final Double value = getValue();
+            return getKey().equals(entry.getKey())
+                    && (value == null ? entry.getValue() == null : value.equals(entry
+                            .getValue()));
+        }
+
+        @Override
+        public ITradeable getKey() {
+            return tradeables[slot];
+        }
+
+        @Override
+        public Double getValue() {
+            return box(previousValue ? previous[slot] : prices[slot]);
+        }
+
+        @Override
+        public int hashCode() {
+            final Double value = getValue();
+            return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public Double setValue(final Double value) {
+            final Double old = getValue();
+            if (previousValue) {
+                previous[slot] = unbox(value);
+            } else {
+                setPrice(slot, unbox(value));
+            }
+            return old;
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    /**
+     * Iterates over the set bits of {@code bits}
+     */
+    private class SlotIterator implements Iterator<Map.Entry<ITradeable, Double>> {
+
+        private final BitSet  bits;
+        private final boolean previousValue;
+        private int           next;
+        private int           last;
+        private int           expectedVersion;
+
+        SlotIterator(final BitSet bits, final boolean previousValue) {
+            this.bits = bits;
+            this.previousValue = previousValue;
+            next = bits.nextSetBit(0);
+            last = -1;
+            expectedVersion = version;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public Map.Entry<ITradeable, Double> next() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            if (expectedVersion != version) {
+                throw new ConcurrentModificationException();
+            }
+            last = next;
+            next = bits.nextSetBit(next + 1);
+            return new SlotEntry(last, previousValue);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (previousValue) {
+                snapshotted.clear(last);
+            } else {
+                removeSlot(last);
+                expectedVersion = version;
+            }
+            last = -1;
+        }
+    }
+
+    /**
+     * Map view of the values saved by the last {@link PriceTable#snapshot()}
+     */
+    private class Snapshot extends AbstractMap<ITradeable, Double> {
+
+        @Override
+        public void clear() {
+            snapshotted.clear();
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return isSnapshotted(getSlot(key));
+        }
+
+        @Override
+        public Set<Map.Entry<ITradeable, Double>> entrySet() {
+            return new AbstractSet<Map.Entry<ITradeable, Double>>() {
+
+                @Override
+                public Iterator<Map.Entry<ITradeable, Double>> iterator() {
+                    return new SlotIterator(snapshotted, true);
+                }
+
+                @Override
+                public int size() {
+                    return snapshotted.cardinality();
+                }
+            };
+        }
+
+        @Override
+        public Double get(final Object key) {
+            final int slot = getSlot(key);
+            return isSnapshotted(slot) ? box(previous[slot]) : null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return snapshotted.isEmpty();
+        }
+
+        /**
+         * Sets the previous value of {@code tradeable}, a tradeable which
+         * isn't active gets its slot released by the next snapshot
+         */
+        @Override
+        public Double put(final ITradeable tradeable, final Double value) {
+            final int slot = register(tradeable);
+            final Double previousValue = isSnapshotted(slot) ? box(previous[slot]) : null;
+            previous[slot] = (value == null) ? Double.NaN : value.doubleValue();
+            snapshotted.set(slot);
+            if (active.get(slot) == false) {
+                removed.set(slot);
+            }
+            return previousValue;
+        }
+
+        @Override
+        public Double remove(final Object key) {
+            final int slot = getSlot(key);
+            if (isSnapshotted(slot) == false) {
+                return null;
+            }
+            snapshotted.clear(slot);
+            return box(previous[slot]);
+        }
+
+        @Override
+        public int size() {
+            return snapshotted.cardinality();
+        }
+    }
+
+    /**
+     * Values are stored as primitives, null values as NaN
+     */
+    private static Double box(final double value) {
+        return Double.isNaN(value) ? null : Double.valueOf(value);
+    }
+
+    private static double unbox(final Double value) {
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+    /**
+     * Indicates by class whether a {@link de.stock.tradeable.Tradeable
+     * Tradeable} subclass keeps the random walk of
+     * {@link de.stock.tradeable.Tradeable#updateValue()} (looked up once per
+     * class)
+     */
+    private static final ClassValue<Boolean> WALKS = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("updateValue").getDeclaringClass().equals(Tradeable.class);
+            }
+            catch (final NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    /**
+     * Returns {@code true} if {@code tradeable} uses the random walk of
+     * {@link de.stock.tradeable.Tradeable#updateValue()} and has got influence
+     * bounds<br>
+     * <br>
+     * {@link de.stock.tradeable.TradeableView Views} of a market store always
+     * use it
+     */
+    private static boolean isWalkable(final ITradeable tradeable) {
+        if ((tradeable instanceof Tradeable == false && tradeable instanceof TradeableView == false)
+                || Double.isNaN(tradeable.influenceBottomBoundAsDouble())
+                || Double.isNaN(tradeable.influenceTopBoundAsDouble())) {
+            return false;
+        }
+        if (tradeable instanceof TradeableView) {
+            return true;
+        }
+
+        return WALKS.get(tradeable.getClass());
+    }
+
+    /**
+     * Slot of every tradeable which was put into the table
+     */
+    private final HashMap<ITradeable, Integer> slots;
+    private ITradeable[]                       tradeables;
+    /**
+     * Current values
+     */
+    private double[]                           prices;
+    /**
+     * Values of the last {@link #snapshot()}
+     */
+    private double[]                           previous;
+    /**
+     * Slots of active tradeables
+     */
+    private final BitSet                       active;
+    /**
+     * Slots which were active at the last {@link #snapshot()}
+     */
+    private final BitSet                       snapshotted;
+    /**
+     * Slots of removed tradeables the next {@link #snapshot()} releases
+     */
+    private final BitSet                       removed;
+    /**
+     * Released slots which get reused by {@link #register(ITradeable)}
+     */
+    private int[]                              free;
+    private int                                freeCount;
+    /**
+     * Influence bounds of the tradeables captured when they get active
+     */
+    private double[]                           bottomBounds;
+    private double[]                           topBounds;
+    /**
+     * Slots of active tradeables the random walk is done by the table (See
+     * {@link #updateUnchanged(IRandomSource)})
+     */
+    private final BitSet                       walkable;
+    /**
+     * Reused by {@link #updateUnchanged(IRandomSource)}
+     */
+    private final BitSet                       unchanged;
+    private int                                slotCount;
+    private int                                size;
+    /**
+     * Increases every time the set of active tradeables changes
+     */
+    private int                                version;
+    /**
+     * Increases every time slots get released
+     */
+    private int                                slotVersion;
+
+    private final ArrayList<IPriceListener>    listeners;
+
+    private Set<Map.Entry<ITradeable, Double>> entrySet;
+    private Snapshot                           snapshot;
+
+    public PriceTable() {
+        this(16);
+    }
+
+    public PriceTable(final int capacity) {
+        final int initialCapacity = Math.max(capacity, 1);
+        slots = new HashMap<ITradeable, Integer>();
+        tradeables = new ITradeable[initialCapacity];
+        prices = new double[initialCapacity];
+        previous = new double[initialCapacity];
+        active = new BitSet(initialCapacity);
+        snapshotted = new BitSet(initialCapacity);
+        removed = new BitSet(initialCapacity);
+        free = new int[initialCapacity];
+        freeCount = 0;
+        bottomBounds = new double[initialCapacity];
+        topBounds = new double[initialCapacity];
+        walkable = new BitSet(initialCapacity);
+        unchanged = new BitSet(initialCapacity);
+        listeners = new ArrayList<IPriceListener>();
+        slotCount = 0;
+        size = 0;
+        version = 0;
+        slotVersion = 0;
+    }
+
+    /**
+     * Creates a price table with all entries of {@code map}
+     */
+    public PriceTable(final Map<? extends ITradeable, ? extends Double> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    /**
+     * Adds {@code listener} which gets notified about new values and finished
+     * rounds
+     */
+    public void addListener(final IPriceListener listener) {
+        if (listener != null && listeners.contains(listener) == false) {
+            listeners.add(listener);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        removed.or(active);
+        active.clear();
+        size = 0;
+        version++;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return isActive(getSlot(key));
+    }
+
+    @Override
+    public Set<Map.Entry<ITradeable, Double>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<ITradeable, Double>>() {
+
+                @Override
+                public void clear() {
+                    PriceTable.this.clear();
+                }
+
+                @Override
+                public Iterator<Map.Entry<ITradeable, Double>> iterator() {
+                    return new SlotIterator(active, false);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Notifies the listeners that the round is finished (See
+     * {@link de.stock.tradeable.TradeableHandler#finishRound()})
+     */
+    public void finishRound() {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).roundFinished();
+        }
+    }
+
+    private void firePriceChanged(final int slot, final double price) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).priceChanged(slot, price);
+        }
+    }
+
+    private void fireSlotReleased(final int slot) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).slotReleased(slot);
+        }
+    }
+
+    @Override
+    public Double get(final Object key) {
+        final int slot = getSlot(key);
+        return isActive(slot) ? box(prices[slot]) : null;
+    }
+
+    /**
+     * Returns the slots of the active tradeables<br>
+     * <br>
+     * <b>Must not be modified</b>
+     */
+    public BitSet getActive() {
+        return active;
+    }
+
+    public ArrayList<IPriceListener> getListeners() {
+        return listeners;
+    }
+
+    /**
+     * Returns the value of {@code slot} saved by the last {@link #snapshot()}
+     */
+    public double getPreviousPrice(final int slot) {
+        return previous[slot];
+    }
+
+    /**
+     * Returns the current value of {@code slot}
+     */
+    public double getPrice(final int slot) {
+        return prices[slot];
+    }
+
+    /**
+     * Returns the slot of {@code tradeable}
+     * 
+     * @return slot of {@code tradeable} or -1 if it never was put into the
+     *         table
+     */
+    public int getSlot(final Object tradeable) {
+        final Integer slot = slots.get(tradeable);
+        return slot == null ? -1 : slot.intValue();
+    }
+
+    /**
+     * Returns the number of slots (active, inactive and released)
+     */
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Returns a number which changes every time slots get released (See
+     * {@link #snapshot()}), so slots cached outside of the table may belong
+     * to another tradeable
+     */
+    public int getSlotVersion() {
+        return slotVersion;
+    }
+
+    /**
+     * Returns a map view of the values saved by the last {@link #snapshot()}
+     */
+    public Map<ITradeable, Double> getSnapshot() {
+        if (snapshot == null) {
+            snapshot = new Snapshot();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the tradeable of {@code slot} (null if the slot is released)
+     */
+    public ITradeable getTradeable(final int slot) {
+        return tradeables[slot];
+    }
+
+    /**
+     * Returns a number which changes every time the set of active tradeables
+     * changes
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns {@code true} if the tradeable of {@code slot} is active
+     */
+    public boolean isActive(final int slot) {
+        return slot >= 0 && active.get(slot);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns {@code true} if {@code slot} was active at the last
+     * {@link #snapshot()}
+     */
+    public boolean isSnapshotted(final int slot) {
+        return slot >= 0 && snapshotted.get(slot);
+    }
+
+    /**
+     * Adds {@code tradeable} with {@code value} or updates its value
+     */
+    @Override
+    public Double put(final ITradeable tradeable, final Double value) {
+        final int slot = register(tradeable);
+        final Double old = isActive(slot) ? box(prices[slot]) : null;
+
+        prices[slot] = unbox(value);
+        if (active.get(slot) == false) {
+            final ITradeable t = tradeables[slot];
+            removed.clear(slot);
+            walkable.set(slot, isWalkable(t));
+            if (walkable.get(slot)) {
+                bottomBounds[slot] = t.influenceBottomBoundAsDouble();
+                topBounds[slot] = t.influenceTopBoundAsDouble();
+            }
+            active.set(slot);
+            size++;
+            version++;
+        }
+        if (Double.isNaN(prices[slot]) == false) {
+            firePriceChanged(slot, prices[slot]);
+        }
+        return old;
+    }
+
+    /**
+     * Captures the influence bounds of the active {@code tradeable} again<br>
+     * <br>
+     * Needed if the bounds of an active tradeable were changed (See
+     * {@link #updateUnchanged(IRandomSource)})
+     */
+    public void refresh(final ITradeable tradeable) {
+        final int slot = getSlot(tradeable);
+        if (isActive(slot) == false) {
+            return;
+        }
+
+        walkable.set(slot, isWalkable(tradeable));
+        if (walkable.get(slot)) {
+            bottomBounds[slot] = tradeable.influenceBottomBoundAsDouble();
+            topBounds[slot] = tradeable.influenceTopBoundAsDouble();
+        }
+    }
+
+    /**
+     * Returns the slot of {@code tradeable} and assigns a new one if it hasn't
+     * got one yet (released slots first)<br>
+     * <br>
+     * The tradeable doesn't get active
+     * 
+     * @return slot of {@code tradeable}
+     */
+    public int register(final ITradeable tradeable) {
+        if (tradeable == null) {
+            throw new NullPointerException("tradeable");
+        }
+
+        final Integer slot = slots.get(tradeable);
+        if (slot != null) {
+            return slot.intValue();
+        }
+
+        if (freeCount > 0) {
+            final int released = free[--freeCount];
+            tradeables[released] = tradeable;
+            slots.put(tradeable, released);
+            return released;
+        }
+
+        if (slotCount == tradeables.length) {
+            final int capacity = tradeables.length * 2;
+            tradeables = Arrays.copyOf(tradeables, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            previous = Arrays.copyOf(previous, capacity);
+            bottomBounds = Arrays.copyOf(bottomBounds, capacity);
+            topBounds = Arrays.copyOf(topBounds, capacity);
+            free = Arrays.copyOf(free, capacity);
+        }
+
+        tradeables[slotCount] = tradeable;
+        slots.put(tradeable, slotCount);
+        return slotCount++;
+    }
+
+    /**
+     * Releases the slots of the removed tradeables
+     */
+    private void release() {
+        if (removed.isEmpty()) {
+            return;
+        }
+
+        for (int slot = removed.nextSetBit(0); slot >= 0; slot = removed.nextSetBit(slot + 1)) {
+            slots.remove(tradeables[slot]);
+            tradeables[slot] = null;
+            walkable.clear(slot);
+            free[freeCount++] = slot;
+            fireSlotReleased(slot);
+        }
+        removed.clear();
+        slotVersion++;
+    }
+
+    @Override
+    public Double remove(final Object key) {
+        final int slot = getSlot(key);
+        if (isActive(slot) == false) {
+            return null;
+        }
+        final Double old = box(prices[slot]);
+        removeSlot(slot);
+        return old;
+    }
+
+    /**
+     * Removes {@code listener}
+     */
+    public void removeListener(final IPriceListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void removeSlot(final int slot) {
+        active.clear(slot);
+        removed.set(slot);
+        size--;
+        version++;
+    }
+
+    /**
+     * Sets the current value of {@code slot} and notifies the listeners
+     */
+    public void setPrice(final int slot, final double price) {
+        prices[slot] = price;
+        firePriceChanged(slot, price);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Saves the current values of all active tradeables as previous values and
+     * releases the slots of the tradeables removed since the last snapshot
+     */
+    public void snapshot() {
+        System.arraycopy(prices, 0, previous, 0, slotCount);
+        snapshotted.clear();
+        snapshotted.or(active);
+        release();
+    }
+
+    /**
+     * Updates the values of all active slots which were active at the last
+     * {@link #snapshot()} and whose value didn't change since then<br>
+     * <br>
+     * The slots get computed as a mask first and updated in one pass
+     * afterwards. The random walk of
+     * {@link de.stock.tradeable.Tradeable#updateValue()} is done on the
+     * arrays of the table with the influence bounds captured when the
+     * tradeable got active and the new value is written to the tradeable
+     * with {@link de.stock.tradeable.ITradeable#updateValue(double)}.<br>
+     * Tradeables with their own {@code updateValue()} update themselves.<br>
+     * <br>
+     * Random values are drawn in slot order
+     * 
+     * @param random
+     *            random source of the game
+     * 
+     * @return number of updated slots
+     */
+    public int updateUnchanged(final IRandomSource random) {
+        unchanged.clear();
+        unchanged.or(active);
+        unchanged.and(snapshotted);
+
+        int updated = 0;
+        for (int slot = unchanged.nextSetBit(0); slot >= 0; slot = unchanged.nextSetBit(slot + 1)) {
+            final double price = prices[slot];
+
+            if (price != previous[slot]) {
+                continue;
+            }
+
+            if (walkable.get(slot)) {
+                final double newValue = Tradeable.walk(price, bottomBounds[slot], topBounds[slot],
+                        random);
+                prices[slot] = newValue;
+                tradeables[slot].updateValue(newValue);
+            } else {
+                tradeables[slot].updateValue();
+                prices[slot] = tradeables[slot].valueAsDouble();
+            }
+            firePriceChanged(slot, prices[slot]);
+            updated++;
+        }
+
+        return updated;
+    }
+}
@@ -1,15 +1,15 @@
-package de.stock.tradeable;
-
-/**
- * See {@link de.stock.tradeable.ITradeable ITradeable} for further information
- * on tradeables
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public class Stock extends Tradeable implements ITradeable {
-
-    public Stock() {
-        super();
-    }
-
-}
+package de.stock.tradeable;
+
+/**
+ * See {@link de.stock.tradeable.ITradeable ITradeable} for further information
+ * on tradeables
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class Stock extends Tradeable implements ITradeable {
+
+    public Stock() {
+        super();
+    }
+
+}
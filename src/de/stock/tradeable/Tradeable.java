@@ -1,280 +1,348 @@
-package de.stock.tradeable;
-
-import java.util.HashSet;
-
-import de.stock.environment.IEnvironment;
-import de.stock.settings.Settings_Tradeable;
-import de.stock.utils.Utils;
-
-/**
- * See {@link de.stock.tradeable.ITradeable ITradeable} for further information
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public class Tradeable implements ITradeable {
-
-    private String                name;
-    private String                description;
-    private Double                value;
-    /**
-     * Range for value initialization
-     */
-    private Double                initTopBound;
-    private Double                initBottomBound;
-    /**
-     * Range for every (not influenced by events) round update
-     */
-    private Double                influenceTopBound;
-    private Double                influenceBottomBound;
-    /**
-     * Maximum number of shares
-     */
-    private Integer               maxShares;
-    /**
-     * Minimum number of shares
-     */
-    private Integer               minShares;
-    /**
-     * Available number of shares of this tradeable
-     */
-    private Integer               shares;
-    /**
-     * Tradeable is part of the Environment
-     */
-    private HashSet<IEnvironment> partOf;
-
-    protected Tradeable() {
-        name = new String("");
-        description = new String("");
-        value = new Double(0);
-        initTopBound = new Double(0);
-        initBottomBound = new Double(0);
-        influenceBottomBound = new Double(0);
-        influenceTopBound = new Double(0);
-        maxShares = new Integer(0);
-        shares = new Integer(0);
-        partOf = new HashSet<IEnvironment>();
-    }
-
-    @Override
-    public void decShares(final Integer value) {
-        shares -= value;
-    }
-
-    @Override
-    public String getDescription() {
-
-        return description;
-    }
-
-    @Override
-    public Double getInfluenceBottomBound() {
-        return influenceBottomBound;
-    }
-
-    @Override
-    public Double getInfluenceTopBound() {
-        return influenceTopBound;
-    }
-
-    @Override
-    public Double getInitBottomBound() {
-
-        return initBottomBound;
-    }
-
-    @Override
-    public Double getInitTopBound() {
-
-        return initTopBound;
-    }
-
-    @Override
-    public Integer getMaxShares() {
-        return maxShares;
-    }
-
-    @Override
-    public Integer getMinShares() {
-        return minShares;
-    }
-
-    @Override
-    public String getName() {
-
-        return name;
-    }
-
-    @Override
-    public HashSet<IEnvironment> getPartOf() {
-
-        return partOf;
-    }
-
-    @Override
-    public Integer getShares() {
-        return shares;
-    }
-
-    @Override
-    public Double getValue() {
-
-        return value;
-    }
-
-    @Override
-    public void incShares(final Integer value) {
-        shares += value;
-    }
-
-    /**
-     * Initialize number of shares using {@link #getMaxShares() number of
-     * maximum} and {@link #getMinShares() number of minimum shares}
-     * 
-     * @return Returns the number of shares
-     */
-    @Override
-    public Integer initializeShares() {
-        final Integer value = Utils.random(getMinShares(), getMaxShares());
-        setShares(value);
-        return value;
-    }
-
-    /**
-     * Initializes value of tradeable using {@link #getInitBottomBound()} and
-     * {@link #getInitTopBound()}
-     * 
-     * @return Returns the initial value
-     */
-    @Override
-    public Double initializeValue() {
-        final Double value = Utils.random(initBottomBound, initTopBound);
-        setValue(value);
-        return value;
-    }
-
-    @Override
-    /**
-     * See {@link #registerAtEnvironment(IEnvironment)}
-     * 
-     * @param environment
-     *            tradeable gets registered at this environment
-     */
-    public void linkToEnvironment(final IEnvironment environment) {
-        registerAtEnvironment(environment);
-    }
-
-    @Override
-    /**
-     * Register tradeable at {@link de.stock.environment.Environment
-     * environment}
-     * 
-     * @param environment
-     *            tradeable gets registered at this environment
-     */
-    public void registerAtEnvironment(final IEnvironment environment) {
-        // Register at environment
-        environment.getTradeables().add(this);
-        // Save environment in object
-        getPartOf().add(environment);
-    }
-
-    @Override
-    public void setDescription(final String description) {
-
-        this.description = description;
-    }
-
-    @Override
-    public void setInfluenceBottomBound(final Double influenceBottomBound) {
-        this.influenceBottomBound = influenceBottomBound;
-    }
-
-    @Override
-    public void setInfluenceTopBound(final Double influenceTopBound) {
-        this.influenceTopBound = influenceTopBound;
-    }
-
-    @Override
-    public void setInitBottomBound(final Double initBottomBound) {
-
-        this.initBottomBound = initBottomBound;
-    }
-
-    @Override
-    public void setInitTopBound(final Double initTopBound) {
-
-        this.initTopBound = initTopBound;
-    }
-
-    @Override
-    public void setMaxShares(final Integer maxShares) {
-        this.maxShares = maxShares;
-    }
-
-    @Override
-    public void setMinShares(final Integer minShares) {
-        this.minShares = minShares;
-    }
-
-    @Override
-    public void setName(final String name) {
-
-        this.name = name;
-    }
-
-    @Override
-    public void setPartOf(final HashSet<IEnvironment> partOf) {
-
-        this.partOf = partOf;
-    }
-
-    @Override
-    public void setShares(final Integer shares) {
-        this.shares = shares;
-    }
-
-    @Override
-    public void setValue(final Double value) {
-
-        this.value = value;
-    }
-
-    /**
-     * Updates value (double, not percent) of tradeable according to random<br>
-     * value in between {@link #getInfluenceBottomBound()} and
-     * {@link #setInfluenceTopBound(Double)}<br>
-     * The sign of the value is random, too.
-     * {@link de.stock.settings.Settings_Tradeable#SIGN_NEGATIVE_BOUND}
-     * 
-     * @return new value of tradeable
-     */
-    @Override
-    public Double updateValue() {
-
-        final Integer sign = (Utils.random(0, 100) > Settings_Tradeable.SIGN_NEGATIVE_BOUND) ? 1
-                : -1;
-        Double newValue = Utils.random(getInfluenceBottomBound(), getInfluenceTopBound()) * sign;
-        newValue = getValue().doubleValue() + newValue;
-        if (newValue <= 0) {
-            newValue = Utils.random(Settings_Tradeable.RESET_BOTTOM_LIMIT,
-                    Settings_Tradeable.RESET_TOP_LIMIT);
-        }
-
-        setValue(newValue);
-
-        return newValue;
-    }
-
-    /**
-     * Sets value to {@code value}
-     * 
-     * @param value
-     *            new value
-     */
-    @Override
-    public void updateValue(final Double value) {
-
-        setValue(value);
-    }
-}
+package de.stock.tradeable;
+
+import java.util.HashSet;
+
+import de.stock.environment.EnvironmentGraph;
+import de.stock.environment.IEnvironment;
+import de.stock.settings.Settings_Tradeable;
+import de.stock.utils.IRandomSource;
+import de.stock.utils.Utils;
+
+/**
+ * See {@link de.stock.tradeable.ITradeable ITradeable} for further information<br>
+ * <br>
+ * Value, bounds and shares are stored as primitives, null values as NaN
+ * respectively {@link de.stock.utils.Utils#NULL_INT} (See
+ * {@link de.stock.utils.Utils#box(double)})
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class Tradeable implements ITradeable {
+
+    /**
+     * Returns {@code value} moved by a random value in between {@code bottom}
+     * and {@code top} with a random sign (See {@link #updateValue()})
+     */
+    static double walk(final double value, final double bottom, final double top,
+            final IRandomSource random) {
+        final int sign = (random.nextInt(0, 100) > Settings_Tradeable.SIGN_NEGATIVE_BOUND) ? 1
+                : -1;
+        double newValue = random.nextDouble(bottom, top) * sign;
+        newValue = value + newValue;
+        if (newValue <= 0) {
+            newValue = random.nextDouble(Settings_Tradeable.RESET_BOTTOM_LIMIT,
+                    Settings_Tradeable.RESET_TOP_LIMIT);
+        }
+        return newValue;
+    }
+
+    private String                name;
+    private String                description;
+    private double                value;
+    /**
+     * Range for value initialization
+     */
+    private double                initTopBound;
+    private double                initBottomBound;
+    /**
+     * Range for every (not influenced by events) round update
+     */
+    private double                influenceTopBound;
+    private double                influenceBottomBound;
+    /**
+     * Maximum number of shares
+     */
+    private int                   maxShares;
+    /**
+     * Minimum number of shares
+     */
+    private int                   minShares;
+    /**
+     * Available number of shares of this tradeable
+     */
+    private int                   shares;
+    /**
+     * Tradeable is part of the Environment
+     */
+    private HashSet<IEnvironment> partOf;
+
+    protected Tradeable() {
+        name = new String("");
+        description = new String("");
+        value = 0;
+        initTopBound = 0;
+        initBottomBound = 0;
+        influenceBottomBound = 0;
+        influenceTopBound = 0;
+        maxShares = 0;
+        minShares = Utils.NULL_INT;
+        shares = 0;
+        partOf = new HashSet<IEnvironment>();
+    }
+
+    @Override
+    public void decShares(final Integer value) {
+        shares -= value;
+    }
+
+    @Override
+    public String getDescription() {
+
+        return description;
+    }
+
+    @Override
+    public Double getInfluenceBottomBound() {
+        return Utils.box(influenceBottomBound);
+    }
+
+    @Override
+    public Double getInfluenceTopBound() {
+        return Utils.box(influenceTopBound);
+    }
+
+    @Override
+    public Double getInitBottomBound() {
+
+        return Utils.box(initBottomBound);
+    }
+
+    @Override
+    public Double getInitTopBound() {
+
+        return Utils.box(initTopBound);
+    }
+
+    @Override
+    public Integer getMaxShares() {
+        return Utils.box(maxShares);
+    }
+
+    @Override
+    public Integer getMinShares() {
+        return Utils.box(minShares);
+    }
+
+    @Override
+    public String getName() {
+
+        return name;
+    }
+
+    @Override
+    public HashSet<IEnvironment> getPartOf() {
+
+        return partOf;
+    }
+
+    @Override
+    public Integer getShares() {
+        return Utils.box(shares);
+    }
+
+    @Override
+    public Double getValue() {
+
+        return Utils.box(value);
+    }
+
+    @Override
+    public void incShares(final Integer value) {
+        shares += value;
+    }
+
+    @Override
+    public double influenceBottomBoundAsDouble() {
+        return influenceBottomBound;
+    }
+
+    @Override
+    public double influenceTopBoundAsDouble() {
+        return influenceTopBound;
+    }
+
+    @Override
+    public double initBottomBoundAsDouble() {
+        return initBottomBound;
+    }
+
+    @Override
+    public double initTopBoundAsDouble() {
+        return initTopBound;
+    }
+
+    /**
+     * Initialize number of shares using {@link #getMaxShares() number of
+     * maximum} and {@link #getMinShares() number of minimum shares}
+     * 
+     * @return Returns the number of shares
+     */
+    @Override
+    public Integer initializeShares() {
+        final Integer value = Utils.random(getMinShares(), getMaxShares());
+        setShares(value);
+        return value;
+    }
+
+    /**
+     * Initializes value of tradeable using {@link #getInitBottomBound()} and
+     * {@link #getInitTopBound()}
+     * 
+     * @return Returns the initial value
+     */
+    @Override
+    public Double initializeValue() {
+        final Double value = Utils.random(initBottomBound, initTopBound);
+        setValue(value);
+        return value;
+    }
+
+    @Override
+    /**
+     * See {@link #registerAtEnvironment(IEnvironment)}
+     * 
+     * @param environment
+     *            tradeable gets registered at this environment
+     */
+    public void linkToEnvironment(final IEnvironment environment) {
+        registerAtEnvironment(environment);
+    }
+
+    @Override
+    public int maxSharesAsInt() {
+        return maxShares;
+    }
+
+    @Override
+    public int minSharesAsInt() {
+        return minShares;
+    }
+
+    @Override
+    /**
+     * Register tradeable at {@link de.stock.environment.Environment
+     * environment}
+     * 
+     * @param environment
+     *            tradeable gets registered at this environment
+     */
+    public void registerAtEnvironment(final IEnvironment environment) {
+        // Register at environment
+        if (environment.getTradeables().add(this)) {
+            EnvironmentGraph.invalidate();
+        }
+        // Save environment in object
+        getPartOf().add(environment);
+    }
+
+    @Override
+    public void setDescription(final String description) {
+
+        this.description = description;
+    }
+
+    @Override
+    public void setInfluenceBottomBound(final Double influenceBottomBound) {
+        this.influenceBottomBound = Utils.unbox(influenceBottomBound);
+    }
+
+    @Override
+    public void setInfluenceTopBound(final Double influenceTopBound) {
+        this.influenceTopBound = Utils.unbox(influenceTopBound);
+    }
+
+    @Override
+    public void setInitBottomBound(final Double initBottomBound) {
+
+        this.initBottomBound = Utils.unbox(initBottomBound);
+    }
+
+    @Override
+    public void setInitTopBound(final Double initTopBound) {
+
+        this.initTopBound = Utils.unbox(initTopBound);
+    }
+
+    @Override
+    public void setMaxShares(final Integer maxShares) {
+        this.maxShares = Utils.unbox(maxShares);
+    }
+
+    @Override
+    public void setMinShares(final Integer minShares) {
+        this.minShares = Utils.unbox(minShares);
+    }
+
+    @Override
+    public void setName(final String name) {
+
+        this.name = name;
+    }
+
+    @Override
+    public void setPartOf(final HashSet<IEnvironment> partOf) {
+
+        this.partOf = partOf;
+    }
+
+    @Override
+    public void setShares(final Integer shares) {
+        this.shares = Utils.unbox(shares);
+    }
+
+    @Override
+    public void setValue(final Double value) {
+
+        this.value = Utils.unbox(value);
+    }
+
+    @Override
+    public int sharesAsInt() {
+        return shares;
+    }
+
+    /**
+     * Updates value (double, not percent) of tradeable according to random<br>
+     * value in between {@link #getInfluenceBottomBound()} and
+     * {@link #setInfluenceTopBound(Double)}<br>
+     * The sign of the value is random, too.
+     * {@link de.stock.settings.Settings_Tradeable#SIGN_NEGATIVE_BOUND}
+     * 
+     * @return new value of tradeable
+     */
+    @Override
+    public Double updateValue() {
+
+        value = walk(value, influenceBottomBound, influenceTopBound, Utils.getRandom());
+
+        return value;
+    }
+
+    /**
+     * Sets value to {@code value}
+     * 
+     * @param value
+     *            new value
+     */
+    @Override
+    public void updateValue(final Double value) {
+
+        setValue(value);
+    }
+
+    /**
+     * Sets value to {@code value} without boxing
+     * 
+     * @param value
+     *            new value
+     */
+    @Override
+    public void updateValue(final double value) {
+        this.value = value;
+    }
+
+    @Override
+    public double valueAsDouble() {
+        return value;
+    }
+}
@@ -1,165 +1,276 @@
-package de.stock.tradeable;
-
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map.Entry;
-
-import de.stock.deserializer.Deserializer;
-import de.stock.settings.Settings_Deserializer;
-
-/**
- * The tradeable handler stores all registered
- * {@link de.stock.tradeable.Tradeable tradeables}, keeps track of the active
- * (currently played) {@link de.stock.tradeable.Tradeable tradeables} and
- * updates them if they weren't influenced by an {@link de.stock.event.Event
- * Event}
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public class TradeableHandler {
-
-    private static TradeableHandler instance = null;
-
-    public static TradeableHandler getInstance() {
-        if (instance == null) {
-            instance = new TradeableHandler();
-        }
-        return instance;
-    }
-
-    /**
-     * Saves all tradeables
-     */
-    private HashSet<ITradeable>                tradeables;
-    /**
-     * Tradeables with their current value
-     */
-    private HashMap<ITradeable, Double>        activeTradeables;
-
-    /**
-     * Used to check if tradeable value was influenced by an event or needs to
-     * be updated<br>
-     * See {@link #saveCurrentState()} and {@link #updateUnchangedTradeables()}
-     */
-    private static HashMap<ITradeable, Double> tempTradeables;
-
-    private TradeableHandler() {
-        setTradeables(new HashSet<ITradeable>());
-        activeTradeables = new HashMap<ITradeable, Double>();
-        tempTradeables = new HashMap<ITradeable, Double>();
-    }
-
-    /**
-     * Wrapper for {@link #registerActiveTradeable(ITradeable)}
-     * 
-     * @param tradeable
-     *            tradeable to add
-     */
-    public void addActiveTradeable(final ITradeable tradeable) {
-        registerActiveTradeable(tradeable);
-    }
-
-    /**
-     * Adds tradeable to <b>available</b> tradeables<br>
-     * <br>
-     * <b>Use {@link #register(ITradeable)} to set tradeable active</b>!
-     */
-    public void addTradeable(final ITradeable tradeable) {
-        tradeables.add(tradeable);
-    }
-
-    public HashMap<ITradeable, Double> getActiveTradeables() {
-        return activeTradeables;
-    }
-
-    public HashMap<ITradeable, Double> getTempTradeables() {
-        return tempTradeables;
-    }
-
-    public HashSet<ITradeable> getTradeables() {
-        return tradeables;
-    }
-
-    /**
-     * Loads all tradeables from directory
-     * {@link de.stock.settings.Settings_Deserializer#PATH_TRADEABLES} and
-     * stores
-     * them in {@link #getTradeables()}
-     * 
-     * @return
-     *         number of loaded tradeables
-     */
-    public Integer loadTradeables() {
-        return Deserializer.deserialize(Settings_Deserializer.TYPE_TRADEABLE);
-    }
-
-    /**
-     * Wrapper for {@link #registerActiveTradeable(ITradeable)}
-     * 
-     * @param tradeable
-     *            tradeable to add
-     */
-    public void register(final ITradeable tradeable) {
-        registerActiveTradeable(tradeable);
-    }
-
-    /**
-     * Adds {@code tradeable} to active {@link de.stock.tradeable.Tradeable
-     * tradeables} and initializes it using
-     * {@link de.stock.tradeable.Tradeable#initializeValue()}
-     * 
-     * @param tradeable
-     *            tradeable to add to active tradeables
-     */
-    public void registerActiveTradeable(final ITradeable tradeable) {
-        if (getActiveTradeables().containsKey(tradeable)) {
-            return;
-        }
-        getActiveTradeables().put(tradeable, tradeable.initializeValue());
-    }
-
-    /**
-     * Saves current state of {@link de.stock.tradeable.Tradeable tradeables}<br>
-     * <br>
-     * Cooperates with {@link #updateUnchangedTradeables()} to update tradeables
-     * which weren't influenced by events
-     */
-    public void saveCurrentState() {
-        tempTradeables.clear();
-        tempTradeables.putAll(getActiveTradeables());
-    }
-
-    public void setActiveTradeables(final HashMap<ITradeable, Double> activeTradeables) {
-        this.activeTradeables = activeTradeables;
-    }
-
-    public void setTempTradeables(final HashMap<ITradeable, Double> tempTradeables) {
-        TradeableHandler.tempTradeables = tempTradeables;
-    }
-
-    public void setTradeables(final HashSet<ITradeable> tradeables) {
-        this.tradeables = tradeables;
-    }
-
-    /**
-     * Updates all unchanged {@link de.stock.tradeable.Tradeable tradeables}<br>
-     * <br>
-     * Compares temporary state of {@link #saveCurrentState()} with current
-     * state and updates {@link de.stock.tradeable.Tradeable tradeables} which
-     * weren't influenced by events <br>
-     */
-    public void updateUnchangedTradeables() {
-        for (final Entry<ITradeable, Double> activeEntry : getActiveTradeables().entrySet()) {
-            if (getTempTradeables().containsKey(activeEntry.getKey())) {
-                if (activeEntry.getValue().doubleValue() == getTempTradeables().get(
-                        activeEntry.getKey()).doubleValue()) {
-                    // Update tradeable if its unchanged in tradeable self
-                    activeEntry.getKey().updateValue();
-                    // Update tradeable if its unchanged in active tradeables
-                    getActiveTradeables()
-                            .put(activeEntry.getKey(), activeEntry.getKey().getValue());
-                }
-            }
-        }
-    }
-}
+package de.stock.tradeable;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import de.stock.deserializer.Deserializer;
+import de.stock.game.GameContext;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.utils.Utils;
+
+/**
+ * The tradeable handler stores all registered
+ * {@link de.stock.tradeable.Tradeable tradeables}, keeps track of the active
+ * (currently played) {@link de.stock.tradeable.Tradeable tradeables} and
+ * updates them if they weren't influenced by an {@link de.stock.event.Event
+ * Event}
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class TradeableHandler {
+
+    /**
+     * Returns the tradeable handler of the current
+     * {@link de.stock.game.GameContext GameContext}
+     */
+    public static TradeableHandler getInstance() {
+        return GameContext.getCurrent().getTradeableHandler();
+    }
+
+    /**
+     * Saves all tradeables
+     */
+    private HashSet<ITradeable> tradeables;
+    /**
+     * Tradeables with their current value<br>
+     * <br>
+     * The previous values of the table are used to check if tradeable value
+     * was influenced by an event or needs to be updated<br>
+     * See {@link #saveCurrentState()} and {@link #updateUnchangedTradeables()}
+     */
+    private PriceTable          activeTradeables;
+    /**
+     * Values of the active tradeables of the last rounds or null if no
+     * history is recorded (See {@link #recordPriceHistory()})
+     */
+    private PriceHistory        priceHistory;
+
+    public TradeableHandler() {
+        setTradeables(new HashSet<ITradeable>());
+        activeTradeables = new PriceTable();
+    }
+
+    /**
+     * Wrapper for {@link #registerActiveTradeable(ITradeable)}
+     * 
+     * @param tradeable
+     *            tradeable to add
+     */
+    public void addActiveTradeable(final ITradeable tradeable) {
+        registerActiveTradeable(tradeable);
+    }
+
+    /**
+     * Adds tradeable to <b>available</b> tradeables<br>
+     * <br>
+     * <b>Use {@link #register(ITradeable)} to set tradeable active</b>!
+     */
+    public void addTradeable(final ITradeable tradeable) {
+        tradeables.add(tradeable);
+    }
+
+    /**
+     * Finishes the round of the tradeables<br>
+     * <br>
+     * Records the values in the {@link #getPriceHistory() price history} and
+     * notifies the {@link de.stock.tradeable.IPriceListener listeners} of the
+     * active tradeables. Called once per round after
+     * {@link #updateUnchangedTradeables()}
+     */
+    public void finishRound() {
+        recordPriceHistory();
+        activeTradeables.finishRound();
+    }
+
+    /**
+     * Returns the active tradeable with its current value at position
+     * {@code index} (starting at 1) as shown to the player
+     * 
+     * @return entry of the active tradeable upon success otherwise null
+     */
+    public Entry<ITradeable, Double> getActiveTradeable(final Integer index) {
+        if (index == null || index < 1 || index > getActiveTradeables().size()) {
+            return null;
+        }
+
+        final BitSet active = activeTradeables.getActive();
+        int slot = active.nextSetBit(0);
+        for (int i = 1; i < index; i++) {
+            slot = active.nextSetBit(slot + 1);
+        }
+
+        final ITradeable tradeable = activeTradeables.getTradeable(slot);
+        return new SimpleEntry<ITradeable, Double>(tradeable, activeTradeables.get(tradeable));
+    }
+
+    public PriceTable getActiveTradeables() {
+        return activeTradeables;
+    }
+
+    public PriceHistory getPriceHistory() {
+        return priceHistory;
+    }
+
+    /**
+     * Returns the values of the active tradeables saved by
+     * {@link #saveCurrentState()}<br>
+     * <br>
+     * The map is a view of the {@link #getActiveTradeables() active table}
+     * (See {@link de.stock.tradeable.PriceTable#getSnapshot()})
+     */
+    public Map<ITradeable, Double> getTempTradeables() {
+        return activeTradeables.getSnapshot();
+    }
+
+    public HashSet<ITradeable> getTradeables() {
+        return tradeables;
+    }
+
+    /**
+     * Loads all tradeables from directory
+     * {@link de.stock.settings.Settings_Deserializer#PATH_TRADEABLES} and
+     * stores
+     * them in {@link #getTradeables()}
+     * 
+     * @return
+     *         number of loaded tradeables
+     */
+    public Integer loadTradeables() {
+        return Deserializer.deserialize(Settings_Deserializer.TYPE_TRADEABLE);
+    }
+
+    /**
+     * Appends the current values of the active tradeables to the
+     * {@link #getPriceHistory() price history} if there is one (See
+     * {@link #finishRound()})
+     */
+    public void recordPriceHistory() {
+        if (priceHistory != null) {
+            priceHistory.append(activeTradeables);
+        }
+    }
+
+    /**
+     * Wrapper for {@link #registerActiveTradeable(ITradeable)}
+     * 
+     * @param tradeable
+     *            tradeable to add
+     */
+    public void register(final ITradeable tradeable) {
+        registerActiveTradeable(tradeable);
+    }
+
+    /**
+     * Adds {@code tradeable} to active {@link de.stock.tradeable.Tradeable
+     * tradeables} and initializes it using
+     * {@link de.stock.tradeable.Tradeable#initializeValue()}
+     * 
+     * @param tradeable
+     *            tradeable to add to active tradeables
+     */
+    public void registerActiveTradeable(final ITradeable tradeable) {
+        if (getActiveTradeables().containsKey(tradeable)) {
+            return;
+        }
+        getActiveTradeables().put(tradeable, tradeable.initializeValue());
+    }
+
+    /**
+     * Saves current state of {@link de.stock.tradeable.Tradeable tradeables}<br>
+     * <br>
+     * Cooperates with {@link #updateUnchangedTradeables()} to update tradeables
+     * which weren't influenced by events
+     */
+    public void saveCurrentState() {
+        activeTradeables.snapshot();
+    }
+
+    /**
+     * Replaces the active tradeables with the entries of
+     * {@code activeTradeables}<br>
+     * <br>
+     * A {@link de.stock.tradeable.PriceTable PriceTable} is used directly, all
+     * other maps are copied. The {@link de.stock.tradeable.IPriceListener
+     * listeners} of the old table are moved to the new one and get
+     * {@link IPriceListener#slotsReset() reset} as the slots of the new table
+     * belong to other tradeables. The
+     * {@link #getPriceHistory() price history} is one of the listeners, so it
+     * gets cleared as well
+     */
+    public void setActiveTradeables(final Map<ITradeable, Double> activeTradeables) {
+        final PriceTable previous = this.activeTradeables;
+        if (activeTradeables instanceof PriceTable) {
+            this.activeTradeables = (PriceTable) activeTradeables;
+        } else {
+            this.activeTradeables = new PriceTable(activeTradeables);
+        }
+
+        if (previous != null && previous != this.activeTradeables) {
+            // The slots of the new table mean other tradeables
+            for (final IPriceListener listener : previous.getListeners()) {
+                listener.slotsReset();
+                this.activeTradeables.addListener(listener);
+            }
+            previous.getListeners().clear();
+        }
+    }
+
+    /**
+     * Sets the history the values of the active tradeables are recorded in
+     * every round (null to stop recording)<br>
+     * <br>
+     * The slots of the history are the slots of {@link #getActiveTradeables()},
+     * so the history gets added as a {@link de.stock.tradeable.IPriceListener
+     * listener} to the table. It drops the rounds of released slots and gets
+     * {@link PriceHistory#clear() cleared} if the table gets replaced (See
+     * {@link #setActiveTradeables(Map)})
+     */
+    public void setPriceHistory(final PriceHistory priceHistory) {
+        if (this.priceHistory != null) {
+            activeTradeables.removeListener(this.priceHistory);
+        }
+        this.priceHistory = priceHistory;
+        if (priceHistory != null) {
+            activeTradeables.addListener(priceHistory);
+        }
+    }
+
+    /**
+     * Replaces the values saved by {@link #saveCurrentState()} with the
+     * entries of {@code tempTradeables}
+     * 
+     * @deprecated The saved values are kept by the
+     *             {@link #getActiveTradeables() active table}, use
+     *             {@link #getTempTradeables()} to change them
+     */
+    @Deprecated
+    public void setTempTradeables(final Map<ITradeable, Double> tempTradeables) {
+        final Map<ITradeable, Double> snapshot = activeTradeables.getSnapshot();
+        if (tempTradeables == snapshot) {
+            return;
+        }
+        snapshot.clear();
+        snapshot.putAll(tempTradeables);
+    }
+
+    public void setTradeables(final HashSet<ITradeable> tradeables) {
+        this.tradeables = tradeables;
+    }
+
+    /**
+     * Updates all unchanged {@link de.stock.tradeable.Tradeable tradeables}<br>
+     * <br>
+     * Compares temporary state of {@link #saveCurrentState()} with current
+     * state and updates {@link de.stock.tradeable.Tradeable tradeables} which
+     * weren't influenced by events <br>
+     * <br>
+     * See {@link de.stock.tradeable.PriceTable#updateUnchanged(de.stock.utils.IRandomSource)
+     * PriceTable.updateUnchanged()}
+     */
+    public void updateUnchangedTradeables() {
+        activeTradeables.updateUnchanged(Utils.getRandom());
+    }
+}
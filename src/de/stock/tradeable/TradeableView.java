@@ -0,0 +1,251 @@
+package de.stock.tradeable;
+
+import java.util.HashSet;
+
+import de.stock.environment.IEnvironment;
+import de.stock.utils.Utils;
+
+/**
+ * Flyweight {@link de.stock.tradeable.ITradeable ITradeable} over a row of a
+ * {@link de.stock.tradeable.MarketStore MarketStore}<br>
+ * <br>
+ * All reads and writes go to the columns of the store. There is exactly one
+ * view per row (See {@link de.stock.tradeable.MarketStore#getTradeable(int)}),
+ * so views can be compared by identity like tradeables.<br>
+ * <br>
+ * {@link #getPartOf()} returns the live set of the row like
+ * {@link de.stock.tradeable.Tradeable Tradeable} does. Changing it keeps the
+ * {@link de.stock.tradeable.MarketStore#getRows(IEnvironment) rows} of the
+ * environments up to date
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class TradeableView implements ITradeable {
+
+    private final MarketStore store;
+    private final int         row;
+
+    TradeableView(final MarketStore store, final int row) {
+        this.store = store;
+        this.row = row;
+    }
+
+    @Override
+    public void decShares(final Integer value) {
+        store.shares[row] -= value;
+    }
+
+    @Override
+    public String getDescription() {
+        return store.getDescription(row);
+    }
+
+    @Override
+    public Double getInfluenceBottomBound() {
+        return Utils.box(store.influenceBottomBounds[row]);
+    }
+
+    @Override
+    public Double getInfluenceTopBound() {
+        return Utils.box(store.influenceTopBounds[row]);
+    }
+
+    @Override
+    public Double getInitBottomBound() {
+        return Utils.box(store.initBottomBounds[row]);
+    }
+
+    @Override
+    public Double getInitTopBound() {
+        return Utils.box(store.initTopBounds[row]);
+    }
+
+    @Override
+    public Integer getMaxShares() {
+        return Utils.box(store.maxShares[row]);
+    }
+
+    @Override
+    public Integer getMinShares() {
+        return Utils.box(store.minShares[row]);
+    }
+
+    @Override
+    public String getName() {
+        return store.getName(row);
+    }
+
+    @Override
+    public HashSet<IEnvironment> getPartOf() {
+        return store.getPartOf(row);
+    }
+
+    /**
+     * Returns the row of this view
+     */
+    public int getRow() {
+        return row;
+    }
+
+    @Override
+    public Integer getShares() {
+        return Utils.box(store.shares[row]);
+    }
+
+    public MarketStore getStore() {
+        return store;
+    }
+
+    @Override
+    public Double getValue() {
+        return Utils.box(store.values[row]);
+    }
+
+    @Override
+    public void incShares(final Integer value) {
+        store.shares[row] += value;
+    }
+
+    @Override
+    public double influenceBottomBoundAsDouble() {
+        return store.influenceBottomBounds[row];
+    }
+
+    @Override
+    public double influenceTopBoundAsDouble() {
+        return store.influenceTopBounds[row];
+    }
+
+    @Override
+    public double initBottomBoundAsDouble() {
+        return store.initBottomBounds[row];
+    }
+
+    @Override
+    public double initTopBoundAsDouble() {
+        return store.initTopBounds[row];
+    }
+
+    @Override
+    public Integer initializeShares() {
+        final Integer value = Utils.random(getMinShares(), getMaxShares());
+        setShares(value);
+        return value;
+    }
+
+    @Override
+    public Double initializeValue() {
+        final Double value = Utils.random(getInitBottomBound(), getInitTopBound());
+        setValue(value);
+        return value;
+    }
+
+    @Override
+    public void linkToEnvironment(final IEnvironment environment) {
+        registerAtEnvironment(environment);
+    }
+
+    @Override
+    public int maxSharesAsInt() {
+        return store.maxShares[row];
+    }
+
+    @Override
+    public int minSharesAsInt() {
+        return store.minShares[row];
+    }
+
+    @Override
+    public void registerAtEnvironment(final IEnvironment environment) {
+        store.registerAtEnvironment(row, environment);
+    }
+
+    @Override
+    public void setDescription(final String description) {
+        store.setDescription(row, description);
+    }
+
+    @Override
+    public void setInfluenceBottomBound(final Double influenceBottomBound) {
+        store.influenceBottomBounds[row] = Utils.unbox(influenceBottomBound);
+    }
+
+    @Override
+    public void setInfluenceTopBound(final Double influenceTopBound) {
+        store.influenceTopBounds[row] = Utils.unbox(influenceTopBound);
+    }
+
+    @Override
+    public void setInitBottomBound(final Double initBottomBound) {
+        store.initBottomBounds[row] = Utils.unbox(initBottomBound);
+    }
+
+    @Override
+    public void setInitTopBound(final Double initTopBound) {
+        store.initTopBounds[row] = Utils.unbox(initTopBound);
+    }
+
+    @Override
+    public void setMaxShares(final Integer maxShares) {
+        store.maxShares[row] = Utils.unbox(maxShares);
+    }
+
+    @Override
+    public void setMinShares(final Integer minShares) {
+        store.minShares[row] = Utils.unbox(minShares);
+    }
+
+    @Override
+    public void setName(final String name) {
+        store.setName(row, name);
+    }
+
+    /**
+     * Replaces the environments this tradeable is part of without registering
+     * at them (like {@link de.stock.tradeable.Tradeable#setPartOf(HashSet)})
+     */
+    @Override
+    public void setPartOf(final HashSet<IEnvironment> partOf) {
+        store.setPartOf(row, partOf);
+    }
+
+    @Override
+    public void setShares(final Integer shares) {
+        store.shares[row] = Utils.unbox(shares);
+    }
+
+    @Override
+    public void setValue(final Double value) {
+        store.values[row] = Utils.unbox(value);
+    }
+
+    @Override
+    public int sharesAsInt() {
+        return store.shares[row];
+    }
+
+    /**
+     * Same random walk as {@link de.stock.tradeable.Tradeable#updateValue()}
+     */
+    @Override
+    public Double updateValue() {
+        store.values[row] = Tradeable.walk(store.values[row], store.influenceBottomBounds[row],
+                store.influenceTopBounds[row], Utils.getRandom());
+        return store.values[row];
+    }
+
+    @Override
+    public void updateValue(final Double value) {
+        setValue(value);
+    }
+
+    @Override
+    public void updateValue(final double value) {
+        store.values[row] = value;
+    }
+
+    @Override
+    public double valueAsDouble() {
+        return store.values[row];
+    }
+}
@@ -0,0 +1,52 @@
+package de.stock.utils;
+
+/**
+ * Source of random values for one game (See
+ * {@link de.stock.game.GameContext GameContext})<br>
+ * <br>
+ * All methods work on primitives and don't allocate objects.<br>
+ * A random source must not be shared between threads. Use {@link #split()}
+ * to get an independent source for another thread
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public interface IRandomSource {
+
+    /**
+     * Returns double inbetween range of 0.0 (inclusive) -> 1.0 (exclusive)
+     */
+    public abstract double nextDouble();
+
+    /**
+     * Returns double inbetween range of min -> max<br>
+     * <br>
+     * min and max get swapped if min is greater than max
+     */
+    public abstract double nextDouble(final double min, final double max);
+
+    /**
+     * Returns integer inbetween range of min -> max (both inclusive)<br>
+     * <br>
+     * min and max get swapped if min is greater than max
+     */
+    public abstract int nextInt(final int min, final int max);
+
+    /**
+     * Returns 64 random bits
+     */
+    public abstract long nextLong();
+
+    /**
+     * Resets the source to the sequence of {@code seed}
+     */
+    public abstract void setSeed(final long seed);
+
+    /**
+     * Returns a new random source whose values are independent of the values
+     * of this source<br>
+     * <br>
+     * The new source is derived from this source, so splitting a seeded source
+     * is reproducible
+     */
+    public abstract IRandomSource split();
+}
@@ -0,0 +1,145 @@
+package de.stock.utils;
+
+/**
+ * Default {@link de.stock.utils.IRandomSource random source} based on the
+ * SplitMix64 generator<br>
+ * <br>
+ * The state is a single long which is advanced by an odd gamma, so generating
+ * values neither allocates nor synchronizes. Therefore a random source must be
+ * used by one thread only.<br>
+ * <br>
+ * All sources with the same gamma walk the same cycle, two seeds only start
+ * at different positions. Seeds derived by adding the gamma (i.e.
+ * {@code seed + n * gamma}) are the same sequence shifted by {@code n}
+ * values. Use {@link #mix(long, long)} to derive seeds and {@link #split()}
+ * (which also picks a new gamma) to derive sources
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public class RandomSource implements IRandomSource {
+
+    private static final long   GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final double DOUBLE_UNIT  = 1.0 / (1L << 53);
+
+    /**
+     * Mixes {@code seed} and {@code index} to the seed of the
+     * {@code index}-th independent sequence of {@code seed} (i.e. the seed of
+     * one game of a run)<br>
+     * <br>
+     * The seeds of two indexes aren't a multiple of the gamma apart, so their
+     * sequences don't overlap as shifted copies
+     */
+    public static long mix(final long seed, final long index) {
+        return mix64(mix64(seed) ^ index);
+    }
+
+    /**
+     * Mixes the bits of {@code z} (Stafford variant 13)
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Mixes the bits of {@code z} to an odd gamma with enough bit transitions
+     * (MurmurHash3 finalizer)
+     */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        return (Long.bitCount(z ^ (z >>> 1)) < 24) ? z ^ 0xAAAAAAAAAAAAAAAAL : z;
+    }
+
+    private long state;
+    /**
+     * Added to the state for every value
+     */
+    private long gamma;
+
+    /**
+     * Creates an unseeded random source
+     */
+    public RandomSource() {
+        this(mix64(System.nanoTime()) ^ System.identityHashCode(Thread.currentThread()));
+    }
+
+    public RandomSource(final long seed) {
+        setSeed(seed);
+    }
+
+    private RandomSource(final long seed, final long gamma) {
+        state = seed;
+        this.gamma = gamma;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public double nextDouble(final double min, final double max) {
+        if (min == max) {
+            return min;
+        }
+
+        if (min > max) {
+            return max + (min - max) * nextDouble();
+        }
+        return min + (max - min) * nextDouble();
+    }
+
+    @Override
+    public int nextInt(int min, int max) {
+        if (min == max) {
+            return min;
+        }
+
+        if (min > max) {
+            final int tmp = min;
+            min = max;
+            max = tmp;
+        }
+
+        // Unbiased multiply and shift (the range fits into 32 bits)
+        final long range = (long) max - min + 1;
+        long product = (nextLong() >>> 32) * range;
+        long low = product & 0xFFFFFFFFL;
+        if (low < range) {
+            final long threshold = (0x100000000L - range) % range;
+            while (low < threshold) {
+                product = (nextLong() >>> 32) * range;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (min + (product >>> 32));
+    }
+
+    @Override
+    public long nextLong() {
+        state += gamma;
+        return mix64(state);
+    }
+
+    /**
+     * Resets the source to the sequence of {@code seed} with the default gamma
+     */
+    @Override
+    public void setSeed(final long seed) {
+        state = seed;
+        gamma = GOLDEN_GAMMA;
+    }
+
+    /**
+     * Returns a new source with its own seed and gamma, so its sequence isn't
+     * a shifted copy of the sequence of this source
+     */
+    @Override
+    public IRandomSource split() {
+        final long seed = mix64(nextLong());
+        return new RandomSource(seed, mixGamma(nextLong()));
+    }
+}
@@ -1,133 +1,172 @@
-package de.stock.utils;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Random;
-
-import de.stock.event.types.MainEvent;
-
-/**
- * Provides utilities for the game like a {@link #random(Integer,Integer)}
- * method
- * 
- * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
- */
-public final class Utils {
-
-    /**
-     * Get the class name for a depth in call stack
-     * 
-     * @param depth
-     *            depth in the call stack (0 means current class, 1 means
-     *            calling class, ...)
-     * @return the class name
-     */
-    public static String getClassName(final int depth) {
-        if (depth < 0) {
-            return "(index out of range)";
-        }
-
-        final StackTraceElement[] stack = new Throwable().getStackTrace();
-        final int pos = stack.length - depth - 1;
-
-        if (pos >= 0) {
-            final String parts[] = stack[pos].getClassName().split("\\.");
-            return parts[parts.length - 1];
-        } else {
-            return "(index out of range)";
-        }
-    }
-
-    /**
-     * Get the method name for a depth in call stack
-     * 
-     * @param depth
-     *            depth in the call stack (0 means current method, 1 means call
-     *            method, ...)
-     * @return the method name
-     */
-    public static String getMethodName(final int depth) {
-        if (depth < 0) {
-            return "(index out of range)";
-        }
-
-        final StackTraceElement[] stack = new Throwable().getStackTrace();
-        final int pos = stack.length - depth - 1;
-
-        if (pos >= 0) {
-            return stack[pos].getMethodName();
-        } else {
-            return "(index out of range)";
-        }
-    }
-
-    /**
-     * Returns double inbetween range of min -> max
-     * 
-     * @param min
-     *            Lower range bound
-     * @param max
-     *            Upper range bound
-     * @return double value inbetween range
-     */
-    public static Double random(Double min, Double max) {
-        if (min == max) {
-            return min;
-        }
-
-        final Random rand = new Random();
-
-        if (min > max) {
-            final Double tmp = min;
-            min = max;
-            max = tmp;
-        }
-
-        return min + (max - min) * rand.nextDouble();
-    }
-
-    /**
-     * Returns integer inbetween range of min -> max
-     * 
-     * @param min
-     *            Lower range bound
-     * @param max
-     *            Upper range bound
-     * @return integer value inbetween range
-     */
-    public static Integer random(Integer min, Integer max) {
-        if (min == max) {
-            return min;
-        }
-
-        if (min > max) {
-            final Integer tmp = min;
-            min = max;
-            max = tmp;
-        }
-
-        final Random rand = new Random();
-        return rand.nextInt(max - min + 1) + min;
-    }
-
-    /**
-     * Shuffles the given list randomly
-     * 
-     * @param mainEvents
-     *            array to shuffle
-     */
-    public static void shuffle(final ArrayList<MainEvent> mainEvents) {
-        Collections.shuffle(mainEvents);
-    }
-
-    /**
-     * Shuffles the given list randomly
-     * 
-     * @param list
-     *            list to shuffle
-     */
-    public static void shuffle(final List<Object> list) {
-        Collections.shuffle(list);
-    }
-}
+package de.stock.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+
+/**
+ * Provides utilities for the game like a {@link #random(Integer,Integer)}
+ * method<br>
+ * <br>
+ * All random values are taken from the random number generator of the current
+ * {@link de.stock.game.GameContext GameContext}
+ * 
+ * @author <a href="mailto:Christian_Lange@hotmail.com">chlange</a>
+ */
+public final class Utils {
+
+    /**
+     * Primitive int fields store null as this value (See {@link #box(int)}
+     * and {@link #unbox(Integer)})
+     */
+    public static final int NULL_INT = Integer.MIN_VALUE;
+
+    /**
+     * Returns {@code value} boxed or null if it is {@link Double#NaN NaN}<br>
+     * <br>
+     * Primitive double fields store null as NaN
+     */
+    public static Double box(final double value) {
+        return Double.isNaN(value) ? null : Double.valueOf(value);
+    }
+
+    /**
+     * Returns {@code value} boxed or null if it is {@link #NULL_INT}
+     */
+    public static Integer box(final int value) {
+        return (value == NULL_INT) ? null : Integer.valueOf(value);
+    }
+
+    /**
+     * Get the class name for a depth in call stack
+     * 
+     * @param depth
+     *            depth in the call stack (0 means current class, 1 means
+     *            calling class, ...)
+     * @return the class name
+     */
+    public static String getClassName(final int depth) {
+        if (depth < 0) {
+            return "(index out of range)";
+        }
+
+        final StackTraceElement[] stack = new Throwable().getStackTrace();
+        final int pos = stack.length - depth - 1;
+
+        if (pos >= 0) {
+            final String parts[] = stack[pos].getClassName().split("\\.");
+            return parts[parts.length - 1];
+        } else {
+            return "(index out of range)";
+        }
+    }
+
+    /**
+     * Get the method name for a depth in call stack
+     * 
+     * @param depth
+     *            depth in the call stack (0 means current method, 1 means call
+     *            method, ...)
+     * @return the method name
+     */
+    public static String getMethodName(final int depth) {
+        if (depth < 0) {
+            return "(index out of range)";
+        }
+
+        final StackTraceElement[] stack = new Throwable().getStackTrace();
+        final int pos = stack.length - depth - 1;
+
+        if (pos >= 0) {
+            return stack[pos].getMethodName();
+        } else {
+            return "(index out of range)";
+        }
+    }
+
+    /**
+     * Returns the random source of the current
+     * {@link de.stock.game.GameContext GameContext}<br>
+     * <br>
+     * Use its primitive methods in hot paths to avoid boxing
+     * 
+     * @return random source of the current game
+     */
+    public static IRandomSource getRandom() {
+        return GameContext.getCurrent().getRandom();
+    }
+
+    /**
+     * Returns double inbetween range of min -> max
+     * 
+     * @param min
+     *            Lower range bound
+     * @param max
+     *            Upper range bound
+     * @return double value inbetween range
+     */
+    public static Double random(final Double min, final Double max) {
+        if (min == max) {
+            return min;
+        }
+
+        return getRandom().nextDouble(min, max);
+    }
+
+    /**
+     * Returns integer inbetween range of min -> max
+     * 
+     * @param min
+     *            Lower range bound
+     * @param max
+     *            Upper range bound
+     * @return integer value inbetween range
+     */
+    public static Integer random(final Integer min, final Integer max) {
+        if (min == max) {
+            return min;
+        }
+
+        return getRandom().nextInt(min, max);
+    }
+
+    /**
+     * Shuffles the given list randomly
+     * 
+     * @param mainEvents
+     *            array to shuffle
+     */
+    public static void shuffle(final ArrayList<MainEvent> mainEvents) {
+        shuffle((List<?>) mainEvents);
+    }
+
+    /**
+     * Shuffles the given list randomly (Fisher-Yates)
+     * 
+     * @param list
+     *            list to shuffle
+     */
+    public static void shuffle(final List<?> list) {
+        final IRandomSource random = getRandom();
+        for (int i = list.size() - 1; i > 0; i--) {
+            Collections.swap(list, i, random.nextInt(0, i));
+        }
+    }
+
+    /**
+     * Returns {@code value} unboxed or {@link Double#NaN NaN} if it is null
+     */
+    public static double unbox(final Double value) {
+        return (value == null) ? Double.NaN : value.doubleValue();
+    }
+
+    /**
+     * Returns {@code value} unboxed or {@link #NULL_INT} if it is null
+     */
+    public static int unbox(final Integer value) {
+        return (value == null) ? NULL_INT : value.intValue();
+    }
+}
@@ -0,0 +1,183 @@
+package de.stock.action;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+import de.stock.utils.Priority;
+
+public class EventSchedulerTest {
+
+    private GameContext              previous;
+    private ActionObserver           ao;
+    private EventScheduler           scheduler;
+    private EventScheduler.EventList events;
+    private EventTimers              timers;
+
+    /**
+     * Creates an event which passes its execution bound every round
+     */
+    private MainEvent createEvent(final Priority priority) {
+        final MainEvent event = new MainEvent();
+        event.setPriority(priority);
+        event.setIndex(100);
+        event.setIndexMaximum(100);
+        event.setExecutionBound(0);
+        events.add(event);
+        return event;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        previous = GameContext.enter(new GameContext());
+        ao = ActionObserver.getInstance();
+        scheduler = new EventScheduler(ao);
+        events = new EventScheduler.EventList();
+        timers = new EventTimers();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        GameContext.setCurrent(previous);
+    }
+
+    @Test
+    public void testNext() {
+        for (int i = 0; i < 10; i++) {
+            createEvent(Priority.LOW);
+            createEvent(Priority.HIGH);
+            createEvent(null);
+        }
+
+        // Every event exactly once per round
+        for (int round = 0; round < 3; round++) {
+            scheduler.begin(events, timers);
+            final HashSet<MainEvent> drawn = new HashSet<MainEvent>();
+            MainEvent event;
+            while ((event = scheduler.next()) != null) {
+                assertTrue(drawn.add(event));
+            }
+            assertEquals(events.size(), drawn.size());
+        }
+
+        // Skip blocked priority classes
+        ao.setEventLimitReachedLow(true);
+        scheduler.begin(events, timers);
+        int drawn = 0;
+        MainEvent event;
+        while ((event = scheduler.next()) != null) {
+            assertFalse(event.getPriority() == Priority.LOW);
+            drawn++;
+        }
+        assertEquals(20, drawn);
+
+        // Class gets blocked during the round
+        scheduler.begin(events, timers);
+        assertTrue(scheduler.next() != null);
+        ao.setEventLimitReachedHigh(true);
+        while ((event = scheduler.next()) != null) {
+            assertNull(event.getPriority());
+        }
+    }
+
+    @Test
+    public void testCandidates() {
+        final MainEvent ready = createEvent(Priority.LOW);
+        final MainEvent waiting = createEvent(Priority.LOW);
+        waiting.setExecutionBound(200);
+        waiting.setIndexMaximum(150);
+
+        // Only events which passed their execution bound are drawn, but the
+        // index of every idle event gets updated
+        waiting.setIndex(0);
+        waiting.setIndexInitBottomBound(50);
+        waiting.setIndexInitTopBound(50);
+        scheduler.begin(events, timers);
+        assertEquals(ready, scheduler.next());
+        assertNull(scheduler.next());
+        assertEquals(new Integer(50), waiting.getIndex());
+
+        // Events of blocked priority classes aren't updated
+        waiting.setIndex(0);
+        ao.setEventLimitReachedLow(true);
+        scheduler.begin(events, timers);
+        assertNull(scheduler.next());
+        assertEquals(new Integer(0), waiting.getIndex());
+    }
+
+    @Test
+    public void testRunningEvents() {
+        final MainEvent first = createEvent(Priority.LOW);
+        final MainEvent second = createEvent(Priority.LOW);
+
+        // Started events are parked
+        scheduler.begin(events, timers);
+        final MainEvent started = scheduler.next();
+        timers.put(started, 1);
+        scheduler.started(started);
+        scheduler.begin(events, timers);
+        final MainEvent idle = (started == first) ? second : first;
+        assertEquals(idle, scheduler.next());
+        assertNull(scheduler.next());
+
+        // Stopped events are drawn again
+        timers.remove(started);
+        scheduler.stopped(started);
+        scheduler.begin(events, timers);
+        final HashSet<MainEvent> drawn = new HashSet<MainEvent>();
+        MainEvent event;
+        while ((event = scheduler.next()) != null) {
+            drawn.add(event);
+        }
+        assertEquals(2, drawn.size());
+
+        // Running events put by someone else are skipped, too
+        timers.put(first, 1);
+        scheduler.begin(events, timers);
+        assertEquals(second, scheduler.next());
+        assertNull(scheduler.next());
+        timers.clear();
+        scheduler.begin(events, timers);
+        assertTrue(scheduler.next() != null);
+        assertTrue(scheduler.next() != null);
+    }
+
+    @Test
+    public void testNextModified() {
+        final MainEvent low = createEvent(Priority.LOW);
+        scheduler.begin(events, timers);
+        assertEquals(low, scheduler.next());
+        assertNull(scheduler.next());
+
+        // Added event
+        final MainEvent mid = createEvent(Priority.MID);
+        ao.setEventLimitReachedLow(true);
+        scheduler.begin(events, timers);
+        assertEquals(mid, scheduler.next());
+        assertNull(scheduler.next());
+
+        // Replaced event
+        final MainEvent high = createEvent(Priority.HIGH);
+        events.remove(events.size() - 1);
+        events.set(events.indexOf(mid), high);
+        scheduler.begin(events, timers);
+        assertEquals(high, scheduler.next());
+        assertNull(scheduler.next());
+
+        // Changed priority
+        low.setPriority(Priority.HIGH);
+        events.remove(high);
+        scheduler.begin(events, timers);
+        assertEquals(low, scheduler.next());
+        assertNull(scheduler.next());
+    }
+}
@@ -0,0 +1,87 @@
+package de.stock.action;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.stock.event.Event;
+
+public class EventTimersTest {
+
+    private EventTimers timers;
+    private Event       first;
+    private Event       second;
+    private Event       third;
+
+    @Before
+    public void setUp() throws Exception {
+        timers = new EventTimers(1);
+        first = new Event();
+        second = new Event();
+        third = new Event();
+    }
+
+    @Test
+    public void testAdvance() {
+        timers.put(first, 3);
+        timers.put(second, 1);
+        timers.put(third, 0);
+        assertEquals(Integer.valueOf(3), timers.get(first));
+        // Expires with the next round
+        assertEquals(Integer.valueOf(1), timers.get(third));
+        assertNull(timers.poll());
+
+        timers.advance();
+        assertEquals(Integer.valueOf(2), timers.get(first));
+        // Same round in order of putting
+        assertSame(second, timers.poll());
+        assertSame(third, timers.poll());
+        assertNull(timers.poll());
+        assertEquals(1, timers.size());
+
+        // Rescheduled
+        timers.put(first, 1);
+        timers.advance();
+        assertSame(first, timers.poll());
+        assertTrue(timers.isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        timers.put(first, 1);
+        timers.put(second, 2);
+        timers.put(third, 3);
+
+        assertEquals(Integer.valueOf(1), timers.remove(first));
+        assertFalse(timers.containsKey(first));
+        assertEquals(2, timers.size());
+
+        final Iterator<Map.Entry<Event, Integer>> iterator = timers.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() == second) {
+                iterator.remove();
+            }
+        }
+        assertEquals(1, timers.size());
+        assertSame(third, timers.getEvent(0));
+
+        timers.advance();
+        timers.advance();
+        assertNull(timers.poll());
+        timers.advance();
+        assertSame(third, timers.poll());
+
+        timers.put(first, 1);
+        timers.clear();
+        timers.advance();
+        assertNull(timers.poll());
+    }
+}
@@ -0,0 +1,179 @@
+package de.stock.deserializer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.stock.action.ActionObserver;
+import de.stock.environment.EnvironmentGroup;
+import de.stock.environment.EnvironmentHandler;
+import de.stock.environment.IEnvironment;
+import de.stock.environment.types.Area;
+import de.stock.environment.types.Location;
+import de.stock.event.Event;
+import de.stock.event.types.MainEvent;
+import de.stock.event.types.SubEvent;
+import de.stock.game.GameContext;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.settings.Settings_Influencable;
+import de.stock.tradeable.Commodity;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.Stock;
+import de.stock.tradeable.TradeableHandler;
+import de.stock.utils.Priority;
+
+public class ContentBundleTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private GameContext    previous;
+
+    @Before
+    public void setUp() throws Exception {
+        previous = GameContext.enter(new GameContext());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        GameContext.setCurrent(previous);
+    }
+
+    @Test
+    public void testWriteAndLoad() throws IOException {
+        final Stock stock = new Stock();
+        stock.setName("Lemonade Inc.");
+        stock.setDescription("Sells lemonade");
+        stock.setInitBottomBound(1.0);
+        stock.setInitTopBound(2.0);
+        stock.setInfluenceBottomBound(0.5);
+        stock.setInfluenceTopBound(0.7);
+        stock.setMaxShares(100);
+        final Commodity lemons = new Commodity();
+        lemons.setName("Lemons");
+
+        final Location germany = new Location();
+        germany.setName("Germany");
+        germany.registerTradeable(stock);
+        final Area food = new Area();
+        food.setName("Food");
+        food.registerTradeable(lemons);
+        food.linkEnvironment(germany);
+
+        final SubEvent successor = new SubEvent();
+        successor.setName("Successor");
+        final MainEvent event = new MainEvent();
+        event.setName("Drought");
+        event.setPriority(Priority.HIGH);
+        event.setRoundsBottomBound(2);
+        event.setRoundsTopBound(5);
+        event.setIndexInitBottomBound(1);
+        event.setIndexInitTopBound(1);
+        event.setExecutionBound(10);
+        event.registerEnvironment(germany, false, 1.0, 3.0);
+        final EnvironmentGroup group = new EnvironmentGroup();
+        group.setName("Group");
+        group.registerEnvironment(germany);
+        group.registerEnvironment(food);
+        event.registerEnvironmentGroup(group);
+        event.getInfluenceObjects().put(Settings_Influencable.PLAYER_MONEY, -100L);
+        event.addSuccessor(successor);
+
+        final File file = folder.newFile("content.bundle");
+        ContentBundle.write(file, Arrays.asList(event), Arrays.asList(germany, food),
+                Arrays.asList(stock, lemons));
+
+        final Integer[] loaded = ContentBundle.load(file);
+        assertEquals(new Integer(1), loaded[0]);
+        assertEquals(new Integer(2), loaded[1]);
+        assertEquals(new Integer(2), loaded[2]);
+
+        // Event
+        final MainEvent mainEvent = ActionObserver.getInstance().getMainEvents().get(0);
+        assertEquals("Drought", mainEvent.getName());
+        assertEquals(Priority.HIGH, mainEvent.getPriority());
+        assertEquals(new Integer(2), mainEvent.getRoundsBottomBound());
+        assertEquals(new Integer(5), mainEvent.getRoundsTopBound());
+        assertEquals(new Integer(10), mainEvent.getExecutionBound());
+        assertEquals(new Integer(1), mainEvent.getIndex());
+        assertEquals(new Long(-100L),
+                mainEvent.getInfluenceObjects().get(Settings_Influencable.PLAYER_MONEY));
+        assertEquals("Successor", mainEvent.getSuccessors().get(0).getName());
+        assertTrue(mainEvent.getSuccessors().get(0) instanceof SubEvent);
+
+        // Groups share the environments
+        final ArrayList<EnvironmentGroup> groups = mainEvent.getEnvironmentGroups();
+        assertEquals(2, groups.size());
+        assertEquals(1.0, groups.get(0).getInfluenceBottomLimit(), 0.0);
+        assertEquals(3.0, groups.get(0).getInfluenceTopLimit(), 0.0);
+        assertEquals(false, groups.get(0).influenceIsPositive());
+        assertNull(groups.get(1).getInfluenceTopLimit());
+        assertEquals("Group", groups.get(1).getName());
+        assertSame(groups.get(0).getEnvironments().get(0), groups.get(1).getEnvironments().get(0));
+
+        // Environments
+        IEnvironment loadedGermany = null;
+        IEnvironment loadedFood = null;
+        for (final IEnvironment environment : EnvironmentHandler.getInstance().getEnvironments()) {
+            if ("Germany".equals(environment.getName())) {
+                loadedGermany = environment;
+            } else {
+                loadedFood = environment;
+            }
+        }
+        assertTrue(loadedGermany instanceof Location);
+        assertTrue(loadedFood instanceof Area);
+        assertSame(loadedGermany, groups.get(1).getEnvironments().get(0));
+        assertSame(loadedGermany, loadedFood.getLinkedEnvironments().iterator().next());
+        assertEquals(2, loadedFood.getInfluencedTradeables().size());
+
+        // Tradeables
+        assertEquals(2, TradeableHandler.getInstance().getTradeables().size());
+        final ITradeable loadedStock = loadedGermany.getTradeables().iterator().next();
+        assertTrue(TradeableHandler.getInstance().getTradeables().contains(loadedStock));
+        assertEquals("Lemonade Inc.", loadedStock.getName());
+        assertEquals("Sells lemonade", loadedStock.getDescription());
+        assertEquals(new Double(2.0), loadedStock.getInitTopBound());
+        assertEquals(new Double(0.7), loadedStock.getInfluenceTopBound());
+        assertEquals(new Integer(100), loadedStock.getMaxShares());
+        assertSame(loadedGermany, loadedStock.getPartOf().iterator().next());
+    }
+
+    @Test
+    public void testLoadStale() throws IOException {
+        final String pathEvents = Settings_Deserializer.PATH_EVENTS;
+        Settings_Deserializer.PATH_EVENTS = folder.newFolder("events").getPath();
+        try {
+            final File file = folder.newFile("stale.bundle");
+            ContentBundle.write(file, new ArrayList<Event>(), new ArrayList<IEnvironment>(),
+                    new ArrayList<ITradeable>());
+            assertNotNull(ContentBundle.load(file));
+
+            // A new resource file makes the bundle stale
+            new File(Settings_Deserializer.PATH_EVENTS, "new.evt").createNewFile();
+            assertNull(ContentBundle.load(file));
+        }
+        finally {
+            Settings_Deserializer.PATH_EVENTS = pathEvents;
+        }
+    }
+
+    @Test
+    public void testLoadInvalid() throws IOException {
+        final File file = folder.newFile("invalid.bundle");
+        assertNull(ContentBundle.load(file));
+    }
+}
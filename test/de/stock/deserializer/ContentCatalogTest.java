@@ -0,0 +1,160 @@
+package de.stock.deserializer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.stock.action.ActionObserver;
+import de.stock.environment.types.Location;
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+import de.stock.level.Level;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.Stock;
+import de.stock.tradeable.TradeableHandler;
+
+public class ContentCatalogTest {
+
+    private static class TestLevel extends Level {
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private GameContext    previous;
+    private String         pathTradeables;
+    private String         pathEvents;
+
+    private void write(final File dir, final String fileName, final Object object)
+            throws IOException {
+        Files.write(new File(dir, fileName).toPath(),
+                Deserializer.serialize(object).getBytes(Settings_Deserializer.CHARSET));
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        previous = GameContext.enter(new GameContext());
+        pathTradeables = Settings_Deserializer.PATH_TRADEABLES;
+        pathEvents = Settings_Deserializer.PATH_EVENTS;
+
+        final File tradeables = folder.newFolder("tradeables");
+        final File events = folder.newFolder("events");
+        Settings_Deserializer.PATH_TRADEABLES = tradeables.getPath() + "/";
+        Settings_Deserializer.PATH_EVENTS = events.getPath() + "/";
+
+        // The name of the nested location must not be taken for the stock
+        final Location location = new Location();
+        location.setName("Germany");
+        final Stock lemons = new Stock();
+        lemons.registerAtEnvironment(location);
+        lemons.setName("Lemons");
+        write(tradeables, "lemons.trd", lemons);
+
+        final Stock sugar = new Stock();
+        sugar.setName("Sugar");
+        write(tradeables, "sugar.trd", sugar);
+
+        final MainEvent event = new MainEvent();
+        event.setName("Drought");
+        event.setIndexInitBottomBound(1);
+        event.setIndexInitTopBound(1);
+        write(events, "drought.evt", event);
+
+        assertEquals(Integer.valueOf(2), ContentCatalog.getInstance().index(
+                Settings_Deserializer.TYPE_TRADEABLE, Settings_Deserializer.TYPE_EVENT)[0]);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Settings_Deserializer.PATH_TRADEABLES = pathTradeables;
+        Settings_Deserializer.PATH_EVENTS = pathEvents;
+        GameContext.setCurrent(previous);
+    }
+
+    @Test
+    public void testGet() {
+        final ContentCatalog catalog = ContentCatalog.getInstance();
+
+        assertTrue(catalog.isIndexed(Settings_Deserializer.TYPE_TRADEABLE, "Lemons"));
+        assertTrue(catalog.isIndexed(Settings_Deserializer.TYPE_EVENT, "Drought"));
+        assertFalse(catalog.isIndexed(Settings_Deserializer.TYPE_TRADEABLE, "Germany"));
+
+        // Nothing is deserialized before it's used
+        assertEquals(Integer.valueOf(0), catalog.getLoadedCount(Settings_Deserializer.TYPE_TRADEABLE));
+        assertTrue(TradeableHandler.getInstance().getTradeables().isEmpty());
+
+        final ITradeable lemons = catalog.getTradeable("Lemons");
+        assertEquals("Lemons", lemons.getName());
+        assertSame(lemons, catalog.getTradeable("Lemons"));
+        assertEquals(1, TradeableHandler.getInstance().getTradeables().size());
+        assertEquals(Integer.valueOf(1), catalog.getLoadedCount(Settings_Deserializer.TYPE_TRADEABLE));
+
+        assertNull(catalog.getTradeable("Oranges"));
+    }
+
+    @Test
+    public void testGetRegistered() {
+        final Stock oranges = new Stock();
+        oranges.setName("Oranges");
+        TradeableHandler.getInstance().addTradeable(oranges);
+
+        assertSame(oranges, ContentCatalog.getInstance().getTradeable("Oranges"));
+    }
+
+    @Test
+    public void testIndexPerContext() {
+        // The index of the catalog of this test isn't visible to other games
+        assertFalse(GameContext.getDefault().getContentCatalog().isIndexed(
+                Settings_Deserializer.TYPE_TRADEABLE, "Lemons"));
+        assertFalse(new ContentCatalog().isIndexed(Settings_Deserializer.TYPE_TRADEABLE, "Lemons"));
+        assertTrue(GameContext.getCurrent().fork().getContentCatalog().isIndexed(
+                Settings_Deserializer.TYPE_TRADEABLE, "Lemons"));
+    }
+
+    @Test
+    public void testReadName() throws IOException {
+        assertEquals("Lemons", ContentCatalog.readName(new StringReader(
+                "{\"environments\": [{\"name\": \"Germany\"}], \"name\": \"Lemons\"}")));
+        assertEquals("Say \"cheese\"", ContentCatalog.readName(new StringReader(
+                "{\"description\": \"name\", \"name\": \"Say \\\"cheese\\\"\"}")));
+        assertNull(ContentCatalog.readName(new StringReader("{\"name\": null}")));
+        assertNull(ContentCatalog.readName(new StringReader("{\"value\": {\"name\": \"x\"}}")));
+    }
+
+    @Test
+    public void testResolveLevel() {
+        final TestLevel level = new TestLevel();
+        level.useTradeable("Lemons");
+        level.useEvent("Drought");
+        level.useTradeable("Oranges");
+
+        ActionObserver.getInstance().registerLevel(level);
+
+        assertEquals(1, level.getTradeables().size());
+        assertEquals("Lemons", level.getTradeables().get(0).getName());
+        assertEquals(1, level.getEvents().size());
+        assertTrue(ActionObserver.getInstance().getMainEvents().contains(level.getEvents().get(0)));
+        assertTrue(TradeableHandler.getInstance().getActiveTradeables()
+                .containsKey(level.getTradeables().get(0)));
+        assertTrue(level.getTradeableReferences().isEmpty());
+        assertTrue(level.getEventReferences().isEmpty());
+
+        // Sugar isn't used by any level
+        assertEquals(Integer.valueOf(1), ContentCatalog.getInstance().getLoadedCount(
+                Settings_Deserializer.TYPE_TRADEABLE));
+    }
+}
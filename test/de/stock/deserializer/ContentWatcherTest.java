@@ -0,0 +1,123 @@
+package de.stock.deserializer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.stock.game.GameContext;
+import de.stock.settings.Settings_Deserializer;
+import de.stock.tradeable.ITradeable;
+import de.stock.tradeable.Stock;
+import de.stock.tradeable.TradeableHandler;
+
+public class ContentWatcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private GameContext    previous;
+    private String         pathTradeables;
+    private File           tradeables;
+    private ContentWatcher watcher;
+
+    private Stock createStock(final String name, final String description) {
+        final Stock stock = new Stock();
+        stock.setName(name);
+        stock.setDescription(description);
+        stock.setInitBottomBound(1.0);
+        stock.setInitTopBound(2.0);
+        stock.setInfluenceBottomBound(0.5);
+        stock.setInfluenceTopBound(0.7);
+        return stock;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        previous = GameContext.enter(new GameContext());
+        pathTradeables = Settings_Deserializer.PATH_TRADEABLES;
+        tradeables = folder.newFolder("tradeables");
+        Settings_Deserializer.PATH_TRADEABLES = tradeables.getPath() + "/";
+
+        write("lemons.trd", createStock("Lemons", "Sour"));
+        assertEquals(Integer.valueOf(1), Deserializer.deserialize(Settings_Deserializer.TYPE_TRADEABLE));
+
+        watcher = new ContentWatcher();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        watcher.stop();
+        Settings_Deserializer.PATH_TRADEABLES = pathTradeables;
+        GameContext.setCurrent(previous);
+    }
+
+    @Test
+    public void testApply() throws IOException {
+        final ITradeable lemons = TradeableHandler.getInstance().getTradeables().iterator().next();
+        TradeableHandler.getInstance().getActiveTradeables().put(lemons, 1.5);
+        lemons.setShares(10);
+
+        final Stock changed = createStock("Lemons", "Very sour");
+        changed.setInfluenceTopBound(0.9);
+        final File file = write("lemons.trd", changed);
+        assertTrue(watcher.reload(file));
+
+        // Nothing changes before the round boundary
+        assertEquals("Sour", lemons.getDescription());
+
+        assertEquals(Integer.valueOf(1), watcher.apply());
+        assertEquals(1, TradeableHandler.getInstance().getTradeables().size());
+        assertSame(lemons, TradeableHandler.getInstance().getTradeables().iterator().next());
+        assertEquals("Very sour", lemons.getDescription());
+        assertEquals(0.9, lemons.getInfluenceTopBound(), 0.0);
+
+        // State is kept
+        assertEquals(1.5, TradeableHandler.getInstance().getActiveTradeables().get(lemons), 0.0);
+        assertEquals(Integer.valueOf(10), lemons.getShares());
+
+        assertEquals(Integer.valueOf(0), watcher.apply());
+    }
+
+    @Test
+    public void testApplyLatest() throws IOException {
+        final ITradeable lemons = TradeableHandler.getInstance().getTradeables().iterator().next();
+
+        assertTrue(watcher.reload(write("lemons.trd", createStock("Lemons", "First"))));
+        assertTrue(watcher.reload(write("lemons.trd", createStock("Limes", "Second"))));
+        assertEquals(Integer.valueOf(1), watcher.apply());
+        assertEquals("Limes", lemons.getName());
+
+        // Matched by the name the file contained before
+        assertTrue(watcher.reload(write("lemons.trd", createStock("Limes", "Third"))));
+        watcher.apply();
+        assertEquals("Third", lemons.getDescription());
+        assertEquals(1, TradeableHandler.getInstance().getTradeables().size());
+    }
+
+    @Test
+    public void testApplyNew() throws IOException {
+        assertTrue(watcher.reload(write("sugar.trd", createStock("Sugar", "Sweet"))));
+        assertFalse(watcher.reload(new File(tradeables, "missing.trd")));
+
+        assertEquals(Integer.valueOf(1), watcher.apply());
+        assertEquals(2, TradeableHandler.getInstance().getTradeables().size());
+    }
+
+    private File write(final String fileName, final Object object) throws IOException {
+        final File file = new File(tradeables, fileName);
+        Files.write(file.toPath(),
+                Deserializer.serialize(object).getBytes(Settings_Deserializer.CHARSET));
+        return file;
+    }
+}
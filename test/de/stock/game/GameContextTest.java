@@ -0,0 +1,87 @@
+package de.stock.game;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import de.stock.action.ActionObserver;
+import de.stock.environment.EnvironmentHandler;
+import de.stock.level.LevelPackHandler;
+import de.stock.tradeable.TradeableHandler;
+
+public class GameContextTest {
+
+    @After
+    public void tearDown() throws Exception {
+        GameContext.setCurrent(null);
+    }
+
+    @Test
+    public void testEnter() {
+        final GameContext context = new GameContext();
+        assertEquals(GameContext.getDefault(), GameContext.getCurrent());
+
+        assertNull(GameContext.enter(context));
+        assertEquals(context, GameContext.getCurrent());
+        assertEquals(context.getActionObserver(), ActionObserver.getInstance());
+        assertEquals(context.getTradeableHandler(), TradeableHandler.getInstance());
+        assertEquals(context.getEnvironmentHandler(), EnvironmentHandler.getInstance());
+        assertEquals(context.getLevelPackHandler(), LevelPackHandler.getInstance());
+        assertEquals(context.getPlayer(), Player.getInstance());
+
+        assertEquals(context, GameContext.enter(null));
+        assertEquals(GameContext.getDefault(), GameContext.getCurrent());
+        assertFalse(context.getPlayer() == Player.getInstance());
+    }
+
+    @Test
+    public void testFork() {
+        final GameContext context = new GameContext(42L);
+        final GameContext fork = context.fork();
+
+        assertSame(context.getActionObserver(), fork.getActionObserver());
+        assertSame(context.getTradeableHandler(), fork.getTradeableHandler());
+        assertSame(context.getPlayer(), fork.getPlayer());
+        assertNotSame(context.getRandom(), fork.getRandom());
+
+        // Reproducible
+        assertEquals(new GameContext(42L).fork().getRandom().nextLong(), fork.getRandom()
+                .nextLong());
+    }
+
+    @Test
+    public void testIncRound() {
+        final GameContext context = new GameContext();
+        assertEquals(new Integer(1), context.getRound());
+        assertEquals(new Integer(2), context.incRound());
+        assertEquals(new Integer(1), new GameContext().getRound());
+    }
+
+    @Test
+    public void testThreads() throws InterruptedException {
+        final GameContext context = new GameContext();
+        final Player[] players = new Player[1];
+
+        final Thread thread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                GameContext.setCurrent(context);
+                Player.getInstance().setMoney(42);
+                players[0] = Player.getInstance();
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertTrue(players[0] == context.getPlayer());
+        assertEquals(42, context.getPlayer().getMoney(), 0.0);
+        assertFalse(players[0] == Player.getInstance());
+    }
+}
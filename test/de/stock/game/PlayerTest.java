@@ -1,17 +1,17 @@
-package de.stock.game;
-
-import org.junit.After;
-import org.junit.Before;
-
-public class PlayerTest {
-
-    @Before
-    public void setUp() throws Exception {
-
-    }
-
-    @After
-    public void tearDown() throws Exception {
-
-    }
-}
+package de.stock.game;
+
+import org.junit.After;
+import org.junit.Before;
+
+public class PlayerTest {
+
+    @Before
+    public void setUp() throws Exception {
+
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+    }
+}
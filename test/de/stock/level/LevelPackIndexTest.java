@@ -0,0 +1,96 @@
+package de.stock.level;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import de.stock.game.GameContext;
+import de.stock.settings.Settings_Level;
+
+public class LevelPackIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private GameContext    previous;
+    private File           directory;
+
+    @Before
+    public void setUp() throws Exception {
+        previous = GameContext.enter(new GameContext());
+        directory = folder.newFolder("levels");
+        Files.copy(new File(Settings_Level.PATH_LEVELPACKS + "Lemonade.jar").toPath(), new File(
+                directory, "Lemonade.jar").toPath());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        GameContext.setCurrent(previous);
+    }
+
+    @Test
+    public void testChangedJar() {
+        LevelPackLoader.loadIndexedLevelPacks(directory);
+
+        final File indexFile = new File(directory, Settings_Level.LEVELPACK_INDEX);
+        final LevelPackIndex index = LevelPackIndex.read(indexFile);
+        index.getEntries().get(0).setChecksum(0L);
+        index.write(indexFile);
+
+        // Scanned again
+        final ArrayList<ILevelPack> levelPacks = LevelPackLoader.loadIndexedLevelPacks(directory);
+        assertEquals(1, levelPacks.size());
+        assertTrue(levelPacks.get(0).isInitialized());
+        assertEquals(LevelPackIndex.checksum(new File(directory, "Lemonade.jar")), LevelPackIndex
+                .read(indexFile).getEntries().get(0).getChecksum());
+    }
+
+    @Test
+    public void testChooseIndexedLevelPack() {
+        LevelPackLoader.loadIndexedLevelPacks(directory);
+
+        assertEquals(Integer.valueOf(1), LevelPackHandler.getInstance().loadLevelPacks(
+                directory.toURI()));
+        final ILevelPack levelPack = LevelPackHandler.getInstance()
+                .getLevelPacks(Settings_Level.MAIN_LEVEL).get(0);
+        assertFalse(levelPack.isInitialized());
+
+        assertSame(levelPack, LevelPackHandler.getInstance().chooseLevelPack(
+                Settings_Level.MAIN_LEVEL));
+        assertTrue(levelPack.isInitialized());
+        assertNotNull(levelPack.getStartLevel());
+    }
+
+    @Test
+    public void testLoadIndexedLevelPacks() {
+        ArrayList<ILevelPack> levelPacks = LevelPackLoader.loadIndexedLevelPacks(directory);
+        assertEquals(1, levelPacks.size());
+        assertTrue(levelPacks.get(0).isInitialized());
+
+        final LevelPackIndex index = LevelPackIndex.read(new File(directory,
+                Settings_Level.LEVELPACK_INDEX));
+        assertNotNull(index);
+        assertEquals(1, index.getEntries().size());
+        assertEquals("Lemonade.jar", index.getEntries().get(0).getJar());
+        assertEquals("Lemonade", index.getEntries().get(0).getName());
+
+        // Created from the index without initialization
+        levelPacks = LevelPackLoader.loadIndexedLevelPacks(directory);
+        assertEquals(1, levelPacks.size());
+        assertFalse(levelPacks.get(0).isInitialized());
+        assertEquals("Lemonade", levelPacks.get(0).getName());
+        assertEquals(Settings_Level.MAIN_LEVEL, levelPacks.get(0).getLevelStage());
+    }
+}
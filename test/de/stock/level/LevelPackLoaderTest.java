@@ -1,23 +1,23 @@
-package de.stock.level;
-
-import static org.junit.Assert.fail;
-
-import org.junit.After;
-import org.junit.Before;
-import org.junit.Test;
-
-public class LevelPackLoaderTest {
-
-    @Before
-    public void setUp() throws Exception {
-    }
-
-    @After
-    public void tearDown() throws Exception {
-    }
-
-    @Test
-    public void testLoadLevelPacks() {
-        fail("How to test this?");
-    }
-}
+package de.stock.level;
+
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LevelPackLoaderTest {
+
+    @Before
+    public void setUp() throws Exception {
+    }
+
+    @After
+    public void tearDown() throws Exception {
+    }
+
+    @Test
+    public void testLoadLevelPacks() {
+        fail("How to test this?");
+    }
+}
@@ -0,0 +1,40 @@
+package de.stock.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import de.stock.simulation.AllocationMeter.Subsystem;
+
+public class AllocationMeterTest {
+
+    private static long[] garbage;
+
+    @Test
+    public void testEnd() {
+        final AllocationMeter meter = new AllocationMeter();
+        if (meter.isSupported() == false) {
+            return;
+        }
+
+        meter.begin();
+        garbage = new long[1000];
+        meter.end(Subsystem.STRATEGY);
+        meter.endRound();
+        meter.begin();
+        meter.end(Subsystem.LEVELS);
+        meter.endRound();
+
+        assertTrue(garbage.length * 8 <= meter.getBytes(Subsystem.STRATEGY));
+        assertEquals(0, meter.getBytes(Subsystem.LEVELS));
+        assertEquals(2, meter.getRounds());
+        assertEquals(meter.getBytes(Subsystem.STRATEGY) / 2.0,
+                meter.getBytesPerRound(Subsystem.STRATEGY), 0.0);
+        assertTrue(meter.report().contains("STRATEGY"));
+
+        meter.reset();
+        assertEquals(0, meter.getRounds());
+        assertEquals(0.0, meter.getTotalBytesPerRound(), 0.0);
+    }
+}
@@ -0,0 +1,127 @@
+package de.stock.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import de.chlange.lemonade.MyTestLevelPack;
+import de.stock.utils.RandomSource;
+
+public class MonteCarloRunnerTest {
+
+    @Test
+    public void testCancel() {
+        final MonteCarloRunner runner = new MonteCarloRunner(MyTestLevelPack.class);
+        runner.setGames(1000);
+        runner.setMaxRounds(10);
+        runner.setBatchSize(1);
+        runner.setParallelism(1);
+        runner.addListener(new IMonteCarloListener() {
+
+            @Override
+            public void partialResult(final MonteCarloStatistics statistics) {
+                if (statistics.getGames() >= 10) {
+                    runner.cancel();
+                }
+            }
+        });
+
+        final MonteCarloStatistics statistics = runner.run();
+        assertTrue(runner.isCancelled());
+        assertTrue(statistics.getGames() >= 10);
+        assertTrue(statistics.getGames() < 1000);
+    }
+
+    @Test
+    public void testFailedGames() {
+        final MonteCarloRunner runner = new MonteCarloRunner(MyTestLevelPack.class);
+        runner.setGames(16);
+        runner.setMaxRounds(5);
+        runner.setStrategy(new IStrategy() {
+
+            @Override
+            public void act(final SimulationEngine engine) {
+                throw new IllegalStateException("Broken strategy");
+            }
+        });
+
+        final MonteCarloStatistics statistics = runner.run();
+        assertEquals(0, statistics.getGames());
+        assertEquals(16, statistics.getFailedGames());
+    }
+
+    @Test
+    public void testGameSeed() {
+        assertEquals(MonteCarloRunner.getGameSeed(42, 1), MonteCarloRunner.getGameSeed(42, 1));
+
+        // Game 1 must not play the values of game 0 shifted by some draws
+        final RandomSource first = new RandomSource(MonteCarloRunner.getGameSeed(42, 0));
+        final RandomSource second = new RandomSource(MonteCarloRunner.getGameSeed(42, 1));
+        final HashSet<Long> values = new HashSet<Long>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(first.nextLong());
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(values.contains(second.nextLong()));
+        }
+    }
+
+    @Test
+    public void testRun() {
+        final ArrayList<Long> partialGames = new ArrayList<Long>();
+
+        final MonteCarloRunner runner = new MonteCarloRunner(MyTestLevelPack.class);
+        runner.setGames(64);
+        runner.setMaxRounds(20);
+        runner.setMoney(150);
+        runner.setBatchSize(8);
+        runner.addListener(new IMonteCarloListener() {
+
+            @Override
+            public void partialResult(final MonteCarloStatistics statistics) {
+                partialGames.add(statistics.getGames());
+            }
+        });
+
+        final MonteCarloStatistics statistics = runner.run();
+        assertEquals(64, statistics.getGames());
+        assertEquals(0, statistics.getFailedGames());
+        assertEquals(8, partialGames.size());
+        assertTrue(partialGames.contains(new Long(64)));
+
+        // The first level is passed in the first round and awards 100
+        assertEquals(64, statistics.getLevelRounds().get("MyFirstTestLevel").getCount());
+        assertEquals(1.0, statistics.getLevelRounds().get("MyFirstTestLevel").getMean(), 0.0);
+        assertEquals(250.0, statistics.getMoney().getMean(), 0.0);
+        assertEquals(0, statistics.getFinishedGames());
+        assertEquals(20.0, statistics.getRounds().getMax(), 0.0);
+    }
+
+    @Test
+    public void testSeed() {
+        final ScriptedStrategy strategy = new ScriptedStrategy();
+        for (int round = 1; round <= 20; round++) {
+            strategy.addCommand(round, "b1.1");
+        }
+
+        final MonteCarloRunner runner = new MonteCarloRunner(MyTestLevelPack.class);
+        runner.setGames(32);
+        runner.setMaxRounds(20);
+        runner.setMoney(80);
+        runner.setSeed(42);
+        runner.setStrategy(strategy);
+
+        final MonteCarloStatistics first = runner.run();
+        final MonteCarloStatistics second = runner.run();
+        assertEquals(32, second.getGames());
+        assertEquals(first.getMoney().getMean(), second.getMoney().getMean(), 1e-9);
+        assertEquals(first.getMoney().getMin(), second.getMoney().getMin(), 0.0);
+        assertEquals(first.getMoney().getMax(), second.getMoney().getMax(), 0.0);
+        assertEquals(first.getEventStarts(), second.getEventStarts());
+    }
+}
@@ -0,0 +1,165 @@
+package de.stock.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.stock.action.ActionObserver;
+import de.stock.environment.EnvironmentHandler;
+import de.stock.environment.types.Location;
+import de.stock.event.types.MainEvent;
+import de.stock.game.GameContext;
+import de.stock.game.Player;
+import de.stock.level.ILevel;
+import de.stock.level.LevelDecorator;
+import de.stock.level.LevelPack;
+import de.stock.settings.Settings_Level;
+import de.stock.tradeable.Commodity;
+import de.stock.tradeable.TradeableHandler;
+import de.stock.utils.Priority;
+
+public class SimulationEngineTest {
+
+    private boolean   passed;
+    private Commodity lemons;
+    private LevelPack levelPack;
+
+    @Before
+    public void setUp() throws Exception {
+        passed = false;
+
+        lemons = new Commodity();
+        lemons.setName("Lemons");
+        lemons.setInitTopBound(15.0);
+        lemons.setInitBottomBound(5.0);
+        lemons.setInfluenceTopBound(3.0);
+        lemons.setInfluenceBottomBound(0.7);
+        lemons.setMaxShares(28);
+        lemons.setMinShares(28);
+        lemons.initializeShares();
+
+        final ILevel level = new LevelDecorator() {
+
+            @Override
+            public void conferAward() {
+            }
+
+            @Override
+            public boolean hasPassedLevel() {
+                return passed;
+            }
+        };
+
+        levelPack = new LevelPack() {
+
+            @Override
+            public void initialize() {
+                setName("mySimulationLevelPack");
+                setLevelStage(Settings_Level.MAIN_LEVEL);
+                addTradeable(lemons);
+                addFirstLevel(level);
+            }
+        };
+
+    }
+
+    @Test
+    public void testAllocation() {
+        final SimulationEngine engine = new SimulationEngine(null);
+        assertTrue(engine.start(levelPack, 1000));
+
+        // Event which influences the lemons every round and never ends
+        final GameContext previous = GameContext.enter(engine.getContext());
+        try {
+            final Location location = new Location();
+            location.setName("Market");
+            location.registerTradeable(lemons);
+            EnvironmentHandler.getInstance().register(location);
+
+            final MainEvent event = new MainEvent();
+            event.setName("Rumour");
+            event.setPriority(Priority.MID);
+            event.setRoundsBottomBound(Integer.MAX_VALUE);
+            event.setRoundsTopBound(Integer.MAX_VALUE);
+            event.setInfluenceBottomBound(1);
+            event.setInfluenceTopBound(3);
+            event.setExecutionBound(Integer.MAX_VALUE);
+            event.registerEnvironment(location, true, 0.1, 1.0);
+            ActionObserver.getInstance().registerEvent(event);
+            ActionObserver.getInstance().getActiveEvents().put(event, Integer.MAX_VALUE);
+        }
+        finally {
+            GameContext.setCurrent(previous);
+        }
+
+        final AllocationMeter meter = new AllocationMeter();
+        if (meter.isSupported() == false) {
+            return;
+        }
+
+        // Warm up
+        engine.run(2000);
+        engine.setAllocationMeter(meter);
+        engine.run(500);
+
+        assertEquals(500, meter.getRounds());
+        assertEquals(meter.report(), 0.0, meter.getTotalBytesPerRound(), 0.0);
+        // Tradeables get their values every round
+        assertEquals(engine.getContext().getTradeableHandler().getActiveTradeables()
+                .get(lemons), lemons.getValue());
+    }
+
+    @Test
+    public void testRun() {
+        final SimulationEngine engine = new SimulationEngine(null);
+        assertTrue(engine.start(levelPack, 1000));
+        assertTrue(engine.getContext().isHeadless());
+        assertFalse(GameContext.getDefault().isHeadless());
+        assertFalse(engine.isFinished());
+        assertTrue(engine.getContext().getTradeableHandler().getActiveTradeables()
+                .containsKey(lemons));
+
+        // The game state is not visible outside of the engine
+        assertFalse(TradeableHandler.getInstance().getActiveTradeables().containsKey(lemons));
+        assertEquals(GameContext.getDefault(), GameContext.getCurrent());
+
+        assertEquals(new Integer(5), engine.run(5));
+        assertEquals(new Integer(5), engine.getRoundsPlayed());
+        assertEquals(new Integer(6), engine.getRound());
+
+        // No level pack in the next level stage
+        passed = true;
+        assertEquals(new Integer(1), engine.run(5));
+        assertTrue(engine.isFinished());
+        assertEquals(new Integer(0), engine.run(5));
+    }
+
+    @Test
+    public void testScriptedStrategy() {
+        final ScriptedStrategy strategy = new ScriptedStrategy();
+        strategy.addCommand(1, "b1.10");
+        strategy.addCommand(2, "s1.4");
+        strategy.addCommand(2, "s1.7");
+        strategy.addCommand(3, "b1.100");
+
+        final SimulationEngine engine = new SimulationEngine(strategy);
+        assertTrue(engine.start(levelPack, 1000));
+        final Player player = engine.getContext().getPlayer();
+
+        engine.playRound();
+        assertEquals(new Long(10), player.getTradeables().get(lemons));
+        assertEquals(new Integer(18), lemons.getShares());
+
+        // Selling more than owned fails
+        engine.playRound();
+        assertEquals(new Long(6), player.getTradeables().get(lemons));
+        assertEquals(new Integer(22), lemons.getShares());
+
+        // Buying more than available fails
+        engine.playRound();
+        assertEquals(new Long(6), player.getTradeables().get(lemons));
+    }
+}
@@ -0,0 +1,144 @@
+package de.stock.tradeable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.stock.settings.Settings_Tradeable;
+
+public class CandleAggregatorTest {
+
+    private CandleAggregator candles;
+    private PriceTable       table;
+    private Stock            stock;
+    private Commodity        lemons;
+
+    @Before
+    public void setUp() throws Exception {
+        candles = new CandleAggregator(2, 4);
+        table = new PriceTable();
+        table.addListener(candles);
+        stock = new Stock();
+        lemons = new Commodity();
+    }
+
+    @Test
+    public void testCandles() {
+        table.put(stock, 10.0);
+        final int slot = table.getSlot(stock);
+        table.put(stock, 12.0);
+        table.put(stock, 9.0);
+        table.finishRound();
+
+        assertEquals(10.0, candles.getOpen(0, slot), 0.0);
+        assertEquals(12.0, candles.getHigh(0, slot), 0.0);
+        assertEquals(9.0, candles.getLow(0, slot), 0.0);
+        assertEquals(9.0, candles.getClose(0, slot), 0.0);
+        assertEquals(2, candles.getMoves(0, slot));
+        // Nothing completed yet
+        assertTrue(Double.isNaN(candles.getLastOpen(0, slot)));
+
+        table.put(stock, 9.0);
+        table.put(stock, 11.0);
+        table.finishRound();
+
+        assertEquals(10.0, candles.getLastOpen(0, slot), 0.0);
+        assertEquals(12.0, candles.getLastHigh(0, slot), 0.0);
+        assertEquals(9.0, candles.getLastLow(0, slot), 0.0);
+        assertEquals(11.0, candles.getLastClose(0, slot), 0.0);
+        assertEquals(3, candles.getLastMoves(0, slot));
+        // Next candle opens with the close
+        assertEquals(11.0, candles.getOpen(0, slot), 0.0);
+        assertEquals(11.0, candles.getHigh(0, slot), 0.0);
+        assertEquals(0, candles.getMoves(0, slot));
+
+        // Running candle of the larger window
+        assertEquals(10.0, candles.getOpen(1, slot), 0.0);
+        assertEquals(12.0, candles.getHigh(1, slot), 0.0);
+        assertEquals(3, candles.getMoves(1, slot));
+
+        table.put(stock, 15.0);
+        table.put(lemons, 3.0);
+        table.finishRound();
+        table.put(stock, 8.0);
+        assertEquals(15.0, candles.getHigh(1, slot), 0.0);
+        assertEquals(8.0, candles.getLow(1, slot), 0.0);
+        table.finishRound();
+
+        assertEquals(4, candles.getRounds());
+        assertEquals(10.0, candles.getLastOpen(1, slot), 0.0);
+        assertEquals(15.0, candles.getLastHigh(1, slot), 0.0);
+        assertEquals(8.0, candles.getLastLow(1, slot), 0.0);
+        assertEquals(8.0, candles.getLastClose(1, slot), 0.0);
+        assertEquals(5, candles.getLastMoves(1, slot));
+        assertEquals(8.0, candles.getOpen(1, slot), 0.0);
+
+        // Slot which got values later
+        final int lemonsSlot = table.getSlot(lemons);
+        assertEquals(3.0, candles.getLastOpen(0, lemonsSlot), 0.0);
+        assertEquals(3.0, candles.getLastOpen(1, lemonsSlot), 0.0);
+        assertTrue(Double.isNaN(candles.getOpen(0, 99)));
+    }
+
+    @Test
+    public void testDefaultWindows() {
+        final int[] windows = CandleAggregator.getDefaultWindows();
+        windows[0] = 3;
+
+        final CandleAggregator defaults = new CandleAggregator();
+        assertEquals(Settings_Tradeable.CANDLE_WINDOWS.size(), defaults.getLevels());
+        assertEquals(Settings_Tradeable.CANDLE_WINDOWS.get(0).intValue(), defaults.getWindow(0));
+        try {
+            Settings_Tradeable.CANDLE_WINDOWS.set(0, 3);
+            fail();
+        }
+        catch (final UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSlotsReset() {
+        final TradeableHandler handler = new TradeableHandler();
+        handler.setActiveTradeables(table);
+        table.put(stock, 10.0);
+        final int slot = table.getSlot(stock);
+        table.finishRound();
+        table.finishRound();
+        assertEquals(10.0, candles.getLastClose(0, slot), 0.0);
+
+        // New table, the slot belongs to another tradeable
+        final PriceTable other = new PriceTable();
+        handler.setActiveTradeables(other);
+        assertTrue(other.getListeners().contains(candles));
+        assertTrue(Double.isNaN(candles.getLastClose(0, slot)));
+        assertTrue(Double.isNaN(candles.getClose(0, slot)));
+        assertEquals(2, candles.getRounds());
+
+        other.put(lemons, 5.0);
+        assertEquals(5.0, candles.getOpen(0, other.getSlot(lemons)), 0.0);
+        assertEquals(0, candles.getMoves(0, other.getSlot(lemons)));
+    }
+
+    @Test
+    public void testWindows() {
+        assertEquals(2, candles.getLevels());
+        assertEquals(4, candles.getWindow(1));
+
+        try {
+            new CandleAggregator(10, 25);
+            fail();
+        }
+        catch (final IllegalArgumentException e) {
+        }
+        try {
+            new CandleAggregator();
+        }
+        catch (final IllegalArgumentException e) {
+            fail();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package de.stock.tradeable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.stock.environment.IEnvironment;
+import de.stock.environment.types.Location;
+import de.stock.utils.RandomSource;
+
+public class MarketStoreTest {
+
+    private MarketStore store;
+    private Location    location;
+    private Stock       stock;
+
+    @Before
+    public void setUp() throws Exception {
+        store = new MarketStore(1);
+        location = new Location();
+        stock = new Stock();
+        stock.setName("Stock");
+        stock.setValue(5.0);
+        stock.setInfluenceBottomBound(1.0);
+        stock.setInfluenceTopBound(2.0);
+        stock.setMaxShares(10);
+        location.registerTradeable(stock);
+    }
+
+    @Test
+    public void testAdd() {
+        final TradeableView view = store.add(stock);
+        final TradeableView other = store.create();
+
+        assertEquals(2, store.size());
+        assertSame(view, store.getTradeable(0));
+        assertSame(other, store.getTradeable(1));
+
+        assertEquals("Stock", view.getName());
+        assertEquals(new Double(5.0), view.getValue());
+        assertEquals(5.0, store.getValues()[view.getRow()], 0.0);
+        assertEquals(new Integer(10), view.getMaxShares());
+        assertNull(view.getMinShares());
+
+        // Takes the place of the stock in its environments
+        assertTrue(location.getTradeables().contains(view));
+        assertFalse(location.getTradeables().contains(stock));
+        assertTrue(view.getPartOf().contains(location));
+        assertTrue(store.getRows(location).get(view.getRow()));
+        assertFalse(store.getRows(location).get(other.getRow()));
+
+        other.setPartOf(new HashSet<IEnvironment>(view.getPartOf()));
+        assertTrue(store.getRows(location).get(other.getRow()));
+        other.setPartOf(null);
+        assertTrue(other.getPartOf().isEmpty());
+        assertFalse(store.getRows(location).get(other.getRow()));
+
+        // The set of environments is live
+        other.getPartOf().add(location);
+        assertTrue(store.getRows(location).get(other.getRow()));
+        final Iterator<IEnvironment> iterator = other.getPartOf().iterator();
+        iterator.next();
+        iterator.remove();
+        assertFalse(store.getRows(location).get(other.getRow()));
+        assertTrue(view.getPartOf() == view.getPartOf());
+
+        view.setInfluenceTopBound(null);
+        assertNull(view.getInfluenceTopBound());
+        view.incShares(3);
+        view.decShares(1);
+        assertEquals(2, view.sharesAsInt());
+    }
+
+    @Test
+    public void testUpdateUnchanged() {
+        final TradeableView view = store.add(stock);
+        final PriceTable table = new PriceTable();
+        table.put(view, 5.0);
+        table.snapshot();
+
+        // Same random walk as the stock
+        assertEquals(1, table.updateUnchanged(new RandomSource(42)));
+        final PriceTable expected = new PriceTable();
+        expected.put(stock, 5.0);
+        expected.snapshot();
+        expected.updateUnchanged(new RandomSource(42));
+
+        assertEquals(expected.get(stock), table.get(view));
+        assertEquals(table.get(view), view.getValue());
+        assertEquals(view.valueAsDouble(), store.getValues()[view.getRow()], 0.0);
+    }
+}
@@ -0,0 +1,179 @@
+package de.stock.tradeable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PriceHistoryTest {
+
+    private PriceHistory history;
+    private PriceTable   table;
+    private Stock        stock;
+    private Commodity    lemons;
+
+    @Before
+    public void setUp() throws Exception {
+        history = new PriceHistory(3);
+        table = new PriceTable();
+        stock = new Stock();
+        lemons = new Commodity();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        history.close();
+        history.getFile().delete();
+    }
+
+    @Test
+    public void testAppend() {
+        table.put(stock, 1.0);
+        history.append(table);
+        table.put(stock, 2.0);
+        table.put(lemons, 5.0);
+        history.append(table);
+        table.remove(stock);
+        history.append(table);
+
+        final int slot = table.getSlot(stock);
+        assertEquals(3, history.getRounds());
+        assertEquals(1.0, history.getPrice(slot, 0), 0.0);
+        assertEquals(2.0, history.getPrice(slot, 1), 0.0);
+        // Not active
+        assertTrue(Double.isNaN(history.getPrice(slot, 2)));
+        // Not registered yet
+        assertTrue(Double.isNaN(history.getPrice(table.getSlot(lemons), 0)));
+        assertEquals(5.0, history.getPrice(table.getSlot(lemons), 2), 0.0);
+
+        // Ring overwrites the oldest round
+        table.put(stock, 3.0);
+        history.append(table);
+        assertEquals(1, history.getFirstRound());
+        assertEquals(3.0, history.getPrice(slot, 3), 0.0);
+        try {
+            history.getPrice(slot, 0);
+            fail();
+        }
+        catch (final IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testBlocks() {
+        for (int i = 0; i <= PriceHistory.SLOTS_PER_BLOCK; i++) {
+            final Stock other = new Stock();
+            table.put(other, (double) i);
+        }
+        history.append(table);
+        history.append(table);
+
+        assertEquals(0.0, history.getPrice(0, 1), 0.0);
+        assertEquals(PriceHistory.SLOTS_PER_BLOCK,
+                history.getPrice(PriceHistory.SLOTS_PER_BLOCK, 1), 0.0);
+    }
+
+    @Test
+    public void testClear() {
+        table.put(stock, 1.0);
+        history.append(table);
+        history.append(table);
+        history.clear();
+        assertEquals(2, history.getFirstRound());
+        assertEquals(2, history.getRounds());
+        try {
+            history.getPrice(table.getSlot(stock), 1);
+            fail();
+        }
+        catch (final IndexOutOfBoundsException e) {
+            // expected
+        }
+
+        table.put(stock, 2.0);
+        history.append(table);
+        assertEquals(2, history.getFirstRound());
+        assertEquals(2.0, history.getPrice(table.getSlot(stock), 2), 0.0);
+    }
+
+    @Test
+    public void testClose() throws IOException {
+        table.put(stock, 1.0);
+        history.append(table);
+        assertTrue(history.getFile().exists());
+
+        // Temporary file gets deleted, the mapping isn't read anymore
+        history.close();
+        assertFalse(history.getFile().exists());
+        assertTrue(Double.isNaN(history.getPrice(table.getSlot(stock), 0)));
+
+        // Files passed in are kept
+        final File file = File.createTempFile("prices", ".history");
+        try {
+            final PriceHistory kept = new PriceHistory(file, 3);
+            kept.append(table);
+            kept.close();
+            assertTrue(file.exists());
+        }
+        finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testGetRange() {
+        final int slot = table.register(stock);
+        for (int i = 0; i < 5; i++) {
+            table.put(stock, (double) i);
+            history.append(table);
+        }
+
+        final PriceHistory.Range range = history.getRange(slot, 2, 5);
+        assertEquals(3, range.size());
+        assertEquals(2, range.getFirstRound());
+
+        final double[] values = new double[4];
+        range.copyTo(values, 1);
+        assertEquals(2.0, values[1], 0.0);
+        assertEquals(3.0, values[2], 0.0);
+        assertEquals(4.0, values[3], 0.0);
+
+        try {
+            history.getRange(slot, 1, 5);
+            fail();
+        }
+        catch (final IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSlotReleased() {
+        table.addListener(history);
+        table.put(stock, 1.0);
+        table.put(lemons, 2.0);
+        history.append(table);
+        final int slot = table.getSlot(stock);
+
+        table.remove(stock);
+        history.append(table);
+        table.snapshot();
+        final Commodity oranges = new Commodity();
+        table.put(oranges, 3.0);
+        history.append(table);
+
+        // Rounds of the released slot don't show up for the new tradeable
+        assertEquals(slot, table.getSlot(oranges));
+        assertTrue(Double.isNaN(history.getPrice(slot, 0)));
+        assertTrue(Double.isNaN(history.getPrice(slot, 1)));
+        assertEquals(3.0, history.getPrice(slot, 2), 0.0);
+        assertEquals(2.0, history.getPrice(table.getSlot(lemons), 0), 0.0);
+    }
+}
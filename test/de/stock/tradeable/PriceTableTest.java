@@ -0,0 +1,209 @@
+package de.stock.tradeable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.stock.game.GameContext;
+import de.stock.utils.RandomSource;
+
+public class PriceTableTest {
+
+    private PriceTable table;
+    private Stock      stock;
+    private Commodity  lemons;
+    private Forex      dollar;
+
+    @Before
+    public void setUp() throws Exception {
+        table = new PriceTable(1);
+        stock = new Stock();
+        lemons = new Commodity();
+        dollar = new Forex();
+    }
+
+    @Test
+    public void testPut() {
+        assertNull(table.put(stock, 1.0));
+        assertNull(table.put(lemons, 2.0));
+        assertNull(table.put(dollar, 3.0));
+        assertEquals(new Double(1.0), table.put(stock, 4.0));
+
+        assertEquals(3, table.size());
+        assertEquals(new Double(4.0), table.get(stock));
+        assertEquals(2.0, table.getPrice(table.getSlot(lemons)), 0.0);
+        assertNull(table.get(new Stock()));
+
+        // Iteration order is the order of the slots
+        final Iterator<Entry<ITradeable, Double>> it = table.entrySet().iterator();
+        assertEquals(stock, it.next().getKey());
+        assertEquals(lemons, it.next().getKey());
+        assertEquals(dollar, it.next().getKey());
+        assertFalse(it.hasNext());
+
+        final HashMap<ITradeable, Double> map = new HashMap<ITradeable, Double>(table);
+        assertEquals(map, table);
+        assertEquals(map, new PriceTable(map));
+    }
+
+    @Test
+    public void testRemove() {
+        table.put(stock, 1.0);
+        table.put(lemons, 2.0);
+        final int slot = table.getSlot(stock);
+        final int version = table.getVersion();
+
+        assertEquals(new Double(1.0), table.remove(stock));
+        assertNull(table.remove(stock));
+        assertFalse(table.containsKey(stock));
+        assertEquals(1, table.size());
+        assertFalse(version == table.getVersion());
+
+        // Slot is kept
+        table.put(stock, 5.0);
+        assertEquals(slot, table.getSlot(stock));
+        assertEquals(2, table.getSlotCount());
+
+        final Iterator<Entry<ITradeable, Double>> it = table.entrySet().iterator();
+        it.next();
+        it.remove();
+        assertFalse(table.containsKey(stock));
+
+        table.clear();
+        assertTrue(table.isEmpty());
+        assertEquals(-1, table.getSlot(dollar));
+    }
+
+    @Test
+    public void testRelease() {
+        final CandleAggregator candles = new CandleAggregator(1);
+        table.addListener(candles);
+        table.put(stock, 1.0);
+        table.put(lemons, 2.0);
+        final int slot = table.getSlot(stock);
+        final int slotVersion = table.getSlotVersion();
+        assertEquals(1.0, candles.getClose(0, slot), 0.0);
+
+        // Slot is kept until the next snapshot
+        table.remove(stock);
+        assertEquals(stock, table.getTradeable(slot));
+        table.snapshot();
+        assertNull(table.getTradeable(slot));
+        assertEquals(-1, table.getSlot(stock));
+        assertFalse(slotVersion == table.getSlotVersion());
+        assertTrue(Double.isNaN(candles.getClose(0, slot)));
+
+        // Released slots are reused
+        table.put(dollar, 3.0);
+        assertEquals(slot, table.getSlot(dollar));
+        assertEquals(2, table.getSlotCount());
+        assertFalse(table.isSnapshotted(slot));
+
+        // Nothing removed
+        final int released = table.getSlotVersion();
+        table.snapshot();
+        assertEquals(released, table.getSlotVersion());
+        assertEquals(dollar, table.getTradeable(slot));
+
+        // Tradeable put again before the snapshot keeps its slot
+        table.remove(lemons);
+        table.put(lemons, 4.0);
+        table.snapshot();
+        assertEquals(released, table.getSlotVersion());
+        assertEquals(lemons, table.getTradeable(table.getSlot(lemons)));
+    }
+
+    @Test
+    public void testSnapshot() {
+        table.put(stock, 1.0);
+        table.put(lemons, null);
+        assertTrue(table.containsKey(lemons));
+        assertNull(table.get(lemons));
+        assertTrue(table.getSnapshot().isEmpty());
+
+        table.snapshot();
+        table.put(stock, 2.0);
+        table.put(dollar, 3.0);
+        assertEquals(2, table.getSnapshot().size());
+        assertEquals(new Double(1.0), table.getSnapshot().get(stock));
+        assertFalse(table.getSnapshot().containsKey(dollar));
+        assertTrue(table.isSnapshotted(table.getSlot(stock)));
+        assertEquals(1.0, table.getPreviousPrice(table.getSlot(stock)), 0.0);
+
+        table.getSnapshot().clear();
+        assertTrue(table.getSnapshot().isEmpty());
+        assertEquals(new Double(2.0), table.get(stock));
+
+        table.getSnapshot().put(stock, 7.0);
+        assertEquals(7.0, table.getPreviousPrice(table.getSlot(stock)), 0.0);
+        // Inactive tradeables get released by the next snapshot
+        final Stock other = new Stock();
+        table.getSnapshot().put(other, 8.0);
+        assertEquals(new Double(8.0), table.getSnapshot().get(other));
+        table.snapshot();
+        assertEquals(-1, table.getSlot(other));
+    }
+
+    @Test
+    public void testUpdateUnchanged() {
+        stock.setValue(5.0);
+        stock.setInfluenceBottomBound(1.0);
+        stock.setInfluenceTopBound(2.0);
+        lemons.setValue(5.0);
+        lemons.setInfluenceBottomBound(1.0);
+        lemons.setInfluenceTopBound(2.0);
+        table.put(stock, 5.0);
+        table.put(lemons, 5.0);
+        table.snapshot();
+
+        // Changed since snapshot
+        table.setPrice(table.getSlot(lemons), 6.0);
+        assertEquals(1, table.updateUnchanged(new RandomSource(42)));
+
+        // Same random walk as Tradeable.updateValue()
+        final Stock expected = new Stock();
+        expected.setValue(5.0);
+        expected.setInfluenceBottomBound(1.0);
+        expected.setInfluenceTopBound(2.0);
+        final GameContext previous = GameContext.enter(new GameContext(42));
+        try {
+            expected.updateValue();
+        }
+        finally {
+            GameContext.setCurrent(previous);
+        }
+
+        assertEquals(expected.getValue(), table.get(stock));
+        assertEquals(expected.getValue(), stock.getValue());
+        assertEquals(new Double(6.0), table.get(lemons));
+        assertEquals(new Double(5.0), lemons.getValue());
+    }
+
+    @Test
+    public void testUpdateUnchangedOverridden() {
+        final Stock fixed = new Stock() {
+
+            @Override
+            public Double updateValue() {
+                setValue(42.0);
+                return getValue();
+            }
+        };
+        fixed.setInfluenceBottomBound(1.0);
+        fixed.setInfluenceTopBound(2.0);
+        table.put(fixed, 5.0);
+        table.snapshot();
+
+        // Own updateValue() instead of the random walk of the table
+        assertEquals(1, table.updateUnchanged(new RandomSource(42)));
+        assertEquals(new Double(42.0), table.get(fixed));
+    }
+}
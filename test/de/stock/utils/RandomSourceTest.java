@@ -0,0 +1,84 @@
+package de.stock.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+
+import org.junit.Test;
+
+public class RandomSourceTest {
+
+    @Test
+    public void testMix() {
+        assertEquals(RandomSource.mix(42, 1), RandomSource.mix(42, 1));
+        assertFalse(RandomSource.mix(42, 0) == RandomSource.mix(42, 1));
+        assertFalse(RandomSource.mix(42, 1) == RandomSource.mix(43, 0));
+    }
+
+    @Test
+    public void testNextDouble() {
+        final RandomSource random = new RandomSource(1);
+        assertEquals(1.0, random.nextDouble(1.0, 1.0), 0.0);
+
+        for (int i = 0; i < 1000; i++) {
+            final double value = random.nextDouble(3.0, 1.5);
+            assertTrue(value >= 1.5 && value < 3.0);
+        }
+    }
+
+    @Test
+    public void testNextInt() {
+        final RandomSource random = new RandomSource(1);
+        assertEquals(7, random.nextInt(7, 7));
+
+        final boolean[] seen = new boolean[6];
+        for (int i = 0; i < 1000; i++) {
+            final int value = random.nextInt(5, 0);
+            assertTrue(value >= 0 && value <= 5);
+            seen[value] = true;
+        }
+        for (final boolean value : seen) {
+            assertTrue(value);
+        }
+
+        final int value = random.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        assertTrue(value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testSeed() {
+        final RandomSource first = new RandomSource(42);
+        final RandomSource second = new RandomSource(42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+
+        first.setSeed(7);
+        second.setSeed(7);
+        assertEquals(first.nextInt(0, 100), second.nextInt(0, 100));
+    }
+
+    @Test
+    public void testSplit() {
+        final RandomSource random = new RandomSource(42);
+        final IRandomSource split = random.split();
+        assertFalse(random.nextLong() == split.nextLong());
+
+        // Splitting is reproducible
+        assertEquals(new RandomSource(42).split().nextLong(), new RandomSource(42).split()
+                .nextLong());
+
+        // Children aren't shifted copies of the parent
+        final RandomSource parent = new RandomSource(42);
+        final IRandomSource child = parent.split();
+        final HashSet<Long> values = new HashSet<Long>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(parent.nextLong());
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(values.contains(child.nextLong()));
+        }
+    }
+}